@@ -0,0 +1,25 @@
+-- ============================================================
+-- price_history OHLC 캔들 전환 (PostgreSQL)
+-- 기존 테이블에 ddl-auto: update 만으로는 중복 행 때문에 유니크 제약이 실패할 수 있어 수동으로 적용한다
+-- ============================================================
+
+ALTER TABLE price_history ADD COLUMN IF NOT EXISTS open NUMERIC(30,10);
+ALTER TABLE price_history ADD COLUMN IF NOT EXISTS high NUMERIC(30,10);
+ALTER TABLE price_history ADD COLUMN IF NOT EXISTS low  NUMERIC(30,10);
+
+-- 기존 원본 점은 한 시점 값이므로 시가/고가/저가 = price
+UPDATE price_history SET open = price, high = price, low = price WHERE open IS NULL;
+
+-- (코인, 간격, 시각) 중복은 가장 나중에 들어온 행만 남긴다
+DELETE FROM price_history p
+USING price_history q
+WHERE p.cryptocurrency_id = q.cryptocurrency_id
+  AND p."interval" = q."interval"
+  AND p."timestamp" = q."timestamp"
+  AND p.id < q.id;
+
+ALTER TABLE price_history
+    ADD CONSTRAINT uk_price_history_crypto_interval_timestamp UNIQUE (cryptocurrency_id, "interval", "timestamp");
+
+-- 이후 기존 5분 점으로 상위 간격 캔들을 채운다 (date_bin: PostgreSQL 14+)
+--   POST /api/v1/market-ingestion/rollups/rebuild?from=2024-01-01T00:00:00&to=2024-07-01T00:00:00
@@ -0,0 +1,101 @@
+-- ============================================================
+-- price_history 파티셔닝 전환 (PostgreSQL 14+)
+-- 1단: "interval" LIST, 2단: "timestamp" RANGE
+--   MINUTE_1 / MINUTE_5          → 일 단위  (price_history_minute_5_p20250101)
+--   MINUTE_15 / HOUR_1 / HOUR_4  → 월 단위  (price_history_hour_1_p202501)
+--   DAY_1 / WEEK_1               → 연 단위  (price_history_day_1_p2025)
+-- 이후 파티션은 PriceHistoryPartitionManager 가 미리 만들고, 보존 기간이 지난 파티션은 통째로 DROP 한다.
+-- 미리 만든 구간보다 이른 행(백필 등)은 _default 파티션에 들어가며, 보존 기간이 지나면 청크 DELETE 로 지운다.
+-- 선행: migration_price_history_ohlc.sql (유니크 제약)
+-- 적용 후 application.yml 에서 ingestion.partitioning.enabled: true
+-- 파티션 부모 테이블은 ddl-auto: update 가 다루지 못하는 부분이 있으므로 운영에서는 validate/none 을 권장한다.
+-- ============================================================
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS price_history_part_id_seq;
+
+CREATE TABLE price_history_part (
+    id                BIGINT         NOT NULL DEFAULT nextval('price_history_part_id_seq'),
+    cryptocurrency_id BIGINT         NOT NULL REFERENCES cryptocurrencies (id),
+    open              NUMERIC(30,10),
+    high              NUMERIC(30,10),
+    low               NUMERIC(30,10),
+    price             NUMERIC(30,10) NOT NULL,
+    market_cap        NUMERIC(30,2),
+    volume            NUMERIC(30,2),
+    "interval"        VARCHAR(255)   NOT NULL,
+    "timestamp"       TIMESTAMP      NOT NULL,
+    created_at        TIMESTAMP      NOT NULL,
+    -- 파티션 테이블의 PK/유니크는 파티션 키를 포함해야 한다
+    PRIMARY KEY (id, "interval", "timestamp"),
+    CONSTRAINT uk_price_history_part_crypto_interval_timestamp UNIQUE (cryptocurrency_id, "interval", "timestamp")
+) PARTITION BY LIST ("interval");
+
+-- 간격별 1단 파티션 (+ 미리 만들지 못한 시점을 받는 default)
+DO $$
+DECLARE
+    iv TEXT;
+BEGIN
+    FOREACH iv IN ARRAY ARRAY['MINUTE_1', 'MINUTE_5', 'MINUTE_15', 'HOUR_1', 'HOUR_4', 'DAY_1', 'WEEK_1'] LOOP
+        EXECUTE format('CREATE TABLE price_history_%s PARTITION OF price_history_part FOR VALUES IN (%L) PARTITION BY RANGE ("timestamp")',
+                       lower(iv), iv);
+        EXECUTE format('CREATE TABLE price_history_%s_default PARTITION OF price_history_%s DEFAULT',
+                       lower(iv), lower(iv));
+    END LOOP;
+END $$;
+
+-- 기존 데이터 범위를 덮는 2단 파티션 생성 (오늘 + 14일까지)
+DO $$
+DECLARE
+    iv    TEXT;
+    unit  TEXT;
+    fmt   TEXT;
+    first TIMESTAMP;
+    t     TIMESTAMP;
+BEGIN
+    FOREACH iv IN ARRAY ARRAY['MINUTE_1', 'MINUTE_5', 'MINUTE_15', 'HOUR_1', 'HOUR_4', 'DAY_1', 'WEEK_1'] LOOP
+        unit := CASE WHEN iv IN ('MINUTE_1', 'MINUTE_5') THEN 'day'
+                     WHEN iv IN ('MINUTE_15', 'HOUR_1', 'HOUR_4') THEN 'month'
+                     ELSE 'year' END;
+        fmt := CASE unit WHEN 'day' THEN 'YYYYMMDD' WHEN 'month' THEN 'YYYYMM' ELSE 'YYYY' END;
+        SELECT date_trunc(unit, coalesce(min("timestamp"), now()::timestamp)) INTO first
+        FROM price_history WHERE "interval" = iv;
+        t := first;
+        WHILE t < now()::timestamp + INTERVAL '14 days' LOOP
+            EXECUTE format('CREATE TABLE price_history_%s_p%s PARTITION OF price_history_%s FOR VALUES FROM (%L) TO (%L)',
+                           lower(iv), to_char(t, fmt), lower(iv), t, t + ('1 ' || unit)::INTERVAL);
+            t := t + ('1 ' || unit)::INTERVAL;
+        END LOOP;
+    END LOOP;
+END $$;
+
+-- 차트 조회(코인 + 간격 + 구간) 와 같은 순서의 인덱스는 유니크 제약이 만든다. 잎 파티션에는 간격 범위 스캔용 인덱스를 둔다.
+CREATE INDEX idx_price_history_part_interval_timestamp ON price_history_part ("interval", "timestamp");
+
+INSERT INTO price_history_part (id, cryptocurrency_id, open, high, low, price, market_cap, volume, "interval", "timestamp", created_at)
+SELECT id, cryptocurrency_id, open, high, low, price, market_cap, volume, "interval", "timestamp", created_at
+FROM price_history;
+
+SELECT setval('price_history_part_id_seq', coalesce((SELECT max(id) FROM price_history_part), 0) + 1, false);
+
+ALTER TABLE price_history RENAME TO price_history_unpartitioned;
+ALTER TABLE price_history_part RENAME TO price_history;
+ALTER SEQUENCE price_history_part_id_seq OWNED BY price_history.id;
+
+-- 엔티티(@Table)에 적힌 이름으로 맞춘다
+ALTER TABLE price_history_unpartitioned
+    RENAME CONSTRAINT uk_price_history_crypto_interval_timestamp TO uk_price_history_unpartitioned_crypto_interval_timestamp;
+ALTER INDEX IF EXISTS idx_price_history_interval_timestamp RENAME TO idx_price_history_unpartitioned_interval_timestamp;
+ALTER TABLE price_history
+    RENAME CONSTRAINT uk_price_history_part_crypto_interval_timestamp TO uk_price_history_crypto_interval_timestamp;
+ALTER INDEX idx_price_history_part_interval_timestamp RENAME TO idx_price_history_interval_timestamp;
+
+COMMIT;
+
+-- 확인 후 정리
+-- DROP TABLE price_history_unpartitioned;
+
+-- 파티션 프루닝 확인: 필요한 일 단위 파티션만 Append 아래에 나와야 한다
+-- EXPLAIN SELECT * FROM price_history p JOIN cryptocurrencies c ON c.id = p.cryptocurrency_id
+-- WHERE c.coin_id = 'bitcoin' AND p."interval" = 'MINUTE_5' AND p."timestamp" >= now() - INTERVAL '1 day';
@@ -0,0 +1,196 @@
+package com.cryptoguide.bench;
+
+import com.cryptoguide.api.CryptoGuideApplication;
+import com.cryptoguide.api.service.ExternalDataService;
+import com.cryptoguide.api.service.exchange.pipeline.ExchangeIngestionOrchestrator;
+import com.cryptoguide.api.service.exchange.pipeline.NoticeIngestionService;
+import com.cryptoguide.api.service.exchange.pipeline.WarningIngestionService;
+import com.cryptoguide.api.service.exchange.pipeline.source.api.BithumbNoticeSource;
+import com.cryptoguide.api.service.exchange.pipeline.source.api.BithumbWarningSource;
+import com.cryptoguide.api.service.exchange.pipeline.source.api.GopaxNoticeSource;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 대역 서버(UpstreamStandInServer)를 상대로 수집 한 주기의 비용을 잰다.
+ * 코인 수 시나리오마다 애플리케이션 컨텍스트를 새로 띄우고, 주기별 소요 시간 · DB 왕복 수 · 할당 바이트를 출력한다.
+ *
+ * <pre>
+ * ./gradlew bench -PbenchArgs="--coins=250,5000,20000 --cycles=5 --latency=80ms --jitter=40ms"
+ * ./gradlew bench -PbenchArgs="--profile=default"   # application.yml 의 PostgreSQL (bulk-write) 사용
+ * </pre>
+ *
+ * 컨텍스트 기동 비용은 측정에서 빠지고, 할당량은 측정 구간 전후에 살아 있는 스레드 기준이다.
+ */
+public final class IngestionBenchmark {
+
+    private IngestionBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        List<Integer> coinCounts = Arrays.stream(options.getOrDefault("coins", "250,5000,20000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "1"));
+        int cycles = Integer.parseInt(options.getOrDefault("cycles", "5"));
+        Duration latency = millis(options.getOrDefault("latency", "50ms"));
+        Duration jitter = millis(options.getOrDefault("jitter", "20ms"));
+        double changeRatio = Double.parseDouble(options.getOrDefault("change-ratio", "0.3"));
+        String profile = options.getOrDefault("profile", "dev");
+
+        List<Result> results = new ArrayList<>();
+        try (UpstreamStandInServer server = new UpstreamStandInServer(coinCounts.get(0), latency, jitter).start()) {
+            server.setChangeRatio(changeRatio);
+            for (int coins : coinCounts) {
+                server.setCoinCount(coins);
+                try (ConfigurableApplicationContext context = boot(server, coins, profile)) {
+                    results.addAll(runScenario(context, server, coins, warmup, cycles));
+                }
+            }
+        }
+        print(results);
+    }
+
+    private static ConfigurableApplicationContext boot(UpstreamStandInServer server, int coins, String profile) {
+        String baseUrl = server.baseUrl();
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("external.coingecko.base-url", baseUrl + "/api/v3");
+        properties.put("external.exchange.bithumb.base-url", baseUrl);
+        properties.put("external.exchange.gopax.base-url", baseUrl);
+        properties.put("ingestion.market.universe-size", coins);
+        // 시장 한도의 부모인 키 전체 한도도 같이 풀어야 레이트 리미터가 아닌 수집 비용을 잰다
+        properties.put("external.coingecko.requests-per-minute", 600_000);
+        properties.put("ingestion.market.requests-per-minute", 600_000);
+        properties.put("ingestion.market.cycle-timeout", "30m");
+        properties.put("ingestion.enrichment.enabled", false);
+        properties.put("ingestion.backfill.enabled", false);
+        properties.put("scheduler.price-update.cron", "-");
+        properties.put("scheduler.exchange.notice.cron", "-");
+        properties.put("scheduler.exchange.warning.cron", "-");
+        properties.put("spring.jpa.show-sql", false);
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.com.cryptoguide", "INFO");
+        if ("dev".equals(profile)) {
+            properties.put("spring.datasource.url", "jdbc:h2:mem:bench" + coins + ";DB_CLOSE_DELAY=-1");
+        }
+
+        return new SpringApplicationBuilder(CryptoGuideApplication.class, BenchConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .profiles(profile)
+                .properties(properties)
+                .run();
+    }
+
+    private static List<Result> runScenario(ConfigurableApplicationContext context, UpstreamStandInServer server,
+                                            int coins, int warmup, int cycles) {
+        ExternalDataService externalDataService = context.getBean(ExternalDataService.class);
+        // 크롤러 소스(Playwright)는 대역이 없으므로 API 소스만 묶어서 돌린다
+        ExchangeIngestionOrchestrator orchestrator = new ExchangeIngestionOrchestrator(
+                context.getBean(NoticeIngestionService.class),
+                context.getBean(WarningIngestionService.class),
+                List.of(context.getBean(BithumbNoticeSource.class), context.getBean(GopaxNoticeSource.class)),
+                List.of(context.getBean(BithumbWarningSource.class))
+        );
+        JdbcRoundTripCounter counter = context.getBean(JdbcRoundTripCounter.class);
+
+        List<Result> results = new ArrayList<>();
+        for (int i = 0; i < warmup + cycles; i++) {
+            boolean measured = i >= warmup;
+            server.nextMarketGeneration();
+            Result market = measure("market", coins, i - warmup + 1, counter, server, externalDataService::updateMarketData);
+            Result exchange = measure("exchange", coins, i - warmup + 1, counter, server, () -> {
+                orchestrator.ingestAllNotices();
+                orchestrator.ingestAllWarnings();
+            });
+            if (measured) {
+                results.add(market);
+                results.add(exchange);
+            }
+        }
+        return results;
+    }
+
+    private static Result measure(String target, int coins, int cycle, JdbcRoundTripCounter counter,
+                                  UpstreamStandInServer server, Runnable body) {
+        long roundTripsBefore = counter.roundTrips();
+        long requestsBefore = server.requestCount();
+        long allocatedBefore = allocatedBytes();
+        long startedAt = System.nanoTime();
+
+        body.run();
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        return new Result(
+                target,
+                coins,
+                cycle,
+                elapsedNanos / 1_000_000.0,
+                counter.roundTrips() - roundTripsBefore,
+                server.requestCount() - requestsBefore,
+                allocatedBytes() - allocatedBefore
+        );
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long allocated : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (allocated > 0) {
+                total += allocated;
+            }
+        }
+        return total;
+    }
+
+    private static void print(List<Result> results) {
+        System.out.printf(Locale.ROOT, "%n%-9s %7s %6s %12s %12s %10s %12s%n",
+                "target", "coins", "cycle", "cycle_ms", "db_trips", "http_reqs", "alloc_mb");
+        for (Result r : results) {
+            System.out.printf(Locale.ROOT, "%-9s %7d %6d %12.1f %12d %10d %12.1f%n",
+                    r.target(), r.coins(), r.cycle(), r.millis(), r.roundTrips(), r.httpRequests(),
+                    r.allocatedBytes() / (1024.0 * 1024.0));
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    private static Duration millis(String value) {
+        return Duration.ofMillis(Long.parseLong(value.replace("ms", "").trim()));
+    }
+
+    private record Result(String target, int coins, int cycle, double millis,
+                          long roundTrips, long httpRequests, long allocatedBytes) {
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class BenchConfiguration {
+
+        @Bean
+        static JdbcRoundTripCounter jdbcRoundTripCounter() {
+            return new JdbcRoundTripCounter();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.cryptoguide.bench;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DataSource 를 감싸 DB 왕복 횟수를 센다.
+ * Statement 의 execute* 한 번(배치 포함)과 commit/rollback 한 번을 각각 왕복 1회로 본다.
+ */
+public class JdbcRoundTripCounter implements BeanPostProcessor {
+
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong transactions = new AtomicLong();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+            return new CountingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    public long roundTrips() {
+        return statements.get() + transactions.get();
+    }
+
+    public long statements() {
+        return statements.get();
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("commit") || name.equals("rollback")) {
+                        transactions.incrementAndGet();
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement
+                            && (name.equals("createStatement") || name.startsWith("prepare"))) {
+                        return wrap(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    private Object wrap(Statement statement, Class<?> type) {
+        return Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) {
+                        statements.incrementAndGet();
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class CountingDataSource extends DelegatingDataSource {
+
+        private CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return wrap(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return wrap(super.getConnection(username, password));
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.cryptoguide.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * CoinGecko / Bithumb / Gopax 대역 서버.
+ * payloads/*.json 에 녹화해 둔 응답을 템플릿으로 coinCount 만큼 합성해서 돌려주고, 요청마다 지연을 넣는다.
+ * 매 호출마다 일부 코인의 가격을 흔들어 변경 감지 경로도 실제와 비슷하게 타도록 한다.
+ */
+public final class UpstreamStandInServer implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final ArrayNode marketTemplates;
+    private final ArrayNode bithumbNoticeTemplates;
+    private final ArrayNode bithumbWarningTemplates;
+    private final ArrayNode gopaxNoticeTemplates;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicInteger marketGeneration = new AtomicInteger();
+
+    private volatile int coinCount;
+    private volatile Duration latency;
+    private volatile Duration latencyJitter;
+    private volatile double changeRatio = 0.3;
+
+    public UpstreamStandInServer(int coinCount, Duration latency, Duration latencyJitter) throws IOException {
+        this.marketTemplates = load("payloads/coingecko-markets.json");
+        this.bithumbNoticeTemplates = load("payloads/bithumb-notices.json");
+        this.bithumbWarningTemplates = load("payloads/bithumb-warnings.json");
+        this.gopaxNoticeTemplates = load("payloads/gopax-notices.json");
+        this.coinCount = coinCount;
+        this.latency = latency;
+        this.latencyJitter = latencyJitter;
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 128);
+        this.executor = Executors.newFixedThreadPool(16);
+        server.setExecutor(executor);
+        server.createContext("/api/v3/coins/markets", handler(this::markets));
+        server.createContext("/v1/notices", handler(this::bithumbNotices));
+        server.createContext("/v1/market/virtual_asset_warning", handler(this::bithumbWarnings));
+        server.createContext("/notices", handler(this::gopaxNotices));
+    }
+
+    public UpstreamStandInServer start() {
+        server.start();
+        return this;
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void setCoinCount(int coinCount) {
+        this.coinCount = coinCount;
+    }
+
+    public void setLatency(Duration latency, Duration latencyJitter) {
+        this.latency = latency;
+        this.latencyJitter = latencyJitter;
+    }
+
+    /** 한 주기에 가격이 바뀌는 코인 비율 (0~1). */
+    public void setChangeRatio(double changeRatio) {
+        this.changeRatio = changeRatio;
+    }
+
+    /** 다음 /coins/markets 호출부터 새 주기의 가격을 내보낸다. */
+    public void nextMarketGeneration() {
+        marketGeneration.incrementAndGet();
+    }
+
+    public long requestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private JsonNode markets(Map<String, String> query) {
+        int perPage = Integer.parseInt(query.getOrDefault("per_page", "100"));
+        int page = Integer.parseInt(query.getOrDefault("page", "1"));
+        int from = (page - 1) * perPage;
+        int to = Math.min(from + perPage, coinCount);
+        int generation = marketGeneration.get();
+
+        ArrayNode out = MAPPER.createArrayNode();
+        for (int i = from; i < to; i++) {
+            ObjectNode coin = ((ObjectNode) marketTemplates.get(i % marketTemplates.size())).deepCopy();
+            if (i >= marketTemplates.size()) {
+                coin.put("id", coin.get("id").asText() + "-" + i);
+                coin.put("symbol", coin.get("symbol").asText() + i);
+                coin.put("name", coin.get("name").asText() + " " + i);
+            }
+            coin.put("market_cap_rank", i + 1);
+            // 코인·주기별로 고정된 난수로 changeRatio 만큼만 가격을 움직인다
+            long seed = (long) i * 31 + generation;
+            if (generation > 0 && Math.floorMod(seed * 2654435761L, 1000) < changeRatio * 1000) {
+                double factor = 1 + (Math.floorMod(seed, 200) - 100) / 10_000.0;
+                coin.put("current_price", coin.get("current_price").asDouble() * factor);
+                coin.put("total_volume", coin.get("total_volume").asDouble() * factor);
+            }
+            out.add(coin);
+        }
+        return out;
+    }
+
+    private JsonNode bithumbNotices(Map<String, String> query) {
+        int count = Integer.parseInt(query.getOrDefault("count", "20"));
+        ArrayNode out = MAPPER.createArrayNode();
+        for (int i = 0; i < count; i++) {
+            ObjectNode notice = ((ObjectNode) bithumbNoticeTemplates.get(i % bithumbNoticeTemplates.size())).deepCopy();
+            notice.put("title", notice.get("title").asText() + " #" + i);
+            notice.put("pc_url", notice.get("pc_url").asText() + "-" + i);
+            out.add(notice);
+        }
+        return out;
+    }
+
+    /** 유의 종목은 상장 코인 수의 약 5% 로 잡는다. */
+    private JsonNode bithumbWarnings(Map<String, String> query) {
+        int count = Math.max(coinCount / 20, bithumbWarningTemplates.size());
+        ArrayNode out = MAPPER.createArrayNode();
+        for (int i = 0; i < count; i++) {
+            ObjectNode warning = ((ObjectNode) bithumbWarningTemplates.get(i % bithumbWarningTemplates.size())).deepCopy();
+            if (i >= bithumbWarningTemplates.size()) {
+                warning.put("market", warning.get("market").asText() + i);
+            }
+            out.add(warning);
+        }
+        ObjectNode root = MAPPER.createObjectNode();
+        root.set("data", out);
+        return root;
+    }
+
+    private JsonNode gopaxNotices(Map<String, String> query) {
+        int limit = Integer.parseInt(query.getOrDefault("limit", "20"));
+        ArrayNode out = MAPPER.createArrayNode();
+        for (int i = 0; i < limit; i++) {
+            ObjectNode notice = ((ObjectNode) gopaxNoticeTemplates.get(i % gopaxNoticeTemplates.size())).deepCopy();
+            notice.put("id", notice.get("id").asInt() * 100 + i);
+            out.add(notice);
+        }
+        return out;
+    }
+
+    private HttpHandler handler(Route route) {
+        return exchange -> {
+            requestCount.incrementAndGet();
+            try {
+                byte[] body;
+                try {
+                    sleepLatency();
+                    body = MAPPER.writeValueAsBytes(route.respond(parseQuery(exchange)));
+                } catch (Exception e) {
+                    exchange.sendResponseHeaders(500, -1);
+                    return;
+                }
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                if (acceptsGzip(exchange)) {
+                    exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                    exchange.sendResponseHeaders(200, 0);
+                    try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
+                        out.write(body);
+                    }
+                } else {
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                }
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private void sleepLatency() throws InterruptedException {
+        long base = latency.toMillis();
+        long jitter = latencyJitter.toMillis();
+        long delay = base + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0);
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+
+    private static boolean acceptsGzip(HttpExchange exchange) {
+        String accept = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        return accept != null && accept.contains("gzip");
+    }
+
+    private static Map<String, String> parseQuery(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty()) {
+            return query;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static ArrayNode load(String resource) throws IOException {
+        try (InputStream in = UpstreamStandInServer.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Missing payload resource: " + resource);
+            }
+            return (ArrayNode) MAPPER.readTree(in);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Route {
+        JsonNode respond(Map<String, String> query) throws Exception;
+    }
+}
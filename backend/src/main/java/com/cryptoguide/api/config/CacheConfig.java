@@ -1,24 +1,118 @@
 package com.cryptoguide.api.config;
 
+import com.cryptoguide.api.service.market.pipeline.MarketDataVersion;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Caffeine 캐시. 캐시마다 {@code caching.<name>.*} (없으면 {@code caching.defaults.*} → 코드 기본값) 으로
+ * 최대 항목 수, 쓰기 후 만료, 쓰기 후 갱신을 정하고, 적중·미스·축출 통계는 cache.* 지표로 나간다.
+ * null 은 캐시하지 않으므로 없는 키를 기억하려면 cryptoMissing 처럼 전용 캐시에 명시적으로 넣는다.
+ * 시세 캐시는 {@link VersionedCache} 로 감싸 MarketDataVersion 이 바뀔 때 함께 무효가 된다.
+ * 목록·상위 N·시장 개요는 캐시가 아니라 수집 주기마다 만드는 MarketSnapshot / MarketOverviewService 가 답한다.
+ */
 @Configuration
+@Slf4j
 public class CacheConfig {
 
+    public static final String CRYPTO = "crypto";
+    /** 없는 coinId (짧게 기억해 같은 잘못된 경로로 DB 를 반복 조회하지 않는다) */
+    public static final String CRYPTO_MISSING = "cryptoMissing";
+    public static final String THEMES = "themes";
+    public static final String THEME = "theme";
+
+    private static final List<String> CACHE_NAMES = List.of(
+            CRYPTO, CRYPTO_MISSING, THEMES, THEME);
+
+    /** 수집 주기마다 내용이 바뀌는 캐시 */
+    private static final Set<String> MARKET_CACHES = Set.of(CRYPTO, CRYPTO_MISSING);
+
+    private static final String PREFIX = "caching.";
+
+    @Bean
+    public CacheManager cacheManager(Environment environment, CacheRefreshRegistry refreshRegistry,
+                                     MarketDataVersion marketDataVersion) {
+        CaffeineCacheManager manager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                Cache adapted = super.adaptCaffeineCache(name, cache);
+                if (!MARKET_CACHES.contains(name)) {
+                    return adapted;
+                }
+                boolean warm = property(environment, name, "warm-on-advance", Boolean.class, true);
+                return new VersionedCache(adapted, marketDataVersion, warm);
+            }
+        };
+        manager.setAllowNullValues(false);
+        // 여기 없는 이름은 만들지 않는다 (오타난 캐시 이름이 한도 없는 캐시가 되지 않도록)
+        manager.setCacheNames(List.of());
+        for (String name : CACHE_NAMES) {
+            long maximumSize = property(environment, name, "maximum-size", Long.class, 1000L);
+            Duration expireAfterWrite = property(environment, name, "expire-after-write", Duration.class, Duration.ofMinutes(5));
+            Duration refreshAfterWrite = property(environment, name, "refresh-after-write", Duration.class, null);
+
+            Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                    .maximumSize(maximumSize)
+                    .expireAfterWrite(expireAfterWrite)
+                    .recordStats();
+            if (refreshAfterWrite != null && MARKET_CACHES.contains(name)) {
+                // 시세 캐시는 버전이 바뀔 때 미리 채우므로 시간 기준 갱신을 쓰지 않는다
+                log.warn("Ignoring refresh-after-write for versioned cache {}", name);
+                refreshAfterWrite = null;
+            }
+            if (refreshAfterWrite != null && refreshAfterWrite.compareTo(expireAfterWrite) < 0) {
+                builder.refreshAfterWrite(refreshAfterWrite);
+                manager.registerCustomCache(name, builder.build(refresher(name, refreshRegistry)));
+            } else {
+                manager.registerCustomCache(name, builder.build());
+            }
+            log.info("Configured cache. name={}, maximumSize={}, expireAfterWrite={}, refreshAfterWrite={}",
+                    name, maximumSize, expireAfterWrite, refreshAfterWrite);
+        }
+        return manager;
+    }
+
+    /** VersionedCache 는 CaffeineCache 가 아니므로 Caffeine 통계를 직접 묶는다. */
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager(
-                "cryptos",
-                "crypto",
-                "themes",
-                "theme",
-                "topGainers",
-                "topLosers",
-                "topVolume",
-                "marketOverview"
-        );
+    @SuppressWarnings("unchecked")
+    public CacheMeterBinderProvider<VersionedCache> versionedCacheMeterBinderProvider() {
+        return (cache, tags) -> new CaffeineCacheMetrics<>(
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache(), cache.getName(), tags);
+    }
+
+    /** 처음 적재는 @Cacheable 메서드가 하고, 갱신만 등록된 함수로 한다. */
+    private static CacheLoader<Object, Object> refresher(String name, CacheRefreshRegistry refreshRegistry) {
+        return new CacheLoader<>() {
+            @Override
+            public Object load(Object key) {
+                return null;
+            }
+
+            @Override
+            public Object reload(Object key, Object oldValue) {
+                return refreshRegistry.reload(name, key, oldValue);
+            }
+        };
+    }
+
+    private static <T> T property(Environment environment, String name, String key, Class<T> type, T defaultValue) {
+        T value = environment.getProperty(PREFIX + name + "." + key, type);
+        if (value != null) {
+            return value;
+        }
+        return environment.getProperty(PREFIX + "defaults." + key, type, defaultValue);
     }
 }
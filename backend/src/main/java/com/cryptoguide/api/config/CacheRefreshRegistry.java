@@ -0,0 +1,41 @@
+package com.cryptoguide.api.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * refresh-after-write 가 걸린 캐시의 키로 값을 다시 읽는 함수 모음.
+ * 캐시를 쓰는 서비스가 기동 시 등록하고, Caffeine 갱신과 시세 버전 전환 시 미리 채우기에서 읽기 전용 트랜잭션으로 호출한다.
+ */
+@Component
+@Slf4j
+public class CacheRefreshRegistry {
+
+    private final Map<String, Function<Object, Object>> reloaders = new ConcurrentHashMap<>();
+    private final TransactionTemplate transactionTemplate;
+
+    public CacheRefreshRegistry(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public void register(String cacheName, Function<Object, Object> reloader) {
+        reloaders.put(cacheName, reloader);
+    }
+
+    /** 새 값. 등록된 함수가 없으면 기존 값을 그대로 두고(만료 때 빠진다), null 이면 항목을 지운다. */
+    public Object reload(String cacheName, Object key, Object oldValue) {
+        Function<Object, Object> reloader = reloaders.get(cacheName);
+        if (reloader == null) {
+            log.debug("No reloader registered for cache {}; keeping value until it expires", cacheName);
+            return oldValue;
+        }
+        return transactionTemplate.execute(status -> reloader.apply(key));
+    }
+}
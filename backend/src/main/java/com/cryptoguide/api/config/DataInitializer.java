@@ -1,5 +1,6 @@
 package com.cryptoguide.api.config;
 
+import com.cryptoguide.api.service.ThemeRegistry;
 import com.cryptoguide.api.service.ThemeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -12,11 +13,13 @@ import org.springframework.stereotype.Component;
 public class DataInitializer implements CommandLineRunner {
 
     private final ThemeService themeService;
+    private final ThemeRegistry themeRegistry;
 
     @Override
     public void run(String... args) {
         log.info("Initializing default themes...");
         themeService.initializeDefaultThemes();
+        themeRegistry.reload();
         log.info("Data initialization completed");
     }
 }
@@ -0,0 +1,141 @@
+package com.cryptoguide.api.config;
+
+import com.cryptoguide.api.service.market.pipeline.MarketDataVersion;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * 시세 데이터 버전이 붙은 캐시. 값은 만들 때의 버전과 함께 저장하고, 현재 버전과 다르면 없는 것으로 본다.
+ * 조회를 놓친 시점의 버전을 기억해 두었다가 저장할 때 버전이 바뀌었거나 수집이 진행 중이면 저장하지 않으므로,
+ * 한 버전의 항목은 모두 그 버전의 DB 상태에서 만들어진다. 버전이 바뀌는 순간 이전 항목은 모든 캐시에서 함께 무효가 된다.
+ */
+public class VersionedCache implements Cache {
+
+    private final Cache delegate;
+    private final MarketDataVersion version;
+    private final boolean warmOnAdvance;
+    /** 이 스레드가 마지막으로 놓친 조회의 버전 (@Cacheable 은 같은 스레드에서 get → 메서드 → put 순서로 부른다) */
+    private final ThreadLocal<Long> missedAt = new ThreadLocal<>();
+
+    public VersionedCache(Cache delegate, MarketDataVersion version, boolean warmOnAdvance) {
+        this.delegate = delegate;
+        this.version = version;
+        this.warmOnAdvance = warmOnAdvance;
+    }
+
+    /** 버전이 바뀔 때 지금 있는 키를 다음 버전 값으로 미리 채울지 */
+    public boolean isWarmOnAdvance() {
+        return warmOnAdvance;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        long current = version.current().number();
+        ValueWrapper wrapper = delegate.get(key);
+        if (wrapper != null && wrapper.get() instanceof Tagged tagged && tagged.version() == current) {
+            return new SimpleValueWrapper(tagged.value());
+        }
+        missedAt.set(version.isUpdating() ? null : current);
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        return wrapper != null ? (T) wrapper.get() : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            missedAt.remove();
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Long missed = missedAt.get();
+        missedAt.remove();
+        if (value == null || missed == null || version.isUpdating() || missed != version.current().number()) {
+            // 조회 도중 수집이 있었으면 어느 버전의 값인지 알 수 없다
+            return;
+        }
+        delegate.put(key, new Tagged(missed, value));
+    }
+
+    /** 지정 버전으로 저장한다. 버전을 올리기 전에 다음 버전 항목을 채울 때 쓴다. */
+    public void putVersioned(Object key, Object value, long valueVersion) {
+        delegate.put(key, new Tagged(valueVersion, value));
+    }
+
+    /** 지정 버전 항목의 키 */
+    public List<Object> keys(long valueVersion) {
+        List<Object> keys = new ArrayList<>();
+        entries().forEach((key, value) -> {
+            if (value instanceof Tagged tagged && tagged.version() == valueVersion) {
+                keys.add(key);
+            }
+        });
+        return keys;
+    }
+
+    /** 지정 버전이 아닌 항목을 지운다. */
+    public void retain(long valueVersion) {
+        entries().values().removeIf(value -> !(value instanceof Tagged tagged) || tagged.version() != valueVersion);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> entries() {
+        return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) delegate.getNativeCache()).asMap();
+    }
+
+    private record Tagged(long version, Object value) {
+    }
+}
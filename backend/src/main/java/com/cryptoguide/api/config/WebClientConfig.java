@@ -1,5 +1,7 @@
 package com.cryptoguide.api.config;
 
+import com.cryptoguide.api.service.market.pipeline.RequestBudget;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -7,6 +9,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 @Configuration
 public class WebClientConfig {
 
+    /** 공용 코덱 설정만 담은 원본 빌더. 업스트림 호출용 클라이언트는 WebClientRegistry 에서 사본으로 만든다. */
     @Bean
     public WebClient.Builder webClientBuilder() {
         return WebClient.builder()
@@ -14,4 +17,13 @@ public class WebClientConfig {
                         .defaultCodecs()
                         .maxInMemorySize(16 * 1024 * 1024)); // 16MB
     }
+
+    /**
+     * CoinGecko 전체 요청 한도. 시세 수집·상세 보강·백필이 각자 한도를 두고 이 예산을 상위로 함께 쓴다
+     * (키 하나의 분당 한도는 소비자별이 아니라 합계에 걸린다).
+     */
+    @Bean
+    public RequestBudget coingeckoRequestBudget(@Value("${external.coingecko.requests-per-minute:30}") int requestsPerMinute) {
+        return new RequestBudget(requestsPerMinute);
+    }
 }
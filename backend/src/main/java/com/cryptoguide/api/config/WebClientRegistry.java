@@ -0,0 +1,93 @@
+package com.cryptoguide.api.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 업스트림(coingecko, bithumb, gopax …)마다 하나씩 만들어 두는 Reactor Netty 커넥터 레지스트리.
+ * 각 업스트림은 자기 커넥션 풀과 타임아웃을 가지며, 풀 지표는 reactor.netty.connection.provider.* 로 호스트별로 노출된다.
+ * 설정은 {@code external.http.<name>.*} 에서 읽고, 없으면 {@code external.http.defaults.*} → 코드 기본값 순으로 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class WebClientRegistry {
+
+    private static final String PREFIX = "external.http.";
+
+    private final WebClient.Builder webClientBuilder;
+    private final Environment environment;
+
+    private final Map<String, Upstream> upstreams = new ConcurrentHashMap<>();
+
+    /**
+     * 해당 업스트림의 공용 커넥터가 붙은 빌더 사본. 호출하는 쪽은 빈 초기화 시점에 한 번만 build 해서 재사용한다.
+     */
+    public WebClient.Builder builder(String upstream) {
+        return webClientBuilder.clone()
+                .clientConnector(upstreams.computeIfAbsent(upstream, this::create).connector());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        upstreams.values().forEach(u -> u.provider().dispose());
+    }
+
+    private Upstream create(String name) {
+        int maxConnections = property(name, "max-connections", Integer.class, 16);
+        Duration pendingAcquireTimeout = property(name, "pending-acquire-timeout", Duration.class, Duration.ofSeconds(10));
+        Duration maxIdleTime = property(name, "max-idle-time", Duration.class, Duration.ofSeconds(30));
+        Duration maxLifeTime = property(name, "max-life-time", Duration.class, Duration.ofMinutes(5));
+        Duration connectTimeout = property(name, "connect-timeout", Duration.class, Duration.ofSeconds(5));
+        Duration readTimeout = property(name, "read-timeout", Duration.class, Duration.ofSeconds(20));
+        Duration responseTimeout = property(name, "response-timeout", Duration.class, Duration.ofSeconds(30));
+
+        ConnectionProvider provider = ConnectionProvider.builder("upstream-" + name)
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .maxLifeTime(maxLifeTime)
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(responseTimeout)
+                .compress(true)
+                .keepAlive(true)
+                // Connection 에 붙인 핸들러는 풀로 반납될 때 떨어지므로 재사용 커넥션도 요청마다 다시 건다
+                .doOnRequest((request, conn) -> conn.addHandlerFirst(
+                        new ReadTimeoutHandler(readTimeout.toMillis(), TimeUnit.MILLISECONDS)));
+
+        log.info("Created upstream client. name={}, maxConnections={}, connectTimeout={}, readTimeout={}, responseTimeout={}",
+                name, maxConnections, connectTimeout, readTimeout, responseTimeout);
+        return new Upstream(provider, new ReactorClientHttpConnector(httpClient));
+    }
+
+    private <T> T property(String name, String key, Class<T> type, T defaultValue) {
+        T value = environment.getProperty(PREFIX + name + "." + key, type);
+        if (value != null) {
+            return value;
+        }
+        return environment.getProperty(PREFIX + "defaults." + key, type, defaultValue);
+    }
+
+    private record Upstream(ConnectionProvider provider, ReactorClientHttpConnector connector) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.cryptoguide.api.controller;
+
+import com.cryptoguide.api.service.ThemeRegistry;
+import com.cryptoguide.api.service.market.overview.MarketOverviewService;
+import com.cryptoguide.api.service.market.pipeline.MarketDataVersion;
+import com.cryptoguide.api.service.market.pipeline.MarketDataVersionPublisher;
+import com.cryptoguide.api.service.market.pipeline.MarketView;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 시세 데이터 버전에 묶인 조회의 조건부 GET.
+ * ETag 는 버전 번호, Last-Modified 는 마지막 수집 주기 시각이며, If-None-Match / If-Modified-Since 가 맞으면
+ * 본문을 만들지 않고(서비스 호출·직렬화 없이) 304 로 답한다.
+ * max-age 는 다음 수집 예정 시각(scheduler.price-update.cron + ingestion-lag)까지로 맞춘다.
+ * 시세 조회는 MarketView 하나를 읽어 ETag 와 본문을 모두 거기서 만들므로, 본문과 ETag 의 버전이 어긋나지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+class ConditionalGet {
+
+    private final MarketDataVersion marketDataVersion;
+    private final MarketDataVersionPublisher marketData;
+    private final ThemeRegistry themeRegistry;
+    private final MarketOverviewService overviewService;
+
+    @Value("${scheduler.price-update.cron:0 */5 * * * *}")
+    private String ingestionCron;
+
+    /** 수집 시작부터 새 버전이 게시될 때까지 걸리는 여유 */
+    @Value("${http.conditional-get.ingestion-lag:30s}")
+    private Duration ingestionLag;
+
+    private CronExpression ingestionSchedule;
+
+    @PostConstruct
+    void parseSchedule() {
+        ingestionSchedule = CronExpression.parse(ingestionCron);
+    }
+
+    /** 시세 데이터 버전이 같으면 304, 아니면 같은 MarketView 로 만든 body 로 200 */
+    <T> ResponseEntity<T> market(WebRequest request, Function<MarketView, T> body) {
+        MarketView view = marketData.current();
+        MarketDataVersion.Version version = view.version();
+        return respond(request, "\"m" + version.number() + "\"", version.cycleTime(), () -> body.apply(view));
+    }
+
+    /** 테마 목록이나 코인 수가 바뀌지 않았으면 304 (테마 수는 시세 버전을 따른다) */
+    <T> ResponseEntity<T> themes(WebRequest request, Supplier<T> body) {
+        MarketDataVersion.Version version = marketDataVersion.current();
+        return respond(request, "\"t" + themeRegistry.revision() + ".m" + version.number() + "\"",
+                version.cycleTime(), body);
+    }
+
+    /**
+     * 시장 개요 히스토리는 시세 버전이 아니라 마지막으로 저장된 행 시각이 같으면 304.
+     * 변경이 없던 주기에도 행이 쌓이므로 시세 버전으로는 새 행을 놓친다. 저장된 행이 없으면 조건부 GET 을 하지 않는다.
+     */
+    <T> ResponseEntity<T> overviewHistory(WebRequest request, Supplier<T> body) {
+        LocalDateTime latest = overviewService.latestSnapshotTime().orElse(null);
+        if (latest == null) {
+            return ResponseEntity.ok(body.get());
+        }
+        long latestMillis = latest.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return respond(request, "\"o" + latestMillis + "\"", latest, body);
+    }
+
+    private <T> ResponseEntity<T> respond(WebRequest request, String etag, LocalDateTime lastModified,
+                                          Supplier<T> body) {
+        long lastModifiedMillis = lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        CacheControl cacheControl = CacheControl.maxAge(untilNextIngestion()).mustRevalidate();
+        if (request.checkNotModified(etag, lastModifiedMillis)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModifiedMillis)
+                .cacheControl(cacheControl)
+                .body(body.get());
+    }
+
+    private Duration untilNextIngestion() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = ingestionSchedule.next(now.minus(ingestionLag));
+        if (next == null) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(now, next.plus(ingestionLag));
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
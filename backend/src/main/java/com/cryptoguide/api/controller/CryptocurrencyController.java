@@ -1,11 +1,20 @@
 package com.cryptoguide.api.controller;
 
+import com.cryptoguide.api.dto.CoinSuggestionDto;
 import com.cryptoguide.api.dto.CryptocurrencyDto;
+import com.cryptoguide.api.dto.FieldSelection;
+import com.cryptoguide.api.dto.IndicatorDto;
 import com.cryptoguide.api.dto.MarketOverviewDto;
+import com.cryptoguide.api.dto.PriceComparisonDto;
 import com.cryptoguide.api.dto.PriceHistoryDto;
+import com.cryptoguide.api.dto.PriceSeriesColumnarDto;
 import com.cryptoguide.api.entity.PriceHistory;
-import com.cryptoguide.api.repository.PriceHistoryRepository;
 import com.cryptoguide.api.service.CryptocurrencyService;
+import com.cryptoguide.api.service.market.history.PriceHistoryService;
+import com.cryptoguide.api.service.market.history.model.PriceSeries;
+import com.cryptoguide.api.service.market.indicator.IndicatorService;
+import com.cryptoguide.api.service.market.overview.MarketOverviewService;
+import com.cryptoguide.api.service.market.pipeline.MarketView;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -14,10 +23,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/v1/cryptocurrencies")
@@ -26,77 +37,227 @@ import java.util.stream.Collectors;
 public class CryptocurrencyController {
 
     private final CryptocurrencyService cryptoService;
-    private final PriceHistoryRepository priceHistoryRepository;
+    private static final int MAX_POINTS_LIMIT = 5000;
+    private static final int MAX_COMPARE_COINS = 20;
+    private static final int MAX_OVERVIEW_HISTORY_HOURS = 24 * 365;
+    private static final int MAX_COMPARE_HOURS = 24 * 365;
+
+    private final PriceHistoryService priceHistoryService;
+    private final IndicatorService indicatorService;
+    private final MarketOverviewService overviewService;
+    private final ConditionalGet conditionalGet;
 
     @GetMapping
     @Operation(summary = "암호화폐 목록 조회", description = "시가총액 순으로 암호화폐 목록을 조회합니다")
     public ResponseEntity<Page<CryptocurrencyDto>> getAllCryptocurrencies(
-            @PageableDefault(size = 100) Pageable pageable) {
-        return ResponseEntity.ok(cryptoService.getAllCryptocurrencies(pageable));
+            @PageableDefault(size = 100) Pageable pageable,
+            @RequestParam(required = false) String fields, WebRequest request) {
+        FieldSelection<CryptocurrencyDto> selection = CryptocurrencyDto.LIST_FIELDS.parse(fields);
+        if (selection == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return conditionalGet.market(request,
+                view -> cryptoService.getAllCryptocurrencies(view, pageable).map(selection::apply));
     }
 
     @GetMapping("/{coinId}")
     @Operation(summary = "암호화폐 상세 조회", description = "특정 암호화폐의 상세 정보를 조회합니다")
-    public ResponseEntity<CryptocurrencyDto> getCryptocurrency(@PathVariable String coinId) {
-        return ResponseEntity.ok(cryptoService.getCryptocurrencyByCoinId(coinId));
+    public ResponseEntity<CryptocurrencyDto> getCryptocurrency(
+            @PathVariable String coinId,
+            @RequestParam(required = false) String fields) {
+        FieldSelection<CryptocurrencyDto> selection = CryptocurrencyDto.FIELDS.parse(fields);
+        if (selection == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        // 프로젝트 정보를 고르지 않았으면 DB 를 거치지 않고 시세 스냅샷에서 답한다
+        CryptocurrencyDto crypto = selection.includesAny(CryptocurrencyDto.PROJECT_INFO_FIELDS)
+                ? cryptoService.getCryptocurrencyByCoinId(coinId)
+                : cryptoService.findListedCryptocurrency(coinId)
+                        .orElseGet(() -> cryptoService.getCryptocurrencyByCoinId(coinId));
+        if (!selection.includes("indicators")) {
+            return ResponseEntity.ok(selection.apply(crypto));
+        }
+        // 캐시된 DTO 는 그대로 두고 지표만 붙인 사본을 돌려준다
+        return ResponseEntity.ok(selection.apply(indicatorService.find(coinId)
+                .map(indicators -> crypto.toBuilder().indicators(indicators).build())
+                .orElse(crypto)));
     }
 
     @GetMapping("/search")
-    @Operation(summary = "암호화폐 검색", description = "이름 또는 심볼로 암호화폐를 검색합니다")
+    @Operation(summary = "암호화폐 검색",
+            description = "심볼, 이름, 한글 별칭으로 암호화폐를 검색합니다. 정확·접두어·부분 일치 순, 같은 등급은 시가총액 순입니다")
     public ResponseEntity<List<CryptocurrencyDto>> searchCryptocurrencies(
-            @RequestParam String query) {
-        return ResponseEntity.ok(cryptoService.searchCryptocurrencies(query));
+            @RequestParam String query,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String fields) {
+        FieldSelection<CryptocurrencyDto> selection = CryptocurrencyDto.LIST_FIELDS.parse(fields);
+        if (limit < 1 || selection == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(cryptoService.searchCryptocurrencies(query, limit).stream()
+                .map(selection::apply)
+                .toList());
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "암호화폐 자동완성", description = "검색과 같은 순서로 coinId, 심볼, 이름, 이미지만 돌려줍니다")
+    public ResponseEntity<List<CoinSuggestionDto>> autocomplete(
+            @RequestParam String query,
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(cryptoService.autocomplete(query, limit));
     }
 
     @GetMapping("/theme/{themeSlug}")
     @Operation(summary = "테마별 암호화폐 조회", description = "특정 테마에 속한 암호화폐 목록을 조회합니다")
     public ResponseEntity<Page<CryptocurrencyDto>> getCryptocurrenciesByTheme(
             @PathVariable String themeSlug,
-            @PageableDefault(size = 50) Pageable pageable) {
-        return ResponseEntity.ok(cryptoService.getCryptocurrenciesByTheme(themeSlug, pageable));
+            @PageableDefault(size = 50) Pageable pageable,
+            @RequestParam(required = false) String fields) {
+        FieldSelection<CryptocurrencyDto> selection = CryptocurrencyDto.LIST_FIELDS.parse(fields);
+        if (selection == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(cryptoService.getCryptocurrenciesByTheme(themeSlug, pageable)
+                .map(selection::apply));
     }
 
     @GetMapping("/top-gainers")
     @Operation(summary = "상승률 상위 코인", description = "24시간 상승률 상위 암호화폐를 조회합니다")
     public ResponseEntity<List<CryptocurrencyDto>> getTopGainers(
-            @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(cryptoService.getTopGainers(limit));
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String fields, WebRequest request) {
+        return topN(request, fields, view -> cryptoService.getTopGainers(view, limit));
     }
 
     @GetMapping("/top-losers")
     @Operation(summary = "하락률 상위 코인", description = "24시간 하락률 상위 암호화폐를 조회합니다")
     public ResponseEntity<List<CryptocurrencyDto>> getTopLosers(
-            @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(cryptoService.getTopLosers(limit));
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String fields, WebRequest request) {
+        return topN(request, fields, view -> cryptoService.getTopLosers(view, limit));
     }
 
     @GetMapping("/top-volume")
     @Operation(summary = "거래량 상위 코인", description = "24시간 거래량 상위 암호화폐를 조회합니다")
     public ResponseEntity<List<CryptocurrencyDto>> getTopByVolume(
-            @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(cryptoService.getTopByVolume(limit));
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String fields, WebRequest request) {
+        return topN(request, fields, view -> cryptoService.getTopByVolume(view, limit));
+    }
+
+    private ResponseEntity<List<CryptocurrencyDto>> topN(WebRequest request, String fields,
+                                                         Function<MarketView, List<CryptocurrencyDto>> top) {
+        FieldSelection<CryptocurrencyDto> selection = CryptocurrencyDto.LIST_FIELDS.parse(fields);
+        if (selection == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return conditionalGet.market(request, view -> top.apply(view).stream().map(selection::apply).toList());
     }
 
     @GetMapping("/market-overview")
     @Operation(summary = "시장 개요", description = "전체 암호화폐 시장 개요를 조회합니다")
-    public ResponseEntity<MarketOverviewDto> getMarketOverview() {
-        return ResponseEntity.ok(cryptoService.getMarketOverview());
+    public ResponseEntity<MarketOverviewDto> getMarketOverview(WebRequest request) {
+        return conditionalGet.market(request, cryptoService::getMarketOverview);
+    }
+
+    @GetMapping("/market-overview/history")
+    @Operation(summary = "시장 개요 히스토리",
+            description = "수집 주기마다 저장한 총 시가총액·거래량, 상승/하락 수, BTC/ETH 도미넌스를 시간순으로 조회합니다")
+    public ResponseEntity<List<MarketOverviewDto>> getMarketOverviewHistory(
+            @RequestParam(defaultValue = "24") int hours, WebRequest request) {
+        if (hours < 1 || hours > MAX_OVERVIEW_HISTORY_HOURS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return conditionalGet.overviewHistory(request, () -> {
+            LocalDateTime to = LocalDateTime.now();
+            return overviewService.history(to.minusHours(hours), to);
+        });
+    }
+
+    @GetMapping("/price-history/compare")
+    @Operation(summary = "가격 히스토리 비교",
+            description = "여러 암호화폐의 가격 히스토리를 같은 시각 축에 맞춰 한 번에 조회합니다. normalize=true 면 첫 점 대비 변화율(%)로 돌려줍니다")
+    public ResponseEntity<PriceComparisonDto> comparePriceHistory(
+            @RequestParam List<String> coinIds,
+            @RequestParam(defaultValue = "HOUR_1") PriceHistory.TimeInterval interval,
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(defaultValue = "false") boolean normalize) {
+        List<String> distinct = coinIds.stream().map(String::trim).filter(id -> !id.isEmpty()).distinct().toList();
+        if (distinct.isEmpty() || distinct.size() > MAX_COMPARE_COINS) {
+            return ResponseEntity.badRequest().build();
+        }
+        // 코인마다 전 구간을 메모리에 모아 축을 맞추므로 코인당 버킷 수도 MAX_POINTS_LIMIT 로 묶는다
+        if (hours < 1 || hours > MAX_COMPARE_HOURS
+                || Duration.ofHours(hours).dividedBy(interval.getLength()) > MAX_POINTS_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDateTime to = LocalDateTime.now();
+        return ResponseEntity.ok(priceHistoryService.compare(distinct, interval, to.minusHours(hours), to, normalize));
+    }
+
+    @GetMapping("/{coinId}/indicators")
+    @Operation(summary = "기술 지표 조회", description = "SMA/EMA, RSI, 볼린저 밴드 폭, 변동성, 최대 낙폭을 조회합니다 (1시간 캔들 기준)")
+    public ResponseEntity<IndicatorDto> getIndicators(@PathVariable String coinId) {
+        return indicatorService.find(coinId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/{coinId}/price-history")
-    @Operation(summary = "가격 히스토리 조회", description = "특정 암호화폐의 가격 히스토리를 조회합니다")
+    @Operation(summary = "가격 히스토리 조회",
+            description = "특정 암호화폐의 가격 히스토리를 조회합니다. maxPoints 를 주면 LTTB 로 점 수를 줄이고, interval 을 생략하면 maxPoints 에 맞는 간격을 고릅니다")
     public ResponseEntity<List<PriceHistoryDto>> getPriceHistory(
             @PathVariable String coinId,
-            @RequestParam(defaultValue = "HOUR_1") PriceHistory.TimeInterval interval,
-            @RequestParam(defaultValue = "24") int hours) {
-        
-        LocalDateTime from = LocalDateTime.now().minusHours(hours);
-        List<PriceHistoryDto> history = priceHistoryRepository
-                .findByCryptoAndIntervalAndTimeRange(coinId, interval, from)
-                .stream()
-                .map(PriceHistoryDto::fromEntity)
-                .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(history);
+            @RequestParam(required = false) PriceHistory.TimeInterval interval,
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(required = false) Integer maxPoints) {
+        if (maxPoints != null && (maxPoints < 3 || maxPoints > MAX_POINTS_LIMIT)) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDateTime to = LocalDateTime.now();
+        LocalDateTime from = to.minusHours(hours);
+        PriceHistory.TimeInterval resolved = interval != null
+                ? interval
+                : priceHistoryService.resolveInterval(from, to, maxPoints);
+        return ResponseEntity.ok(priceHistoryService.getHistory(coinId, resolved, from, maxPoints));
+    }
+
+    @GetMapping(value = "/{coinId}/price-history", params = "format=columnar")
+    @Operation(summary = "가격 히스토리 조회 (열 형식)",
+            description = "format=columnar 또는 Accept: " + PriceSeriesColumnarDto.MEDIA_TYPE + " 로 요청하면 시각을 start/step(또는 차이 배열 t)로, 값을 열 배열로 돌려줍니다")
+    public ResponseEntity<PriceSeriesColumnarDto> getPriceHistoryColumnar(
+            @PathVariable String coinId,
+            @RequestParam(required = false) PriceHistory.TimeInterval interval,
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(defaultValue = "false") boolean ohlc) {
+        return columnarPriceHistory(coinId, interval, hours, maxPoints, ohlc);
+    }
+
+    @GetMapping(value = "/{coinId}/price-history", produces = PriceSeriesColumnarDto.MEDIA_TYPE)
+    public ResponseEntity<PriceSeriesColumnarDto> getPriceHistoryColumnarByAccept(
+            @PathVariable String coinId,
+            @RequestParam(required = false) PriceHistory.TimeInterval interval,
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(required = false) Integer maxPoints,
+            @RequestParam(defaultValue = "false") boolean ohlc) {
+        return columnarPriceHistory(coinId, interval, hours, maxPoints, ohlc);
+    }
+
+    private ResponseEntity<PriceSeriesColumnarDto> columnarPriceHistory(
+            String coinId, PriceHistory.TimeInterval interval, int hours, Integer maxPoints, boolean ohlc) {
+        if (maxPoints != null && (maxPoints < 3 || maxPoints > MAX_POINTS_LIMIT)) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDateTime to = LocalDateTime.now();
+        LocalDateTime from = to.minusHours(hours);
+        PriceHistory.TimeInterval resolved = interval != null
+                ? interval
+                : priceHistoryService.resolveInterval(from, to, maxPoints);
+        PriceSeries series = priceHistoryService.getSeries(coinId, resolved, from, to, maxPoints);
+        return ResponseEntity.ok(PriceSeriesColumnarDto.fromSeries(series, ohlc));
     }
 }
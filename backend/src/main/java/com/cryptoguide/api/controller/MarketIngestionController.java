@@ -0,0 +1,82 @@
+package com.cryptoguide.api.controller;
+
+import com.cryptoguide.api.entity.PriceHistory;
+import com.cryptoguide.api.service.market.backfill.PriceBackfillService;
+import com.cryptoguide.api.service.market.backfill.model.BackfillProgress;
+import com.cryptoguide.api.service.market.history.PriceHistoryRetentionService;
+import com.cryptoguide.api.service.market.indicator.IndicatorService;
+import com.cryptoguide.api.service.market.indicator.model.IndicatorRebuildResult;
+import com.cryptoguide.api.service.market.history.PriceRollupService;
+import com.cryptoguide.api.service.market.history.model.RetentionResult;
+import com.cryptoguide.api.service.market.history.model.RollupRebuildResult;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/v1/market-ingestion")
+@RequiredArgsConstructor
+@Tag(name = "Market Ingestion", description = "시세 수집 관리 API")
+public class MarketIngestionController {
+
+    private final PriceRollupService rollupService;
+    private final PriceHistoryRetentionService retentionService;
+    private final PriceBackfillService backfillService;
+    private final IndicatorService indicatorService;
+
+    @PostMapping("/rollups/rebuild")
+    @Operation(summary = "캔들 재계산", description = "지정 구간의 원본 점으로 상위 간격 OHLC 캔들을 다시 만듭니다")
+    public ResponseEntity<RollupRebuildResult> rebuildRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "MINUTE_5") PriceHistory.TimeInterval sourceInterval) {
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(rollupService.rebuild(sourceInterval, from, to));
+    }
+
+    @PostMapping("/retention/run")
+    @Operation(summary = "시세 이력 정리", description = "간격별 보존 기간이 지난 시세 이력을 지우고 삭제 행 수와 소요 시간을 돌려줍니다")
+    public ResponseEntity<RetentionResult> runRetention() {
+        return ResponseEntity.ok(retentionService.purgeExpired());
+    }
+
+    @PostMapping("/backfill")
+    @Operation(summary = "과거 시세 백필 시작", description = "지정 코인(없으면 전체)의 최근 days 일 1시간 시세를 이어받기 가능하게 적재합니다")
+    public ResponseEntity<BackfillProgress> startBackfill(
+            @RequestParam(required = false) Integer days,
+            @RequestParam(required = false) List<String> coinIds) {
+        if (days != null && (days < 1 || days > 365)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!backfillService.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.accepted().body(backfillService.start(days, coinIds));
+    }
+
+    @GetMapping("/backfill")
+    @Operation(summary = "과거 시세 백필 진행 상황", description = "완료·대기·실패 코인 수, 적재한 점 수와 처리량을 돌려줍니다")
+    public ResponseEntity<BackfillProgress> backfillProgress() {
+        return ResponseEntity.ok(backfillService.progress());
+    }
+
+    @PostMapping("/indicators/rebuild")
+    @Operation(summary = "기술 지표 재구성", description = "지정 코인(없으면 전체)의 지표 상태를 저장된 캔들로 다시 만듭니다")
+    public ResponseEntity<IndicatorRebuildResult> rebuildIndicators(
+            @RequestParam(required = false) List<String> coinIds) {
+        return ResponseEntity.ok(indicatorService.rebuild(coinIds));
+    }
+}
@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,22 +18,23 @@ import java.util.List;
 public class ThemeController {
 
     private final ThemeService themeService;
+    private final ConditionalGet conditionalGet;
 
     @GetMapping
     @Operation(summary = "테마 목록 조회", description = "모든 테마 목록을 조회합니다")
-    public ResponseEntity<List<ThemeDto>> getAllThemes() {
-        return ResponseEntity.ok(themeService.getAllThemes());
+    public ResponseEntity<List<ThemeDto>> getAllThemes(WebRequest request) {
+        return conditionalGet.themes(request, themeService::getAllThemes);
     }
 
     @GetMapping("/with-count")
     @Operation(summary = "테마 목록 조회 (코인 수 포함)", description = "각 테마별 코인 수를 포함하여 조회합니다")
-    public ResponseEntity<List<ThemeDto>> getAllThemesWithCount() {
-        return ResponseEntity.ok(themeService.getAllThemesWithCount());
+    public ResponseEntity<List<ThemeDto>> getAllThemesWithCount(WebRequest request) {
+        return conditionalGet.themes(request, themeService::getAllThemesWithCount);
     }
 
     @GetMapping("/{slug}")
     @Operation(summary = "테마 상세 조회", description = "특정 테마의 상세 정보를 조회합니다")
-    public ResponseEntity<ThemeDto> getTheme(@PathVariable String slug) {
-        return ResponseEntity.ok(themeService.getThemeBySlug(slug));
+    public ResponseEntity<ThemeDto> getTheme(@PathVariable String slug, WebRequest request) {
+        return conditionalGet.themes(request, () -> themeService.getThemeBySlug(slug));
     }
 }
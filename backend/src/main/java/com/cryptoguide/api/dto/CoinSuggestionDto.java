@@ -0,0 +1,15 @@
+package com.cryptoguide.api.dto;
+
+import lombok.*;
+
+/** 검색 자동완성 항목 (목록 표시에 필요한 최소 필드만) */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CoinSuggestionDto {
+    private String coinId;
+    private String symbol;
+    private String name;
+    private String imageUrl;
+}
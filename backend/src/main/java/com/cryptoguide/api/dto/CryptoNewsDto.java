@@ -1,15 +1,19 @@
 package com.cryptoguide.api.dto;
 
 import com.cryptoguide.api.entity.CryptoNews;
+import com.cryptoguide.api.repository.CryptoNewsRow;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
+/** fields= 로 고르지 않은 필드는 null 이라 응답에서 빠진다 */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CryptoNewsDto {
     private Long id;
     private String title;
@@ -25,6 +29,38 @@ public class CryptoNewsDto {
     private List<String> relatedThemes;
     private LocalDateTime createdAt;
 
+    /** fields= 로 고를 수 있는 필드 */
+    public static final FieldSelection.Schema<CryptoNewsDto> FIELDS = new FieldSelection.Schema<>(CryptoNewsDto::new)
+            .field("id", (from, to) -> to.setId(from.getId()))
+            .field("title", (from, to) -> to.setTitle(from.getTitle()))
+            .field("content", (from, to) -> to.setContent(from.getContent()))
+            .field("summary", (from, to) -> to.setSummary(from.getSummary()))
+            .field("sourceUrl", (from, to) -> to.setSourceUrl(from.getSourceUrl()))
+            .field("source", (from, to) -> to.setSource(from.getSource()))
+            .field("author", (from, to) -> to.setAuthor(from.getAuthor()))
+            .field("imageUrl", (from, to) -> to.setImageUrl(from.getImageUrl()))
+            .field("status", (from, to) -> to.setStatus(from.getStatus()))
+            .field("publishedAt", (from, to) -> to.setPublishedAt(from.getPublishedAt()))
+            .field("relatedCryptoSymbols", (from, to) -> to.setRelatedCryptoSymbols(from.getRelatedCryptoSymbols()))
+            .field("relatedThemes", (from, to) -> to.setRelatedThemes(from.getRelatedThemes()))
+            .field("createdAt", (from, to) -> to.setCreatedAt(from.getCreatedAt()));
+
+    /** 행에 없는 본문·관련 코인·테마는 비워 둔다 */
+    public static CryptoNewsDto fromRow(CryptoNewsRow row) {
+        return CryptoNewsDto.builder()
+                .id(row.id())
+                .title(row.title())
+                .summary(row.summary())
+                .sourceUrl(row.sourceUrl())
+                .source(row.source())
+                .author(row.author())
+                .imageUrl(row.imageUrl())
+                .status(row.status().name())
+                .publishedAt(row.publishedAt())
+                .createdAt(row.createdAt())
+                .build();
+    }
+
     public static CryptoNewsDto fromEntity(CryptoNews entity) {
         return CryptoNewsDto.builder()
                 .id(entity.getId())
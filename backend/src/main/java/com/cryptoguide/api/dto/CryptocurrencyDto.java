@@ -1,16 +1,23 @@
 package com.cryptoguide.api.dto;
 
 import com.cryptoguide.api.entity.Cryptocurrency;
+import com.cryptoguide.api.repository.CryptocurrencyListRow;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/** fields= 로 고르지 않은 필드는 null 이라 응답에서 빠진다 */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CryptocurrencyDto {
     private Long id;
     private String coinId;
@@ -56,6 +63,59 @@ public class CryptocurrencyDto {
 
     private LocalDateTime lastUpdated;
 
+    /** 기술 지표 (상세 조회에서만 채운다) */
+    private IndicatorDto indicators;
+
+    /** 상세 조회에서만 채우는 프로젝트 정보 필드 */
+    public static final Set<String> PROJECT_INFO_FIELDS =
+            Set.of("description", "homepage", "whitepaper", "github", "twitter", "telegram");
+
+    /** 상세 조회에서만 고를 수 있는 필드 (시세 스냅샷에 없다) */
+    public static final Set<String> DETAIL_ONLY_FIELDS = Stream.concat(PROJECT_INFO_FIELDS.stream(), Stream.of("indicators"))
+            .collect(Collectors.toUnmodifiableSet());
+
+    /** 상세 조회에서 fields= 로 고를 수 있는 필드 */
+    public static final FieldSelection.Schema<CryptocurrencyDto> FIELDS = new FieldSelection.Schema<>(CryptocurrencyDto::new)
+            .field("id", (from, to) -> to.setId(from.getId()))
+            .field("coinId", (from, to) -> to.setCoinId(from.getCoinId()))
+            .field("symbol", (from, to) -> to.setSymbol(from.getSymbol()))
+            .field("name", (from, to) -> to.setName(from.getName()))
+            .field("imageUrl", (from, to) -> to.setImageUrl(from.getImageUrl()))
+            .field("currentPrice", (from, to) -> to.setCurrentPrice(from.getCurrentPrice()))
+            .field("marketCap", (from, to) -> to.setMarketCap(from.getMarketCap()))
+            .field("marketCapRank", (from, to) -> to.setMarketCapRank(from.getMarketCapRank()))
+            .field("fullyDilutedValuation", (from, to) -> to.setFullyDilutedValuation(from.getFullyDilutedValuation()))
+            .field("totalVolume", (from, to) -> to.setTotalVolume(from.getTotalVolume()))
+            .field("high24h", (from, to) -> to.setHigh24h(from.getHigh24h()))
+            .field("low24h", (from, to) -> to.setLow24h(from.getLow24h()))
+            .field("priceChange24h", (from, to) -> to.setPriceChange24h(from.getPriceChange24h()))
+            .field("priceChangePercentage24h", (from, to) -> to.setPriceChangePercentage24h(from.getPriceChangePercentage24h()))
+            .field("priceChangePercentage7d", (from, to) -> to.setPriceChangePercentage7d(from.getPriceChangePercentage7d()))
+            .field("priceChangePercentage30d", (from, to) -> to.setPriceChangePercentage30d(from.getPriceChangePercentage30d()))
+            .field("circulatingSupply", (from, to) -> to.setCirculatingSupply(from.getCirculatingSupply()))
+            .field("totalSupply", (from, to) -> to.setTotalSupply(from.getTotalSupply()))
+            .field("maxSupply", (from, to) -> to.setMaxSupply(from.getMaxSupply()))
+            .field("ath", (from, to) -> to.setAth(from.getAth()))
+            .field("athDate", (from, to) -> to.setAthDate(from.getAthDate()))
+            .field("athChangePercentage", (from, to) -> to.setAthChangePercentage(from.getAthChangePercentage()))
+            .field("atl", (from, to) -> to.setAtl(from.getAtl()))
+            .field("atlDate", (from, to) -> to.setAtlDate(from.getAtlDate()))
+            .field("atlChangePercentage", (from, to) -> to.setAtlChangePercentage(from.getAtlChangePercentage()))
+            .field("description", (from, to) -> to.setDescription(from.getDescription()))
+            .field("homepage", (from, to) -> to.setHomepage(from.getHomepage()))
+            .field("whitepaper", (from, to) -> to.setWhitepaper(from.getWhitepaper()))
+            .field("github", (from, to) -> to.setGithub(from.getGithub()))
+            .field("twitter", (from, to) -> to.setTwitter(from.getTwitter()))
+            .field("telegram", (from, to) -> to.setTelegram(from.getTelegram()))
+            .field("themeLarge", (from, to) -> to.setThemeLarge(from.getThemeLarge()))
+            .field("themeMedium", (from, to) -> to.setThemeMedium(from.getThemeMedium()))
+            .field("themeSmall", (from, to) -> to.setThemeSmall(from.getThemeSmall()))
+            .field("lastUpdated", (from, to) -> to.setLastUpdated(from.getLastUpdated()))
+            .field("indicators", (from, to) -> to.setIndicators(from.getIndicators()));
+
+    /** 목록·테마별·검색·상위 N 에서 고를 수 있는 필드. 스냅샷으로 답하므로 프로젝트 정보·지표를 고르면 400 이다 */
+    public static final FieldSelection.Schema<CryptocurrencyDto> LIST_FIELDS = FIELDS.without(DETAIL_ONLY_FIELDS);
+
     public static CryptocurrencyDto fromEntity(Cryptocurrency entity) {
         return CryptocurrencyDto.builder()
                 .id(entity.getId())
@@ -95,4 +155,39 @@ public class CryptocurrencyDto {
                 .lastUpdated(entity.getLastUpdated())
                 .build();
     }
+
+    /** 목록용. 설명·링크 같은 프로젝트 정보는 상세 조회에서만 채운다. */
+    public static CryptocurrencyDto fromListRow(CryptocurrencyListRow row) {
+        return CryptocurrencyDto.builder()
+                .id(row.id())
+                .coinId(row.coinId())
+                .symbol(row.symbol())
+                .name(row.name())
+                .imageUrl(row.imageUrl())
+                .currentPrice(row.currentPrice())
+                .marketCap(row.marketCap())
+                .marketCapRank(row.marketCapRank())
+                .fullyDilutedValuation(row.fullyDilutedValuation())
+                .totalVolume(row.totalVolume())
+                .high24h(row.high24h())
+                .low24h(row.low24h())
+                .priceChange24h(row.priceChange24h())
+                .priceChangePercentage24h(row.priceChangePercentage24h())
+                .priceChangePercentage7d(row.priceChangePercentage7d())
+                .priceChangePercentage30d(row.priceChangePercentage30d())
+                .circulatingSupply(row.circulatingSupply())
+                .totalSupply(row.totalSupply())
+                .maxSupply(row.maxSupply())
+                .ath(row.ath())
+                .athDate(row.athDate())
+                .athChangePercentage(row.athChangePercentage())
+                .atl(row.atl())
+                .atlDate(row.atlDate())
+                .atlChangePercentage(row.atlChangePercentage())
+                .themeLarge(ThemeDto.fromEntity(row.themeLarge()))
+                .themeMedium(ThemeDto.fromEntity(row.themeMedium()))
+                .themeSmall(ThemeDto.fromEntity(row.themeSmall()))
+                .lastUpdated(row.lastUpdated())
+                .build();
+    }
 }
@@ -0,0 +1,101 @@
+package com.cryptoguide.api.dto;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 응답 DTO 의 sparse fieldset ({@code fields=coinId,symbol,currentPrice}).
+ * 고른 필드만 새 DTO 로 옮기며, 나머지는 null 이라 직렬화에서 빠진다 (DTO 에 @JsonInclude(NON_NULL) 이 있어야 한다).
+ * 서비스는 includes 로 읽을 컬럼·연관을 미리 줄인다.
+ */
+public final class FieldSelection<D> {
+
+    private final Schema<D> schema;
+    /** null 이면 전체 */
+    private final Set<String> selected;
+
+    private FieldSelection(Schema<D> schema, Set<String> selected) {
+        this.schema = schema;
+        this.selected = selected;
+    }
+
+    public boolean isAll() {
+        return selected == null;
+    }
+
+    public boolean includes(String field) {
+        return selected == null || selected.contains(field);
+    }
+
+    public boolean includesAny(Set<String> fields) {
+        return selected == null || fields.stream().anyMatch(selected::contains);
+    }
+
+    /** 고른 필드만 담은 사본. 전체면 dto 를 그대로 돌려준다. */
+    public D apply(D dto) {
+        if (selected == null || dto == null) {
+            return dto;
+        }
+        D copy = schema.factory.get();
+        for (String field : selected) {
+            schema.copiers.get(field).accept(dto, copy);
+        }
+        return copy;
+    }
+
+    /** DTO 별 필드 목록. 이름은 JSON 필드명과 같다. */
+    public static final class Schema<D> {
+
+        private final Supplier<D> factory;
+        private final Map<String, BiConsumer<D, D>> copiers = new LinkedHashMap<>();
+
+        public Schema(Supplier<D> factory) {
+            this.factory = factory;
+        }
+
+        /** copier 는 (원본, 사본) 을 받아 필드 하나를 옮긴다 */
+        public Schema<D> field(String name, BiConsumer<D, D> copier) {
+            copiers.put(name, copier);
+            return this;
+        }
+
+        /** names 를 뺀 스키마. 뺀 필드를 고르면 모르는 필드처럼 parse 가 null 을 돌려준다 */
+        public Schema<D> without(Set<String> names) {
+            Schema<D> schema = new Schema<>(factory);
+            copiers.forEach((name, copier) -> {
+                if (!names.contains(name)) {
+                    schema.copiers.put(name, copier);
+                }
+            });
+            return schema;
+        }
+
+        public FieldSelection<D> all() {
+            return new FieldSelection<>(this, null);
+        }
+
+        /** 쉼표로 구분한 필드 목록. 비어 있으면 전체, 모르는 필드가 있으면 null. */
+        public FieldSelection<D> parse(String fields) {
+            if (fields == null || fields.isBlank()) {
+                return all();
+            }
+            Set<String> selected = Arrays.stream(fields.split(","))
+                    .map(String::trim)
+                    .filter(name -> !name.isEmpty())
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            if (selected.isEmpty()) {
+                return all();
+            }
+            if (!copiers.keySet().containsAll(selected)) {
+                return null;
+            }
+            return new FieldSelection<>(this, Set.copyOf(selected));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.cryptoguide.api.dto;
+
+import com.cryptoguide.api.entity.PriceHistory;
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 코인 기술 지표. interval 캔들 종가 기준이며 진행 중인 캔들도 반영한다.
+ * 창을 채울 만큼 캔들이 없으면 해당 값은 null 이다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IndicatorDto {
+    private String coinId;
+    private PriceHistory.TimeInterval interval;
+    /** 마지막 (진행 중) 캔들 시작 시각 */
+    private LocalDateTime asOf;
+    private long candles;
+
+    /** 창 길이(캔들 수) → 값 */
+    private Map<Integer, Double> sma;
+    private Map<Integer, Double> ema;
+    /** Wilder RSI (14) */
+    private Double rsi;
+    /** 볼린저 밴드 폭 (20, 2σ): (상단 - 하단) / 중심선 */
+    private Double bollingerWidth;
+    /** 최근 24 캔들 로그 수익률 표준편차의 연율화 값 */
+    private Double volatility;
+    /** trackedSince 이후 최고가 대비 최대 하락률 (0~1) */
+    private Double maxDrawdown;
+    private LocalDateTime trackedSince;
+}
@@ -2,11 +2,12 @@ package com.cryptoguide.api.dto;
 
 import lombok.*;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class MarketOverviewDto {
     private BigDecimal totalMarketCap;
     private BigDecimal totalVolume24h;
@@ -16,4 +17,7 @@ public class MarketOverviewDto {
     private Integer upCount;
     private Integer downCount;
     private Integer totalCoins;
+
+    /** 이 값을 만든 수집 주기 시각 */
+    private LocalDateTime asOf;
 }
@@ -0,0 +1,30 @@
+package com.cryptoguide.api.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * double[] 을 JSON 숫자 배열로 쓰되, 값이 없다는 뜻의 NaN 은 null 로 쓴다.
+ */
+public class NanAsNullArraySerializer extends StdSerializer<double[]> {
+
+    public NanAsNullArraySerializer() {
+        super(double[].class);
+    }
+
+    @Override
+    public void serialize(double[] values, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartArray(values, values.length);
+        for (double value : values) {
+            if (Double.isNaN(value)) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(value);
+            }
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,33 @@
+package com.cryptoguide.api.dto;
+
+import com.cryptoguide.api.entity.PriceHistory;
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 여러 코인의 시세를 같은 시각 축에 맞춘 비교 차트 응답.
+ * series[i].values[j] 는 timestamps[j] 시점 값이며, 그 시점에 점이 없으면 null 이다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceComparisonDto {
+    private PriceHistory.TimeInterval interval;
+    /** true 면 values 가 각 코인 첫 점 대비 변화율(%) */
+    private boolean normalized;
+    private List<LocalDateTime> timestamps;
+    private List<Series> series;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Series {
+        private String coinId;
+        /** 정규화 기준이 된 첫 가격 */
+        private Double basePrice;
+        private List<Double> values;
+    }
+}
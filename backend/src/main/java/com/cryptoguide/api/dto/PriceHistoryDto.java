@@ -11,6 +11,9 @@ import java.time.LocalDateTime;
 @Builder
 public class PriceHistoryDto {
     private LocalDateTime timestamp;
+    private BigDecimal open;
+    private BigDecimal high;
+    private BigDecimal low;
     private BigDecimal price;
     private BigDecimal marketCap;
     private BigDecimal volume;
@@ -18,6 +21,9 @@ public class PriceHistoryDto {
     public static PriceHistoryDto fromEntity(PriceHistory entity) {
         return PriceHistoryDto.builder()
                 .timestamp(entity.getTimestamp())
+                .open(entity.getOpen())
+                .high(entity.getHigh())
+                .low(entity.getLow())
                 .price(entity.getPrice())
                 .marketCap(entity.getMarketCap())
                 .volume(entity.getVolume())
@@ -0,0 +1,74 @@
+package com.cryptoguide.api.dto;
+
+import com.cryptoguide.api.entity.PriceHistory;
+import com.cryptoguide.api.service.market.history.model.PriceSeries;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.*;
+
+import java.time.ZoneId;
+
+/**
+ * price-history 의 열(column) 형식 응답.
+ * 시각은 start(실제 epoch millis, 서버 시간대 기준으로 변환) 한 번과, 간격이 일정하면 step 만, 아니면 직전 점과의 차이 배열 t 로 보낸다.
+ * PriceSeries 안의 시각은 LocalDateTime 을 UTC 로 본 값이라, 서버가 UTC 가 아니면 그대로 내보내면 시간대만큼 어긋난다.
+ * p 는 종가, v 는 거래량, m 은 시가총액이고 o/h/l 은 ohlc 를 요청했을 때만 담는다. 배열 안의 값이 없으면 null.
+ * 쓰지 않은 start/step/t/o/h/l 은 응답에서 빠진다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PriceSeriesColumnarDto {
+    public static final String MEDIA_TYPE = "application/vnd.cryptoguide.columnar+json";
+
+    private String coinId;
+    private PriceHistory.TimeInterval interval;
+    private int count;
+    private Long start;
+    private Long step;
+    private long[] t;
+    @JsonSerialize(using = NanAsNullArraySerializer.class)
+    private double[] o;
+    @JsonSerialize(using = NanAsNullArraySerializer.class)
+    private double[] h;
+    @JsonSerialize(using = NanAsNullArraySerializer.class)
+    private double[] l;
+    @JsonSerialize(using = NanAsNullArraySerializer.class)
+    private double[] p;
+    @JsonSerialize(using = NanAsNullArraySerializer.class)
+    private double[] v;
+    @JsonSerialize(using = NanAsNullArraySerializer.class)
+    private double[] m;
+
+    public static PriceSeriesColumnarDto fromSeries(PriceSeries series, boolean ohlc) {
+        long[] timestamps = new long[series.size()];
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = PriceSeries.fromEpochMillis(series.timestamps()[i])
+                    .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        PriceSeriesColumnarDtoBuilder builder = PriceSeriesColumnarDto.builder()
+                .coinId(series.coinId())
+                .interval(series.interval())
+                .count(series.size())
+                .p(series.close())
+                .v(series.volume())
+                .m(series.marketCap());
+        if (ohlc) {
+            builder.o(series.open()).h(series.high()).l(series.low());
+        }
+        if (timestamps.length == 0) {
+            return builder.build();
+        }
+        builder.start(timestamps[0]);
+
+        long[] deltas = new long[timestamps.length];
+        boolean fixedStep = timestamps.length > 1;
+        for (int i = 1; i < timestamps.length; i++) {
+            deltas[i] = timestamps[i] - timestamps[i - 1];
+            fixedStep &= deltas[i] == deltas[1];
+        }
+        return fixedStep ? builder.step(deltas[1]).build() : builder.t(deltas).build();
+    }
+}
@@ -1,12 +1,15 @@
 package com.cryptoguide.api.dto;
 
 import com.cryptoguide.api.entity.Theme;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
+/** cryptoCount 는 with-count 조회에서만 채우고, 나머지 응답에서는 빠진다 */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ThemeDto {
     private Long id;
     private String slug;
@@ -0,0 +1,50 @@
+package com.cryptoguide.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 코인별 기술 지표 증분 상태의 주기적 저장본. 기동 시 이 상태에서 이어 가고, 없으면 price_history 로 다시 만든다.
+ */
+@Entity
+@Table(name = "coin_indicator_states", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_coin_indicator_states_coin_id", columnNames = "coin_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CoinIndicatorState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "coin_id", nullable = false)
+    private String coinId;
+
+    /** 지표를 계산하는 캔들 간격 */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PriceHistory.TimeInterval interval;
+
+    /** 마지막으로 반영한 캔들의 시작 시각 */
+    @Column(nullable = false)
+    private LocalDateTime lastBucket;
+
+    /** 링 버퍼·평활값 (JSON) */
+    @Column(nullable = false, columnDefinition = "text")
+    private String state;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -110,6 +110,12 @@ public class Cryptocurrency {
     @Column(length = 500)
     private String telegram;
 
+    /** 상세 정보(설명·링크·테마)를 마지막으로 받아온 시각. null 이면 아직 수집 전 */
+    private LocalDateTime detailsUpdatedAt;
+
+    /** 상세 정보 수집을 마지막으로 시도한 시각. 실패한 코인은 retry-after 가 지날 때까지 다시 고르지 않는다 */
+    private LocalDateTime detailsAttemptedAt;
+
     /** 테마 대분류 (1개) */
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "theme_large_id")
@@ -131,14 +137,30 @@ public class Cryptocurrency {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /** setLastUpdated 로 시각을 정했으면 (수집 주기 시각) 콜백이 now() 로 덮어쓰지 않는다 */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean lastUpdatedAssigned;
+
+    public void setLastUpdated(LocalDateTime lastUpdated) {
+        this.lastUpdated = lastUpdated;
+        this.lastUpdatedAssigned = true;
+    }
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
-        lastUpdated = LocalDateTime.now();
+        if (!lastUpdatedAssigned) {
+            lastUpdated = LocalDateTime.now();
+        }
+        lastUpdatedAssigned = false;
     }
 
     @PreUpdate
     protected void onUpdate() {
-        lastUpdated = LocalDateTime.now();
+        if (!lastUpdatedAssigned) {
+            lastUpdated = LocalDateTime.now();
+        }
+        lastUpdatedAssigned = false;
     }
 }
@@ -0,0 +1,52 @@
+package com.cryptoguide.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 수집 주기마다 남기는 시장 전체 요약 (총 시총·거래량, 상승/하락 수, BTC/ETH 도미넌스).
+ * 시장 개요 차트와 24시간 시총 변동률 계산에 쓴다.
+ */
+@Entity
+@Table(name = "market_overview_snapshots", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_market_overview_snapshots_snapshot_time", columnNames = "snapshot_time")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MarketOverviewSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** 수집 주기 시각 */
+    @Column(name = "snapshot_time", nullable = false)
+    private LocalDateTime snapshotTime;
+
+    @Column(precision = 30, scale = 2)
+    private BigDecimal totalMarketCap;
+
+    @Column(precision = 30, scale = 2)
+    private BigDecimal totalVolume24h;
+
+    @Column(precision = 10, scale = 4)
+    private BigDecimal btcDominance;
+
+    @Column(precision = 10, scale = 4)
+    private BigDecimal ethDominance;
+
+    @Column(nullable = false)
+    private int upCount;
+
+    @Column(nullable = false)
+    private int downCount;
+
+    @Column(nullable = false)
+    private int totalCoins;
+}
@@ -0,0 +1,75 @@
+package com.cryptoguide.api.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 코인별 과거 시세 백필 진행 상태.
+ * 백필은 anchor 에서 targetFrom 쪽으로 거슬러 올라가며, loadedFrom 이후 구간은 이미 적재가 끝났다.
+ * 청크 적재와 같은 트랜잭션에서 갱신하므로 중간에 죽어도 loadedFrom 부터 이어서 받는다.
+ */
+@Entity
+@Table(name = "price_backfill_checkpoints", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_price_backfill_checkpoints_coin_id", columnNames = "coin_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceBackfillCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "coin_id", nullable = false)
+    private String coinId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    /** 이 시각까지 거슬러 올라가면 끝 */
+    @Column(nullable = false)
+    private LocalDateTime targetFrom;
+
+    /** 백필 상한 (실시간 수집이 시작된 시각) */
+    @Column(nullable = false)
+    private LocalDateTime anchor;
+
+    /** [loadedFrom, anchor) 는 적재 완료 */
+    @Column(nullable = false)
+    private LocalDateTime loadedFrom;
+
+    @Column(nullable = false)
+    private long pointsLoaded;
+
+    @Column(nullable = false)
+    private int requests;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public boolean isComplete() {
+        return !loadedFrom.isAfter(targetFrom);
+    }
+
+    public enum Status {
+        PENDING, RUNNING, DONE, FAILED
+    }
+}
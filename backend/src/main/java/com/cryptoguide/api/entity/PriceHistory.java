@@ -3,11 +3,17 @@ package com.cryptoguide.api.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 
 @Entity
 @Table(name = "price_history", indexes = {
-    @Index(name = "idx_price_history_crypto_timestamp", columnList = "cryptocurrency_id, timestamp")
+    @Index(name = "idx_price_history_interval_timestamp", columnList = "interval, timestamp")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_price_history_crypto_interval_timestamp", columnNames = {"cryptocurrency_id", "interval", "timestamp"})
 })
 @Getter
 @Setter
@@ -24,12 +30,24 @@ public class PriceHistory {
     @JoinColumn(name = "cryptocurrency_id", nullable = false)
     private Cryptocurrency cryptocurrency;
 
+    /** 시가 (원본 5분 점은 price 와 같다) */
+    @Column(precision = 30, scale = 10)
+    private BigDecimal open;
+
+    @Column(precision = 30, scale = 10)
+    private BigDecimal high;
+
+    @Column(precision = 30, scale = 10)
+    private BigDecimal low;
+
+    /** 종가 (버킷의 마지막 시점 가격) */
     @Column(nullable = false, precision = 30, scale = 10)
     private BigDecimal price;
 
     @Column(precision = 30, scale = 2)
     private BigDecimal marketCap;
 
+    /** CoinGecko 24h 거래량의 버킷 마지막 값 */
     @Column(precision = 30, scale = 2)
     private BigDecimal volume;
 
@@ -49,12 +67,40 @@ public class PriceHistory {
     }
 
     public enum TimeInterval {
-        MINUTE_1,
-        MINUTE_5,
-        MINUTE_15,
-        HOUR_1,
-        HOUR_4,
-        DAY_1,
-        WEEK_1
+        MINUTE_1(Duration.ofMinutes(1)),
+        MINUTE_5(Duration.ofMinutes(5)),
+        MINUTE_15(Duration.ofMinutes(15)),
+        HOUR_1(Duration.ofHours(1)),
+        HOUR_4(Duration.ofHours(4)),
+        DAY_1(Duration.ofDays(1)),
+        WEEK_1(Duration.ofDays(7));
+
+        private final Duration length;
+
+        TimeInterval(Duration length) {
+            this.length = length;
+        }
+
+        public Duration getLength() {
+            return length;
+        }
+
+        public boolean isCoarserThan(TimeInterval other) {
+            return length.compareTo(other.length) > 0;
+        }
+
+        /** 시각이 속한 버킷의 시작. 하루 이하는 자정 기준, 주봉은 월요일 00:00 기준 (date_bin origin 2000-01-03 과 같다) */
+        public LocalDateTime bucketStart(LocalDateTime time) {
+            LocalDateTime day = time.truncatedTo(ChronoUnit.DAYS);
+            if (this == WEEK_1) {
+                return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            }
+            if (this == DAY_1) {
+                return day;
+            }
+            long minutes = length.toMinutes();
+            long minuteOfDay = time.getHour() * 60L + time.getMinute();
+            return day.plusMinutes(minuteOfDay - minuteOfDay % minutes);
+        }
     }
 }
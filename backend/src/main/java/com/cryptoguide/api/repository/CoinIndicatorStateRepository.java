@@ -0,0 +1,17 @@
+package com.cryptoguide.api.repository;
+
+import com.cryptoguide.api.entity.CoinIndicatorState;
+import com.cryptoguide.api.entity.PriceHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface CoinIndicatorStateRepository extends JpaRepository<CoinIndicatorState, Long> {
+
+    List<CoinIndicatorState> findByInterval(PriceHistory.TimeInterval interval);
+
+    List<CoinIndicatorState> findByCoinIdIn(Collection<String> coinIds);
+}
@@ -0,0 +1,7 @@
+package com.cryptoguide.api.repository;
+
+/**
+ * 뉴스 id 와 값 하나 (본문, 관련 코인 심볼, 관련 테마 이름을 id 목록으로 한 번에 읽을 때 쓴다).
+ */
+public record CryptoNewsAttribute(Long newsId, String value) {
+}
@@ -9,28 +9,54 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CryptoNewsRepository extends JpaRepository<CryptoNews, Long> {
 
     Page<CryptoNews> findByStatusOrderByPublishedAtDesc(CryptoNews.NewsStatus status, Pageable pageable);
 
-    Page<CryptoNews> findAllByOrderByPublishedAtDesc(Pageable pageable);
+    /** 목록 조회는 본문과 연관을 뺀 행만 읽는다 (CryptoNewsRow) */
+    String ROW = "SELECT new com.cryptoguide.api.repository.CryptoNewsRow(" +
+            "n.id, n.title, n.summary, n.sourceUrl, n.source, n.author, n.imageUrl, n.status, n.publishedAt, n.createdAt) ";
 
-    @Query("SELECT n FROM CryptoNews n JOIN n.relatedCryptos c WHERE c.coinId = :coinId ORDER BY n.publishedAt DESC")
-    Page<CryptoNews> findByCryptocurrencyCoinId(@Param("coinId") String coinId, Pageable pageable);
+    @Query(value = ROW + "FROM CryptoNews n ORDER BY n.publishedAt DESC",
+           countQuery = "SELECT COUNT(n) FROM CryptoNews n")
+    Page<CryptoNewsRow> findAllRows(Pageable pageable);
 
-    @Query("SELECT n FROM CryptoNews n JOIN n.relatedThemes t WHERE t.slug = :themeSlug ORDER BY n.publishedAt DESC")
-    Page<CryptoNews> findByThemeSlug(@Param("themeSlug") String themeSlug, Pageable pageable);
+    @Query(ROW + "FROM CryptoNews n WHERE n.id = :id")
+    Optional<CryptoNewsRow> findRowById(@Param("id") Long id);
+
+    @Query(value = ROW + "FROM CryptoNews n JOIN n.relatedCryptos c WHERE c.coinId = :coinId ORDER BY n.publishedAt DESC",
+           countQuery = "SELECT COUNT(n) FROM CryptoNews n JOIN n.relatedCryptos c WHERE c.coinId = :coinId")
+    Page<CryptoNewsRow> findRowsByCoinId(@Param("coinId") String coinId, Pageable pageable);
+
+    @Query(value = ROW + "FROM CryptoNews n JOIN n.relatedThemes t WHERE t.slug = :themeSlug ORDER BY n.publishedAt DESC",
+           countQuery = "SELECT COUNT(n) FROM CryptoNews n JOIN n.relatedThemes t WHERE t.slug = :themeSlug")
+    Page<CryptoNewsRow> findRowsByThemeSlug(@Param("themeSlug") String themeSlug, Pageable pageable);
 
     List<CryptoNews> findByStatusOrderByCreatedAtAsc(CryptoNews.NewsStatus status);
 
-    @Query("SELECT n FROM CryptoNews n WHERE n.publishedAt >= :since ORDER BY n.publishedAt DESC")
-    List<CryptoNews> findRecentNews(@Param("since") LocalDateTime since);
+    @Query(ROW + "FROM CryptoNews n WHERE n.publishedAt >= :since ORDER BY n.publishedAt DESC")
+    List<CryptoNewsRow> findRecentRows(@Param("since") LocalDateTime since);
 
     boolean existsBySourceUrl(String sourceUrl);
 
-    @Query("SELECT n FROM CryptoNews n WHERE n.title LIKE %:keyword% OR n.content LIKE %:keyword% ORDER BY n.publishedAt DESC")
-    Page<CryptoNews> searchByKeyword(@Param("keyword") String keyword, Pageable pageable);
+    @Query(value = ROW + "FROM CryptoNews n WHERE n.title LIKE %:keyword% OR n.content LIKE %:keyword% ORDER BY n.publishedAt DESC",
+           countQuery = "SELECT COUNT(n) FROM CryptoNews n WHERE n.title LIKE %:keyword% OR n.content LIKE %:keyword%")
+    Page<CryptoNewsRow> searchRows(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query("SELECT new com.cryptoguide.api.repository.CryptoNewsAttribute(n.id, n.content) " +
+           "FROM CryptoNews n WHERE n.id IN :ids")
+    List<CryptoNewsAttribute> findContents(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.cryptoguide.api.repository.CryptoNewsAttribute(n.id, c.symbol) " +
+           "FROM CryptoNews n JOIN n.relatedCryptos c WHERE n.id IN :ids")
+    List<CryptoNewsAttribute> findRelatedCryptoSymbols(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.cryptoguide.api.repository.CryptoNewsAttribute(n.id, t.name) " +
+           "FROM CryptoNews n JOIN n.relatedThemes t WHERE n.id IN :ids")
+    List<CryptoNewsAttribute> findRelatedThemeNames(@Param("ids") Collection<Long> ids);
 }
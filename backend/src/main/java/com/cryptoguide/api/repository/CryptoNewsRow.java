@@ -0,0 +1,22 @@
+package com.cryptoguide.api.repository;
+
+import com.cryptoguide.api.entity.CryptoNews;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록용 뉴스 행 (CryptoNewsRepository 행 쿼리 프로젝션).
+ * 본문(content)과 관련 코인·테마는 빼고, 필요할 때 뉴스 id 로 묶어 따로 읽는다.
+ */
+public record CryptoNewsRow(
+        Long id,
+        String title,
+        String summary,
+        String sourceUrl,
+        String source,
+        String author,
+        String imageUrl,
+        CryptoNews.NewsStatus status,
+        LocalDateTime publishedAt,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,318 @@
+package com.cryptoguide.api.repository;
+
+import com.cryptoguide.api.entity.PriceHistory;
+import com.cryptoguide.api.service.market.pipeline.model.CoinMarketRecord;
+import com.cryptoguide.api.service.market.pipeline.model.CoinMarketState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시세 수집용 JDBC 배치 쓰기 (PostgreSQL 전용).
+ * IDENTITY 키 때문에 Hibernate 가 배치하지 못하는 insert/update 를 직접 묶어서 보낸다.
+ * 컬럼명은 Spring 기본 naming 전략(camelCase → snake_case, 숫자 앞에는 '_' 없음)을 따른다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CryptocurrencyBulkRepository {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO cryptocurrencies (
+                coin_id, symbol, name, image_url,
+                current_price, market_cap, market_cap_rank, fully_diluted_valuation, total_volume, high24h, low24h,
+                price_change24h, price_change_percentage24h, price_change_percentage7d, price_change_percentage30d,
+                circulating_supply, total_supply, max_supply,
+                ath, ath_date, ath_change_percentage, atl, atl_date, atl_change_percentage,
+                last_updated, created_at
+            ) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (coin_id) DO UPDATE SET
+                symbol = EXCLUDED.symbol,
+                name = EXCLUDED.name,
+                image_url = EXCLUDED.image_url,
+                current_price = EXCLUDED.current_price,
+                market_cap = EXCLUDED.market_cap,
+                market_cap_rank = EXCLUDED.market_cap_rank,
+                fully_diluted_valuation = EXCLUDED.fully_diluted_valuation,
+                total_volume = EXCLUDED.total_volume,
+                high24h = EXCLUDED.high24h,
+                low24h = EXCLUDED.low24h,
+                price_change24h = EXCLUDED.price_change24h,
+                price_change_percentage24h = EXCLUDED.price_change_percentage24h,
+                price_change_percentage7d = EXCLUDED.price_change_percentage7d,
+                price_change_percentage30d = EXCLUDED.price_change_percentage30d,
+                circulating_supply = EXCLUDED.circulating_supply,
+                total_supply = EXCLUDED.total_supply,
+                max_supply = EXCLUDED.max_supply,
+                ath = EXCLUDED.ath,
+                ath_date = EXCLUDED.ath_date,
+                ath_change_percentage = EXCLUDED.ath_change_percentage,
+                atl = EXCLUDED.atl,
+                atl_date = EXCLUDED.atl_date,
+                atl_change_percentage = EXCLUDED.atl_change_percentage,
+                last_updated = EXCLUDED.last_updated
+            """;
+
+    private static final String SELECT_STATE_SQL = """
+            SELECT id, coin_id, symbol, name, image_url,
+                   current_price, market_cap, market_cap_rank, fully_diluted_valuation, total_volume, high24h, low24h,
+                   price_change24h, price_change_percentage24h, price_change_percentage7d, price_change_percentage30d,
+                   circulating_supply, total_supply, max_supply,
+                   ath, ath_date, ath_change_percentage, atl, atl_date, atl_change_percentage
+            FROM cryptocurrencies
+            WHERE coin_id IN (:coinIds)
+            """;
+
+    private static final String INSERT_HISTORY_SQL = """
+            INSERT INTO price_history (cryptocurrency_id, open, high, low, price, market_cap, volume, "interval", "timestamp", created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    /** 새 점 하나를 상위 간격 캔들에 접는다. 시가는 처음 들어온 값이 남고 고가/저가는 누적, 종가는 덮어쓴다. */
+    private static final String FOLD_ROLLUP_SQL = """
+            INSERT INTO price_history (cryptocurrency_id, open, high, low, price, market_cap, volume, "interval", "timestamp", created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (cryptocurrency_id, "interval", "timestamp") DO UPDATE SET
+                high = GREATEST(price_history.high, EXCLUDED.high),
+                low = LEAST(price_history.low, EXCLUDED.low),
+                price = EXCLUDED.price,
+                market_cap = EXCLUDED.market_cap,
+                volume = EXCLUDED.volume
+            """;
+
+    /**
+     * 원본 간격 점들로 상위 간격 캔들을 다시 만든다. date_bin origin 을 월요일(2000-01-03)로 두어
+     * 주봉도 TimeInterval.bucketStart 와 같은 경계를 쓴다. high/low 가 없는 예전 행은 price 로 대신한다.
+     * %s 자리에는 코인을 제한할 때 COIN_FILTER_SQL 이 들어간다.
+     */
+    private static final String REBUILD_ROLLUP_SQL = """
+            INSERT INTO price_history (cryptocurrency_id, open, high, low, price, market_cap, volume, "interval", "timestamp", created_at)
+            SELECT cryptocurrency_id,
+                   (array_agg(COALESCE(open, price) ORDER BY "timestamp"))[1],
+                   MAX(COALESCE(high, price)),
+                   MIN(COALESCE(low, price)),
+                   (array_agg(price ORDER BY "timestamp" DESC))[1],
+                   (array_agg(market_cap ORDER BY "timestamp" DESC))[1],
+                   (array_agg(volume ORDER BY "timestamp" DESC))[1],
+                   :target, bucket, :now
+            FROM (
+                SELECT p.*, date_bin(CAST(:step AS interval), p."timestamp", TIMESTAMP '2000-01-03 00:00:00') AS bucket
+                FROM price_history p
+                WHERE p."interval" = :source AND p."timestamp" >= :from AND p."timestamp" < :to%s
+            ) src
+            GROUP BY cryptocurrency_id, bucket
+            ON CONFLICT (cryptocurrency_id, "interval", "timestamp") DO UPDATE SET
+                open = EXCLUDED.open,
+                high = EXCLUDED.high,
+                low = EXCLUDED.low,
+                price = EXCLUDED.price,
+                market_cap = EXCLUDED.market_cap,
+                volume = EXCLUDED.volume
+            """;
+
+    private static final String COIN_FILTER_SQL =
+            " AND p.cryptocurrency_id IN (SELECT id FROM cryptocurrencies WHERE coin_id IN (:coinIds))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /** 변경 감지용으로 해당 코인들의 현재 시세 컬럼을 한 번에 읽는다. */
+    public Map<String, CoinMarketState> findMarketStateByCoinIds(Collection<String> coinIds) {
+        Map<String, CoinMarketState> states = new HashMap<>();
+        if (coinIds.isEmpty()) {
+            return states;
+        }
+        namedParameterJdbcTemplate.query(SELECT_STATE_SQL,
+                new MapSqlParameterSource("coinIds", coinIds),
+                rs -> {
+                    CoinMarketRecord values = CoinMarketRecord.builder()
+                            .coinId(rs.getString("coin_id"))
+                            .symbol(rs.getString("symbol"))
+                            .name(rs.getString("name"))
+                            .imageUrl(rs.getString("image_url"))
+                            .currentPrice(rs.getBigDecimal("current_price"))
+                            .marketCap(rs.getBigDecimal("market_cap"))
+                            .marketCapRank(getInteger(rs, "market_cap_rank"))
+                            .fullyDilutedValuation(rs.getBigDecimal("fully_diluted_valuation"))
+                            .totalVolume(rs.getBigDecimal("total_volume"))
+                            .high24h(rs.getBigDecimal("high24h"))
+                            .low24h(rs.getBigDecimal("low24h"))
+                            .priceChange24h(rs.getBigDecimal("price_change24h"))
+                            .priceChangePercentage24h(rs.getBigDecimal("price_change_percentage24h"))
+                            .priceChangePercentage7d(rs.getBigDecimal("price_change_percentage7d"))
+                            .priceChangePercentage30d(rs.getBigDecimal("price_change_percentage30d"))
+                            .circulatingSupply(rs.getBigDecimal("circulating_supply"))
+                            .totalSupply(rs.getBigDecimal("total_supply"))
+                            .maxSupply(rs.getBigDecimal("max_supply"))
+                            .ath(rs.getBigDecimal("ath"))
+                            .athDate(getDateTime(rs, "ath_date"))
+                            .athChangePercentage(rs.getBigDecimal("ath_change_percentage"))
+                            .atl(rs.getBigDecimal("atl"))
+                            .atlDate(getDateTime(rs, "atl_date"))
+                            .atlChangePercentage(rs.getBigDecimal("atl_change_percentage"))
+                            .build();
+                    states.put(values.coinId(), new CoinMarketState(rs.getLong("id"), values));
+                });
+        return states;
+    }
+
+    public Map<String, Long> findIdsByCoinIds(Collection<String> coinIds) {
+        Map<String, Long> ids = new HashMap<>();
+        if (coinIds.isEmpty()) {
+            return ids;
+        }
+        namedParameterJdbcTemplate.query(
+                "SELECT coin_id, id FROM cryptocurrencies WHERE coin_id IN (:coinIds)",
+                new MapSqlParameterSource("coinIds", coinIds),
+                rs -> {
+                    ids.put(rs.getString(1), rs.getLong(2));
+                });
+        return ids;
+    }
+
+    public void upsertMarketData(List<CoinMarketRecord> records, LocalDateTime updatedAt, int batchSize) {
+        Timestamp now = Timestamp.valueOf(updatedAt);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, records, batchSize, (ps, r) -> {
+            int i = 1;
+            ps.setString(i++, r.coinId());
+            ps.setString(i++, r.symbol());
+            ps.setString(i++, r.name());
+            ps.setString(i++, r.imageUrl());
+            setDecimal(ps, i++, r.currentPrice());
+            setDecimal(ps, i++, r.marketCap());
+            setInteger(ps, i++, r.marketCapRank());
+            setDecimal(ps, i++, r.fullyDilutedValuation());
+            setDecimal(ps, i++, r.totalVolume());
+            setDecimal(ps, i++, r.high24h());
+            setDecimal(ps, i++, r.low24h());
+            setDecimal(ps, i++, r.priceChange24h());
+            setDecimal(ps, i++, r.priceChangePercentage24h());
+            setDecimal(ps, i++, r.priceChangePercentage7d());
+            setDecimal(ps, i++, r.priceChangePercentage30d());
+            setDecimal(ps, i++, r.circulatingSupply());
+            setDecimal(ps, i++, r.totalSupply());
+            setDecimal(ps, i++, r.maxSupply());
+            setDecimal(ps, i++, r.ath());
+            setTimestamp(ps, i++, r.athDate());
+            setDecimal(ps, i++, r.athChangePercentage());
+            setDecimal(ps, i++, r.atl());
+            setTimestamp(ps, i++, r.atlDate());
+            setDecimal(ps, i++, r.atlChangePercentage());
+            ps.setTimestamp(i++, now);
+            ps.setTimestamp(i, now);
+        });
+    }
+
+    /**
+     * 시점 가격을 append 한다. 드라이버의 reWriteBatchedInserts 옵션과 함께 쓰면 multi-row INSERT 로 합쳐진다.
+     */
+    public void insertPriceHistory(List<CoinMarketRecord> records, Map<String, Long> idsByCoinId,
+                                   PriceHistory.TimeInterval interval, LocalDateTime timestamp, int batchSize) {
+        Timestamp ts = Timestamp.valueOf(timestamp);
+        jdbcTemplate.batchUpdate(INSERT_HISTORY_SQL, records, batchSize,
+                (ps, r) -> setHistoryRow(ps, idsByCoinId.get(r.coinId()), r, interval, ts, ts));
+    }
+
+    /**
+     * 같은 시점 가격을 상위 간격 캔들 각각에 접는다. 행 수는 코인 수 × 간격 수로, 기존 이력을 다시 읽지 않는다.
+     */
+    public void foldRollups(List<CoinMarketRecord> records, Map<String, Long> idsByCoinId,
+                            List<PriceHistory.TimeInterval> targets, LocalDateTime pointTime, int batchSize) {
+        record RollupRow(CoinMarketRecord record, PriceHistory.TimeInterval interval) {
+        }
+        List<RollupRow> rows = new ArrayList<>(records.size() * targets.size());
+        for (PriceHistory.TimeInterval target : targets) {
+            for (CoinMarketRecord record : records) {
+                rows.add(new RollupRow(record, target));
+            }
+        }
+        Timestamp createdAt = Timestamp.valueOf(pointTime);
+        jdbcTemplate.batchUpdate(FOLD_ROLLUP_SQL, rows, batchSize, (ps, row) -> setHistoryRow(ps,
+                idsByCoinId.get(row.record().coinId()), row.record(), row.interval(),
+                Timestamp.valueOf(row.interval().bucketStart(pointTime)), createdAt));
+    }
+
+    /**
+     * [from, to) 구간의 source 점으로 target 캔들을 다시 계산해 덮어쓴다. 반영된 캔들 수를 돌려준다.
+     * coinIds 가 null 이면 전체 코인, 아니면 해당 코인만 다시 만든다.
+     */
+    public int rebuildRollups(PriceHistory.TimeInterval source, PriceHistory.TimeInterval target,
+                              LocalDateTime from, LocalDateTime to, Collection<String> coinIds) {
+        if (coinIds != null && coinIds.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("source", source.name())
+                .addValue("target", target.name())
+                .addValue("step", target.getLength().toMinutes() + " minutes")
+                .addValue("from", Timestamp.valueOf(from))
+                .addValue("to", Timestamp.valueOf(to))
+                .addValue("now", Timestamp.valueOf(LocalDateTime.now()))
+                .addValue("coinIds", coinIds);
+        String sql = REBUILD_ROLLUP_SQL.formatted(coinIds != null ? COIN_FILTER_SQL : "");
+        return namedParameterJdbcTemplate.update(sql, params);
+    }
+
+    private static void setHistoryRow(PreparedStatement ps, Long cryptocurrencyId, CoinMarketRecord r,
+                                      PriceHistory.TimeInterval interval, Timestamp timestamp, Timestamp createdAt)
+            throws SQLException {
+        ps.setLong(1, cryptocurrencyId);
+        ps.setBigDecimal(2, r.currentPrice());
+        ps.setBigDecimal(3, r.currentPrice());
+        ps.setBigDecimal(4, r.currentPrice());
+        ps.setBigDecimal(5, r.currentPrice());
+        setDecimal(ps, 6, r.marketCap());
+        setDecimal(ps, 7, r.totalVolume());
+        ps.setString(8, interval.name());
+        ps.setTimestamp(9, timestamp);
+        ps.setTimestamp(10, createdAt);
+    }
+
+    private static Integer getInteger(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static LocalDateTime getDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value == null ? null : value.toLocalDateTime();
+    }
+
+    private static void setDecimal(PreparedStatement ps, int index, BigDecimal value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.NUMERIC);
+        } else {
+            ps.setBigDecimal(index, value);
+        }
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, LocalDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP);
+        } else {
+            ps.setTimestamp(index, Timestamp.valueOf(value));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.cryptoguide.api.repository;
+
+import com.cryptoguide.api.entity.Theme;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 목록용 코인 행 (CryptocurrencyRepository#findAllListRows 프로젝션).
+ * 설명·링크 같은 프로젝트 정보는 빼고, 테마는 같은 쿼리의 조인으로 함께 읽는다.
+ */
+public record CryptocurrencyListRow(
+        Long id,
+        String coinId,
+        String symbol,
+        String name,
+        String imageUrl,
+        BigDecimal currentPrice,
+        BigDecimal marketCap,
+        Integer marketCapRank,
+        BigDecimal fullyDilutedValuation,
+        BigDecimal totalVolume,
+        BigDecimal high24h,
+        BigDecimal low24h,
+        BigDecimal priceChange24h,
+        BigDecimal priceChangePercentage24h,
+        BigDecimal priceChangePercentage7d,
+        BigDecimal priceChangePercentage30d,
+        BigDecimal circulatingSupply,
+        BigDecimal totalSupply,
+        BigDecimal maxSupply,
+        BigDecimal ath,
+        LocalDateTime athDate,
+        BigDecimal athChangePercentage,
+        BigDecimal atl,
+        LocalDateTime atlDate,
+        BigDecimal atlChangePercentage,
+        Theme themeLarge,
+        Theme themeMedium,
+        Theme themeSmall,
+        LocalDateTime lastUpdated) {
+}
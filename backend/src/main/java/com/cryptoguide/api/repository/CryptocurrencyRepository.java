@@ -1,14 +1,15 @@
 package com.cryptoguide.api.repository;
 
 import com.cryptoguide.api.entity.Cryptocurrency;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,28 +20,42 @@ public interface CryptocurrencyRepository extends JpaRepository<Cryptocurrency,
 
     Optional<Cryptocurrency> findBySymbol(String symbol);
 
-    List<Cryptocurrency> findByNameContainingIgnoreCaseOrSymbolContainingIgnoreCase(String name, String symbol);
-
-    Page<Cryptocurrency> findAllByOrderByMarketCapRankAsc(Pageable pageable);
-
+    /** 코인 상세 (테마까지 한 번에) */
     @EntityGraph(attributePaths = {"themeLarge", "themeMedium", "themeSmall"})
-    @Query("SELECT c FROM Cryptocurrency c WHERE c.themeLarge.slug = :themeSlug OR c.themeMedium.slug = :themeSlug OR c.themeSmall.slug = :themeSlug ORDER BY c.marketCapRank ASC")
-    Page<Cryptocurrency> findByThemeSlug(@Param("themeSlug") String themeSlug, Pageable pageable);
+    @Query("SELECT c FROM Cryptocurrency c WHERE c.coinId = :coinId")
+    Optional<Cryptocurrency> findDetailByCoinId(@Param("coinId") String coinId);
 
     @Query("SELECT COUNT(c) FROM Cryptocurrency c WHERE c.themeLarge.id = :themeId OR c.themeMedium.id = :themeId OR c.themeSmall.id = :themeId")
     long countByThemeLargeIdOrThemeMediumIdOrThemeSmallId(@Param("themeId") Long themeId);
 
-    @Query("SELECT c FROM Cryptocurrency c ORDER BY c.priceChangePercentage24h DESC")
-    List<Cryptocurrency> findTopGainers(Pageable pageable);
-
-    @Query("SELECT c FROM Cryptocurrency c ORDER BY c.priceChangePercentage24h ASC")
-    List<Cryptocurrency> findTopLosers(Pageable pageable);
-
-    @Query("SELECT c FROM Cryptocurrency c ORDER BY c.totalVolume DESC")
-    List<Cryptocurrency> findTopByVolume(Pageable pageable);
+    /** 시세 스냅샷용 전체 목록. 프로젝트 정보 없이 테마만 조인해 한 쿼리로 읽는다. */
+    @Query("SELECT new com.cryptoguide.api.repository.CryptocurrencyListRow(" +
+           "c.id, c.coinId, c.symbol, c.name, c.imageUrl, c.currentPrice, c.marketCap, c.marketCapRank, " +
+           "c.fullyDilutedValuation, c.totalVolume, c.high24h, c.low24h, c.priceChange24h, " +
+           "c.priceChangePercentage24h, c.priceChangePercentage7d, c.priceChangePercentage30d, " +
+           "c.circulatingSupply, c.totalSupply, c.maxSupply, c.ath, c.athDate, c.athChangePercentage, " +
+           "c.atl, c.atlDate, c.atlChangePercentage, tl, tm, ts, c.lastUpdated) " +
+           "FROM Cryptocurrency c LEFT JOIN c.themeLarge tl LEFT JOIN c.themeMedium tm LEFT JOIN c.themeSmall ts")
+    List<CryptocurrencyListRow> findAllListRows();
 
     @Query("SELECT c FROM Cryptocurrency c WHERE c.coinId IN :coinIds")
     List<Cryptocurrency> findByCoinIds(@Param("coinIds") List<String> coinIds);
 
+    /** 상세 정보가 없거나 오래된 코인을 시총 순위 순으로 고른다. retryBefore 이후에 시도한 코인(최근 실패)은 뺀다. */
+    @Query("SELECT c.coinId AS coinId, c.marketCapRank AS marketCapRank, c.detailsUpdatedAt AS detailsUpdatedAt " +
+           "FROM Cryptocurrency c WHERE (c.detailsUpdatedAt IS NULL OR c.detailsUpdatedAt < :staleBefore) " +
+           "AND (c.detailsAttemptedAt IS NULL OR c.detailsAttemptedAt < :retryBefore) " +
+           "ORDER BY c.marketCapRank ASC")
+    List<EnrichmentCandidate> findEnrichmentCandidates(@Param("staleBefore") LocalDateTime staleBefore,
+                                                       @Param("retryBefore") LocalDateTime retryBefore,
+                                                       Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Cryptocurrency c SET c.detailsAttemptedAt = :at WHERE c.coinId = :coinId")
+    int markDetailsAttempted(@Param("coinId") String coinId, @Param("at") LocalDateTime at);
+
     boolean existsByCoinId(String coinId);
+
+    @Query("SELECT c.coinId FROM Cryptocurrency c ORDER BY c.marketCapRank ASC NULLS LAST")
+    List<String> findAllCoinIdsByRank();
 }
@@ -0,0 +1,15 @@
+package com.cryptoguide.api.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상세 정보 보강 대상 코인 (CryptocurrencyRepository#findEnrichmentCandidates 프로젝션).
+ */
+public interface EnrichmentCandidate {
+
+    String getCoinId();
+
+    Integer getMarketCapRank();
+
+    LocalDateTime getDetailsUpdatedAt();
+}
@@ -0,0 +1,32 @@
+package com.cryptoguide.api.repository;
+
+import com.cryptoguide.api.entity.MarketOverviewSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MarketOverviewSnapshotRepository extends JpaRepository<MarketOverviewSnapshot, Long> {
+
+    List<MarketOverviewSnapshot> findBySnapshotTimeGreaterThanEqualAndSnapshotTimeLessThanOrderBySnapshotTimeAsc(
+            LocalDateTime from, LocalDateTime to);
+
+    /** at 시점 또는 그 직전의 요약 */
+    Optional<MarketOverviewSnapshot> findFirstBySnapshotTimeLessThanEqualOrderBySnapshotTimeDesc(LocalDateTime at);
+
+    boolean existsBySnapshotTime(LocalDateTime snapshotTime);
+
+    /** 마지막으로 저장된 요약 시각 */
+    @Query("SELECT MAX(s.snapshotTime) FROM MarketOverviewSnapshot s")
+    Optional<LocalDateTime> findLatestSnapshotTime();
+
+    @Modifying
+    @Query("DELETE FROM MarketOverviewSnapshot s WHERE s.snapshotTime < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,32 @@
+package com.cryptoguide.api.repository;
+
+import com.cryptoguide.api.entity.PriceBackfillCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PriceBackfillCheckpointRepository extends JpaRepository<PriceBackfillCheckpoint, Long> {
+
+    Optional<PriceBackfillCheckpoint> findByCoinId(String coinId);
+
+    List<PriceBackfillCheckpoint> findByCoinIdIn(Collection<String> coinIds);
+
+    List<PriceBackfillCheckpoint> findByStatusInOrderByIdAsc(Collection<PriceBackfillCheckpoint.Status> statuses);
+
+    long countByStatus(PriceBackfillCheckpoint.Status status);
+
+    @Query("SELECT COALESCE(SUM(c.pointsLoaded), 0) FROM PriceBackfillCheckpoint c")
+    long sumPointsLoaded();
+
+    /** 비정상 종료로 RUNNING 에 남은 코인을 다시 대기로 돌린다. */
+    @Modifying
+    @Query("UPDATE PriceBackfillCheckpoint c SET c.status = :to WHERE c.status = :from")
+    int updateStatus(@Param("from") PriceBackfillCheckpoint.Status from, @Param("to") PriceBackfillCheckpoint.Status to);
+}
@@ -0,0 +1,156 @@
+package com.cryptoguide.api.repository;
+
+import com.cryptoguide.api.entity.PriceHistory;
+import com.cryptoguide.api.service.market.backfill.model.HistoricalPoint;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 과거 시세 백필 적재. 이미 있는 (코인, 간격, 시각) 행은 건드리지 않으므로 같은 구간을 다시 받아도 결과가 같다.
+ * PostgreSQL 은 임시 스테이징 테이블에 COPY 로 밀어 넣은 뒤 ON CONFLICT DO NOTHING 으로 옮기고,
+ * dev(H2) 는 기존 시각을 조회해 빠진 점만 배치 insert 한다. 둘 다 호출하는 쪽 트랜잭션 안에서 실행된다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PriceBackfillRepository {
+
+    private static final String CREATE_STAGE_SQL = """
+            CREATE TEMP TABLE IF NOT EXISTS price_backfill_stage (
+                cryptocurrency_id BIGINT,
+                price NUMERIC(30,10),
+                market_cap NUMERIC(30,2),
+                volume NUMERIC(30,2),
+                "interval" VARCHAR(255),
+                "timestamp" TIMESTAMP
+            ) ON COMMIT DELETE ROWS
+            """;
+
+    private static final String COPY_STAGE_SQL =
+            "COPY price_backfill_stage (cryptocurrency_id, price, market_cap, volume, \"interval\", \"timestamp\") FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MOVE_STAGE_SQL = """
+            INSERT INTO price_history (cryptocurrency_id, open, high, low, price, market_cap, volume, "interval", "timestamp", created_at)
+            SELECT cryptocurrency_id, price, price, price, price, market_cap, volume, "interval", "timestamp", ?
+            FROM price_backfill_stage
+            ON CONFLICT (cryptocurrency_id, "interval", "timestamp") DO NOTHING
+            """;
+
+    private static final String EXISTING_TIMESTAMPS_SQL = """
+            SELECT "timestamp" FROM price_history
+            WHERE cryptocurrency_id = ? AND "interval" = ? AND "timestamp" >= ? AND "timestamp" <= ?
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO price_history (cryptocurrency_id, open, high, low, price, market_cap, volume, "interval", "timestamp", created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** COPY 로 적재하고 새로 들어간 행 수를 돌려준다. (PostgreSQL 전용) */
+    public int copyLoad(long cryptocurrencyId, PriceHistory.TimeInterval interval, List<HistoricalPoint> points) {
+        if (points.isEmpty()) {
+            return 0;
+        }
+        StringBuilder csv = new StringBuilder(points.size() * 64);
+        for (HistoricalPoint point : points) {
+            csv.append(cryptocurrencyId).append(',')
+                    .append(point.price()).append(',');
+            appendNullable(csv, point.marketCap());
+            csv.append(',');
+            appendNullable(csv, point.volume());
+            csv.append(',')
+                    .append(interval.name()).append(',')
+                    .append(point.timestamp()).append('\n');
+        }
+
+        jdbcTemplate.execute(CREATE_STAGE_SQL);
+        DataSource dataSource = jdbcTemplate.getDataSource();
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            copy.copyIn(COPY_STAGE_SQL, new StringReader(csv.toString()));
+        } catch (SQLException e) {
+            throw new IllegalStateException("COPY into price_backfill_stage failed", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+        // 스테이징 행은 커밋(또는 롤백) 때 비워진다
+        return jdbcTemplate.update(MOVE_STAGE_SQL, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /** 이미 있는 시각을 빼고 배치 insert 한다. (H2 등 COPY 가 없는 DB 용) */
+    public int batchLoad(long cryptocurrencyId, PriceHistory.TimeInterval interval, List<HistoricalPoint> points) {
+        if (points.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime min = points.get(0).timestamp();
+        LocalDateTime max = min;
+        for (HistoricalPoint point : points) {
+            min = point.timestamp().isBefore(min) ? point.timestamp() : min;
+            max = point.timestamp().isAfter(max) ? point.timestamp() : max;
+        }
+        Set<LocalDateTime> existing = new HashSet<>(jdbcTemplate.query(EXISTING_TIMESTAMPS_SQL,
+                (rs, rowNum) -> rs.getTimestamp(1).toLocalDateTime(),
+                cryptocurrencyId, interval.name(), Timestamp.valueOf(min), Timestamp.valueOf(max)));
+        List<HistoricalPoint> missing = points.stream()
+                .filter(p -> !existing.contains(p.timestamp()))
+                .toList();
+
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, missing, 500, (ps, point) -> {
+            ps.setLong(1, cryptocurrencyId);
+            for (int i = 2; i <= 5; i++) {
+                ps.setDouble(i, point.price());
+            }
+            setNullable(ps, 6, point.marketCap());
+            setNullable(ps, 7, point.volume());
+            ps.setString(8, interval.name());
+            ps.setTimestamp(9, Timestamp.valueOf(point.timestamp()));
+            ps.setTimestamp(10, createdAt);
+        });
+        return missing.size();
+    }
+
+    /** 코인의 interval 행 중 가장 이른 시각. 없으면 null. */
+    public LocalDateTime findEarliestTimestamp(long cryptocurrencyId, PriceHistory.TimeInterval interval) {
+        Timestamp earliest = jdbcTemplate.queryForObject(
+                "SELECT MIN(\"timestamp\") FROM price_history WHERE cryptocurrency_id = ? AND \"interval\" = ?",
+                Timestamp.class, cryptocurrencyId, interval.name());
+        return earliest != null ? earliest.toLocalDateTime() : null;
+    }
+
+    private static void appendNullable(StringBuilder csv, double value) {
+        if (!Double.isNaN(value)) {
+            csv.append(value);
+        }
+    }
+
+    private static void setNullable(PreparedStatement ps, int index, double value) throws SQLException {
+        if (Double.isNaN(value)) {
+            ps.setNull(index, Types.NUMERIC);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.cryptoguide.api.repository;
+
+import com.cryptoguide.api.entity.PriceHistory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * price_history 정리용 JDBC 쿼리.
+ * 코인별 파생 delete 대신 (interval, timestamp) 인덱스로 만료 행을 찾아 청크 단위로 지운다.
+ * 청크 delete 는 PostgreSQL 과 H2 모두 같은 SQL 을 쓰고, 파티션 관리 쿼리는 PostgreSQL 전용이다.
+ * 파티션 이름은 PriceHistoryPartitionManager 가 만든 것만 넘어오므로 DDL 에 그대로 이어 붙인다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PriceHistoryMaintenanceRepository {
+
+    // 바깥 조건은 파티션 테이블에서 프루닝이 되도록 한 번 더 건다
+    private static final String DELETE_EXPIRED_CHUNK_SQL = """
+            DELETE FROM %1$s
+            WHERE "interval" = ? AND "timestamp" < ?
+              AND id IN (
+                SELECT id FROM %1$s
+                WHERE "interval" = ? AND "timestamp" < ?
+                LIMIT ?
+            )
+            """;
+
+    private static final String CHILD_PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            JOIN pg_class p ON p.oid = i.inhparent
+            WHERE p.relname = ?
+            ORDER BY c.relname
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** cutoff 이전 interval 행을 최대 limit 개 지우고 지운 행 수를 돌려준다. */
+    public int deleteExpiredChunk(PriceHistory.TimeInterval interval, LocalDateTime cutoff, int limit) {
+        return deleteExpiredChunk("price_history", interval, cutoff, limit);
+    }
+
+    /** table (price_history 또는 그 파티션) 에서 cutoff 이전 interval 행을 최대 limit 개 지운다. */
+    public int deleteExpiredChunk(String table, PriceHistory.TimeInterval interval, LocalDateTime cutoff, int limit) {
+        Timestamp before = Timestamp.valueOf(cutoff);
+        return jdbcTemplate.update(DELETE_EXPIRED_CHUNK_SQL.formatted(table),
+                interval.name(), before, interval.name(), before, limit);
+    }
+
+    public boolean isPartitioned() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table t JOIN pg_class c ON c.oid = t.partrelid WHERE c.relname = 'price_history')",
+                Boolean.class);
+        return Boolean.TRUE.equals(partitioned);
+    }
+
+    public List<String> findChildPartitions(String parent) {
+        return jdbcTemplate.queryForList(CHILD_PARTITIONS_SQL, String.class, parent);
+    }
+
+    public void createRangePartition(String parent, String name, LocalDateTime from, LocalDateTime to) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + parent
+                + " FOR VALUES FROM ('" + Timestamp.valueOf(from) + "') TO ('" + Timestamp.valueOf(to) + "')");
+    }
+
+    /** 통계 기준 행 수 추정치. ANALYZE 전이면 0 이다. */
+    public long estimateRows(String table) {
+        Long rows = jdbcTemplate.queryForObject(
+                "SELECT GREATEST(reltuples, 0)::bigint FROM pg_class WHERE relname = ?", Long.class, table);
+        return rows != null ? rows : 0;
+    }
+
+    public boolean hasRows(String table) {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + table + ")", Boolean.class);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    public void dropTable(String table) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+    }
+}
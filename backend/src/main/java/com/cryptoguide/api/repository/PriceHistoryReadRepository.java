@@ -0,0 +1,107 @@
+package com.cryptoguide.api.repository;
+
+import com.cryptoguide.api.entity.PriceHistory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 차트용 price_history 읽기. JPA 엔티티를 만들지 않고 결과를 스트리밍으로 넘긴다.
+ * 행은 (coin_id, timestamp) 순으로 온다.
+ * PostgreSQL 드라이버는 autocommit 이면 fetch size 를 무시하고 결과를 모두 올리므로, 읽기 전용 트랜잭션 안에서 커서로 읽는다.
+ */
+@Repository
+public class PriceHistoryReadRepository {
+
+    private static final String SELECT_RANGE_SQL = """
+            SELECT c.coin_id, p."timestamp", p.open, p.high, p.low, p.price, p.market_cap, p.volume
+            FROM price_history p
+            JOIN cryptocurrencies c ON c.id = p.cryptocurrency_id
+            WHERE p."interval" = ? AND p."timestamp" >= ? AND p."timestamp" < ?
+            """;
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PriceHistoryReadRepository(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /** [from, to) 구간의 한 코인 interval 행 */
+    public void streamRange(PriceHistory.TimeInterval interval, String coinId,
+                            LocalDateTime from, LocalDateTime to, PricePointHandler handler) {
+        stream(interval, List.of(coinId), from, to, handler);
+    }
+
+    /** [from, to) 구간의 여러 코인 행을 한 쿼리로 읽는다. */
+    public void streamRange(PriceHistory.TimeInterval interval, Collection<String> coinIds,
+                            LocalDateTime from, LocalDateTime to, PricePointHandler handler) {
+        stream(interval, coinIds, from, to, handler);
+    }
+
+    /** [from, to) 구간의 모든 코인 행 */
+    public void streamAll(PriceHistory.TimeInterval interval, LocalDateTime from, LocalDateTime to,
+                          PricePointHandler handler) {
+        stream(interval, null, from, to, handler);
+    }
+
+    private void stream(PriceHistory.TimeInterval interval, Collection<String> coinIds,
+                        LocalDateTime from, LocalDateTime to, PricePointHandler handler) {
+        StringBuilder sql = new StringBuilder(SELECT_RANGE_SQL);
+        List<Object> params = new ArrayList<>(3 + (coinIds != null ? coinIds.size() : 0));
+        params.add(interval.name());
+        params.add(Timestamp.valueOf(from));
+        params.add(Timestamp.valueOf(to));
+        if (coinIds != null) {
+            sql.append("  AND c.coin_id IN (")
+                    .append(String.join(", ", Collections.nCopies(coinIds.size(), "?")))
+                    .append(")\n");
+            params.addAll(coinIds);
+        }
+        sql.append("ORDER BY c.coin_id, p.\"timestamp\"");
+
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(sql.toString());
+            ps.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, rs -> {
+            double close = getDouble(rs, 6);
+            handler.accept(
+                    rs.getString(1),
+                    rs.getTimestamp(2).toLocalDateTime().toInstant(ZoneOffset.UTC).toEpochMilli(),
+                    orElse(getDouble(rs, 3), close),
+                    orElse(getDouble(rs, 4), close),
+                    orElse(getDouble(rs, 5), close),
+                    close,
+                    getDouble(rs, 7),
+                    getDouble(rs, 8));
+        }));
+    }
+
+    private static double getDouble(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? Double.NaN : value;
+    }
+
+    private static double orElse(double value, double fallback) {
+        return Double.isNaN(value) ? fallback : value;
+    }
+}
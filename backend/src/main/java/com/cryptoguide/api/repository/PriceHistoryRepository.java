@@ -1,5 +1,6 @@
 package com.cryptoguide.api.repository;
 
+import com.cryptoguide.api.entity.Cryptocurrency;
 import com.cryptoguide.api.entity.PriceHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -7,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -31,5 +33,26 @@ public interface PriceHistoryRepository extends JpaRepository<PriceHistory, Long
             @Param("to") LocalDateTime to
     );
 
-    void deleteByCryptocurrencyIdAndTimestampBefore(Long cryptocurrencyId, LocalDateTime before);
+    List<PriceHistory> findByIntervalAndTimestampAndCryptocurrencyIn(
+            PriceHistory.TimeInterval interval,
+            LocalDateTime timestamp,
+            Collection<Cryptocurrency> cryptocurrencies
+    );
+
+    @Query("SELECT p FROM PriceHistory p JOIN FETCH p.cryptocurrency WHERE p.interval = :interval " +
+           "AND p.timestamp >= :from AND p.timestamp < :to ORDER BY p.timestamp ASC")
+    List<PriceHistory> findByIntervalInRange(
+            @Param("interval") PriceHistory.TimeInterval interval,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to
+    );
+
+    @Query("SELECT p FROM PriceHistory p JOIN FETCH p.cryptocurrency c WHERE p.interval = :interval " +
+           "AND p.timestamp >= :from AND p.timestamp < :to AND c.coinId IN :coinIds ORDER BY p.timestamp ASC")
+    List<PriceHistory> findByIntervalInRangeForCoins(
+            @Param("interval") PriceHistory.TimeInterval interval,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("coinIds") Collection<String> coinIds
+    );
 }
@@ -0,0 +1,12 @@
+package com.cryptoguide.api.repository;
+
+/**
+ * price_history 행을 엔티티·BigDecimal 없이 한 줄씩 받는 콜백.
+ * 시각은 UTC 로 간주한 epoch millis, 비어 있는 값은 NaN 이다.
+ */
+@FunctionalInterface
+public interface PricePointHandler {
+
+    void accept(String coinId, long timestamp, double open, double high, double low,
+                double close, double marketCap, double volume);
+}
@@ -1,17 +1,23 @@
 package com.cryptoguide.api.service;
 
 import com.cryptoguide.api.dto.CryptoNewsDto;
+import com.cryptoguide.api.dto.FieldSelection;
 import com.cryptoguide.api.entity.CryptoNews;
 import com.cryptoguide.api.repository.CryptoNewsRepository;
+import com.cryptoguide.api.repository.CryptoNewsRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -22,42 +28,69 @@ public class CryptoNewsService {
     private final OpenAIService openAIService;
 
     @Transactional(readOnly = true)
-    public Page<CryptoNewsDto> getAllNews(Pageable pageable) {
-        return newsRepository.findAllByOrderByPublishedAtDesc(pageable)
-                .map(CryptoNewsDto::fromEntity);
+    public Page<CryptoNewsDto> getAllNews(Pageable pageable, FieldSelection<CryptoNewsDto> selection) {
+        return toDtos(newsRepository.findAllRows(pageable), selection);
     }
 
     @Transactional(readOnly = true)
-    public Page<CryptoNewsDto> getNewsByCrypto(String coinId, Pageable pageable) {
-        return newsRepository.findByCryptocurrencyCoinId(coinId, pageable)
-                .map(CryptoNewsDto::fromEntity);
+    public Page<CryptoNewsDto> getNewsByCrypto(String coinId, Pageable pageable, FieldSelection<CryptoNewsDto> selection) {
+        return toDtos(newsRepository.findRowsByCoinId(coinId, pageable), selection);
     }
 
     @Transactional(readOnly = true)
-    public Page<CryptoNewsDto> getNewsByTheme(String themeSlug, Pageable pageable) {
-        return newsRepository.findByThemeSlug(themeSlug, pageable)
-                .map(CryptoNewsDto::fromEntity);
+    public Page<CryptoNewsDto> getNewsByTheme(String themeSlug, Pageable pageable, FieldSelection<CryptoNewsDto> selection) {
+        return toDtos(newsRepository.findRowsByThemeSlug(themeSlug, pageable), selection);
     }
 
     @Transactional(readOnly = true)
-    public CryptoNewsDto getNewsById(Long id) {
-        CryptoNews news = newsRepository.findById(id)
+    public CryptoNewsDto getNewsById(Long id, FieldSelection<CryptoNewsDto> selection) {
+        CryptoNewsRow row = newsRepository.findRowById(id)
                 .orElseThrow(() -> new RuntimeException("News not found: " + id));
-        return CryptoNewsDto.fromEntity(news);
+        return toDtos(List.of(row), selection).get(0);
     }
 
     @Transactional(readOnly = true)
-    public List<CryptoNewsDto> getRecentNews(int hours) {
+    public List<CryptoNewsDto> getRecentNews(int hours, FieldSelection<CryptoNewsDto> selection) {
         LocalDateTime since = LocalDateTime.now().minusHours(hours);
-        return newsRepository.findRecentNews(since).stream()
-                .map(CryptoNewsDto::fromEntity)
-                .toList();
+        return toDtos(newsRepository.findRecentRows(since), selection);
     }
 
     @Transactional(readOnly = true)
-    public Page<CryptoNewsDto> searchNews(String keyword, Pageable pageable) {
-        return newsRepository.searchByKeyword(keyword, pageable)
-                .map(CryptoNewsDto::fromEntity);
+    public Page<CryptoNewsDto> searchNews(String keyword, Pageable pageable, FieldSelection<CryptoNewsDto> selection) {
+        return toDtos(newsRepository.searchRows(keyword, pageable), selection);
+    }
+
+    private Page<CryptoNewsDto> toDtos(Page<CryptoNewsRow> rows, FieldSelection<CryptoNewsDto> selection) {
+        return new PageImpl<>(toDtos(rows.getContent(), selection), rows.getPageable(), rows.getTotalElements());
+    }
+
+    /**
+     * 행을 DTO 로 옮기고, 고른 필드에 있을 때만 본문·관련 코인·테마를 뉴스 id 묶음으로 한 번씩 읽어 채운다.
+     * 엔티티를 읽어 연관을 행마다 지연 로딩하던 것(1 + 2N 쿼리)을 최대 4 쿼리로 줄인다.
+     */
+    private List<CryptoNewsDto> toDtos(List<CryptoNewsRow> rows, FieldSelection<CryptoNewsDto> selection) {
+        Map<Long, CryptoNewsDto> byId = new LinkedHashMap<>();
+        rows.forEach(row -> byId.put(row.id(), CryptoNewsDto.fromRow(row)));
+        if (byId.isEmpty()) {
+            return List.of();
+        }
+        if (selection.includes("content")) {
+            newsRepository.findContents(byId.keySet())
+                    .forEach(a -> byId.get(a.newsId()).setContent(a.value()));
+        }
+        if (selection.includes("relatedCryptoSymbols")) {
+            byId.values().forEach(dto -> dto.setRelatedCryptoSymbols(new ArrayList<>()));
+            newsRepository.findRelatedCryptoSymbols(byId.keySet())
+                    .forEach(a -> byId.get(a.newsId()).getRelatedCryptoSymbols().add(a.value()));
+        }
+        if (selection.includes("relatedThemes")) {
+            byId.values().forEach(dto -> dto.setRelatedThemes(new ArrayList<>()));
+            newsRepository.findRelatedThemeNames(byId.keySet())
+                    .forEach(a -> byId.get(a.newsId()).getRelatedThemes().add(a.value()));
+        }
+        return byId.values().stream()
+                .map(selection::apply)
+                .toList();
     }
 
     @Transactional
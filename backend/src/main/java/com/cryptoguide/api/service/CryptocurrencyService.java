@@ -1,23 +1,30 @@
 package com.cryptoguide.api.service;
 
+import com.cryptoguide.api.config.CacheConfig;
+import com.cryptoguide.api.config.CacheRefreshRegistry;
+import com.cryptoguide.api.dto.CoinSuggestionDto;
 import com.cryptoguide.api.dto.CryptocurrencyDto;
 import com.cryptoguide.api.dto.MarketOverviewDto;
 import com.cryptoguide.api.entity.Cryptocurrency;
 import com.cryptoguide.api.repository.CryptocurrencyRepository;
+import com.cryptoguide.api.service.market.enrichment.CoinDetailsEnrichmentService;
+import com.cryptoguide.api.service.market.pipeline.MarketDataVersionPublisher;
+import com.cryptoguide.api.service.market.pipeline.MarketView;
+import com.cryptoguide.api.service.market.search.CoinSearchService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -25,124 +32,94 @@ import java.util.stream.Collectors;
 public class CryptocurrencyService {
 
     private final CryptocurrencyRepository cryptocurrencyRepository;
+    private final CoinDetailsEnrichmentService enrichmentService;
+    private final CacheManager cacheManager;
+    private final CacheRefreshRegistry cacheRefreshRegistry;
+    private final MarketDataVersionPublisher marketData;
+    private final CoinSearchService searchService;
+
+    /** refresh-after-write 때 캐시 키로 같은 값을 다시 만든다 */
+    @PostConstruct
+    public void registerCacheReloaders() {
+        cacheRefreshRegistry.register(CacheConfig.CRYPTO, key -> cryptocurrencyRepository.findDetailByCoinId((String) key)
+                .map(CryptocurrencyDto::fromEntity)
+                .orElse(null));
+    }
 
-    @Cacheable(value = "cryptos", key = "#pageable.pageNumber + '-' + #pageable.pageSize")
-    @Transactional(readOnly = true)
-    public Page<CryptocurrencyDto> getAllCryptocurrencies(Pageable pageable) {
-        return cryptocurrencyRepository.findAllByOrderByMarketCapRankAsc(pageable)
-                .map(CryptocurrencyDto::fromEntity);
+    /** 지금 게시된 시세 스냅샷·시장 개요·검색 색인 묶음. 한 응답은 한 묶음에서만 읽는다 */
+    public MarketView marketView() {
+        return marketData.current();
+    }
+
+    /** 목록·테마별 목록·상위 N 은 수집 주기마다 만드는 시세 스냅샷을 잘라 답한다 (DB 조회 없음, 프로젝트 정보 제외) */
+    public Page<CryptocurrencyDto> getAllCryptocurrencies(MarketView view, Pageable pageable) {
+        return view.snapshot().page(pageable);
     }
 
-    @Cacheable(value = "crypto", key = "#coinId")
+    /** 스냅샷에 있는 목록용 필드만으로 답할 수 있는 상세 조회 (프로젝트 정보·지표 없음, DB 조회 없음) */
+    public Optional<CryptocurrencyDto> findListedCryptocurrency(String coinId) {
+        return marketView().snapshot().find(coinId);
+    }
+
+    @Cacheable(value = CacheConfig.CRYPTO, key = "#coinId")
     @Transactional(readOnly = true)
     public CryptocurrencyDto getCryptocurrencyByCoinId(String coinId) {
-        Cryptocurrency crypto = cryptocurrencyRepository.findByCoinId(coinId)
-                .orElseThrow(() -> new RuntimeException("Cryptocurrency not found: " + coinId));
+        // 없는 coinId 는 crypto 캐시가 아니라 cryptoMissing 에 짧게 기억한다
+        Cache missing = cacheManager.getCache(CacheConfig.CRYPTO_MISSING);
+        if (missing != null && missing.get(coinId) != null) {
+            throw new RuntimeException("Cryptocurrency not found: " + coinId);
+        }
+        Cryptocurrency crypto = cryptocurrencyRepository.findDetailByCoinId(coinId).orElse(null);
+        if (crypto == null) {
+            if (missing != null) {
+                missing.put(coinId, Boolean.TRUE);
+            }
+            throw new RuntimeException("Cryptocurrency not found: " + coinId);
+        }
+        if (crypto.getDetailsUpdatedAt() == null) {
+            // 상세 정보는 백그라운드에서 채우고, 저장되면 이 캐시 항목을 비운다
+            enrichmentService.requestDetails(coinId);
+        }
         return CryptocurrencyDto.fromEntity(crypto);
     }
 
-    @Transactional(readOnly = true)
-    public List<CryptocurrencyDto> searchCryptocurrencies(String query) {
-        return cryptocurrencyRepository
-                .findByNameContainingIgnoreCaseOrSymbolContainingIgnoreCase(query, query)
-                .stream()
-                .map(CryptocurrencyDto::fromEntity)
-                .collect(Collectors.toList());
+    /** 심볼·이름·한글 별칭 검색. 메모리 색인에서 일치 등급, 시총 순위 순으로 최대 limit 개 */
+    public List<CryptocurrencyDto> searchCryptocurrencies(String query, int limit) {
+        return searchService.search(marketView().searchIndex(), query, limit);
+    }
+
+    public List<CoinSuggestionDto> autocomplete(String query, int limit) {
+        return searchService.autocomplete(marketView().searchIndex(), query, limit);
     }
 
-    @Transactional(readOnly = true)
     public Page<CryptocurrencyDto> getCryptocurrenciesByTheme(String themeSlug, Pageable pageable) {
-        return cryptocurrencyRepository.findByThemeSlug(themeSlug, pageable)
-                .map(CryptocurrencyDto::fromEntity);
+        return marketView().snapshot().pageByTheme(themeSlug, pageable);
     }
 
-    @Cacheable(value = "topGainers")
-    @Transactional(readOnly = true)
-    public List<CryptocurrencyDto> getTopGainers(int limit) {
-        return cryptocurrencyRepository.findTopGainers(PageRequest.of(0, limit))
-                .stream()
-                .map(CryptocurrencyDto::fromEntity)
-                .collect(Collectors.toList());
+    public List<CryptocurrencyDto> getTopGainers(MarketView view, int limit) {
+        return view.snapshot().topGainers(limit);
     }
 
-    @Cacheable(value = "topLosers")
-    @Transactional(readOnly = true)
-    public List<CryptocurrencyDto> getTopLosers(int limit) {
-        return cryptocurrencyRepository.findTopLosers(PageRequest.of(0, limit))
-                .stream()
-                .map(CryptocurrencyDto::fromEntity)
-                .collect(Collectors.toList());
+    public List<CryptocurrencyDto> getTopLosers(MarketView view, int limit) {
+        return view.snapshot().topLosers(limit);
     }
 
-    @Cacheable(value = "topVolume")
-    @Transactional(readOnly = true)
-    public List<CryptocurrencyDto> getTopByVolume(int limit) {
-        return cryptocurrencyRepository.findTopByVolume(PageRequest.of(0, limit))
-                .stream()
-                .map(CryptocurrencyDto::fromEntity)
-                .collect(Collectors.toList());
+    public List<CryptocurrencyDto> getTopByVolume(MarketView view, int limit) {
+        return view.snapshot().topByVolume(limit);
     }
 
-    @Cacheable(value = "marketOverview")
-    @Transactional(readOnly = true)
-    public MarketOverviewDto getMarketOverview() {
-        List<Cryptocurrency> allCryptos = cryptocurrencyRepository.findAll();
-        
-        BigDecimal totalMarketCap = allCryptos.stream()
-                .map(Cryptocurrency::getMarketCap)
-                .filter(mc -> mc != null)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalVolume = allCryptos.stream()
-                .map(Cryptocurrency::getTotalVolume)
-                .filter(v -> v != null)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        long upCount = allCryptos.stream()
-                .filter(c -> c.getPriceChangePercentage24h() != null && 
-                            c.getPriceChangePercentage24h().compareTo(BigDecimal.ZERO) > 0)
-                .count();
-
-        long downCount = allCryptos.stream()
-                .filter(c -> c.getPriceChangePercentage24h() != null && 
-                            c.getPriceChangePercentage24h().compareTo(BigDecimal.ZERO) < 0)
-                .count();
-
-        // Calculate BTC and ETH dominance
-        BigDecimal btcMarketCap = cryptocurrencyRepository.findByCoinId("bitcoin")
-                .map(Cryptocurrency::getMarketCap)
-                .orElse(BigDecimal.ZERO);
-
-        BigDecimal ethMarketCap = cryptocurrencyRepository.findByCoinId("ethereum")
-                .map(Cryptocurrency::getMarketCap)
-                .orElse(BigDecimal.ZERO);
-
-        BigDecimal btcDominance = totalMarketCap.compareTo(BigDecimal.ZERO) > 0
-                ? btcMarketCap.multiply(BigDecimal.valueOf(100)).divide(totalMarketCap, 2, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
-
-        BigDecimal ethDominance = totalMarketCap.compareTo(BigDecimal.ZERO) > 0
-                ? ethMarketCap.multiply(BigDecimal.valueOf(100)).divide(totalMarketCap, 2, RoundingMode.HALF_UP)
-                : BigDecimal.ZERO;
-
-        return MarketOverviewDto.builder()
-                .totalMarketCap(totalMarketCap)
-                .totalVolume24h(totalVolume)
-                .btcDominance(btcDominance)
-                .ethDominance(ethDominance)
-                .upCount((int) upCount)
-                .downCount((int) downCount)
-                .totalCoins(allCryptos.size())
-                .build();
+    /** 수집 주기마다 스냅샷과 함께 만들어 둔 값을 돌려준다 */
+    public MarketOverviewDto getMarketOverview(MarketView view) {
+        return view.overview();
     }
 
-    @CacheEvict(value = {"cryptos", "crypto", "topGainers", "topLosers", "topVolume", "marketOverview"}, allEntries = true)
+    @CacheEvict(value = {CacheConfig.CRYPTO, CacheConfig.CRYPTO_MISSING}, allEntries = true)
     @Transactional
     public Cryptocurrency saveCryptocurrency(Cryptocurrency cryptocurrency) {
         return cryptocurrencyRepository.save(cryptocurrency);
     }
 
-    @CacheEvict(value = {"cryptos", "crypto", "topGainers", "topLosers", "topVolume", "marketOverview"}, allEntries = true)
+    @CacheEvict(value = {CacheConfig.CRYPTO, CacheConfig.CRYPTO_MISSING}, allEntries = true)
     @Transactional
     public List<Cryptocurrency> saveAllCryptocurrencies(List<Cryptocurrency> cryptocurrencies) {
         return cryptocurrencyRepository.saveAll(cryptocurrencies);
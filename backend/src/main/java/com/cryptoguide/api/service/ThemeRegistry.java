@@ -0,0 +1,86 @@
+package com.cryptoguide.api.service;
+
+import com.cryptoguide.api.entity.Theme;
+import com.cryptoguide.api.repository.ThemeRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * slug → Theme 메모리 레지스트리.
+ * 테마는 몇 개 안 되고 거의 바뀌지 않으므로 한 번 읽어 두고, CoinGecko 카테고리 매핑 시 DB 를 조회하지 않는다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ThemeRegistry {
+
+    /** CoinGecko 카테고리(소문자) → 테마 slug */
+    private static final Map<String, String> CATEGORY_TO_SLUG = Map.ofEntries(
+            Map.entry("stablecoins", "stablecoin"),
+            Map.entry("decentralized finance (defi)", "defi"),
+            Map.entry("defi", "defi"),
+            Map.entry("non-fungible tokens (nft)", "nft"),
+            Map.entry("nft", "nft"),
+            Map.entry("metaverse", "nft"),
+            Map.entry("layer 1", "layer1"),
+            Map.entry("smart contract platform", "layer1"),
+            Map.entry("layer 2", "layer2"),
+            Map.entry("modular blockchain", "modular"),
+            Map.entry("decentralized physical infrastructure networks (depin)", "depin"),
+            Map.entry("depin", "depin"),
+            Map.entry("artificial intelligence", "ai"),
+            Map.entry("ai", "ai"),
+            Map.entry("gaming", "gaming"),
+            Map.entry("play-to-earn", "gaming"),
+            Map.entry("meme", "meme"),
+            Map.entry("meme-token", "meme"),
+            Map.entry("centralized exchange (cex)", "exchange"),
+            Map.entry("decentralized exchange", "defi"),
+            Map.entry("privacy coins", "privacy")
+    );
+
+    private final ThemeRepository themeRepository;
+
+    private volatile Map<String, Theme> themesBySlug = Map.of();
+    /** 테마 목록이 바뀔 때마다 올라간다 (HTTP ETag 용) */
+    private volatile long revision;
+
+    public synchronized void reload() {
+        Map<String, Theme> loaded = new HashMap<>();
+        for (Theme theme : themeRepository.findAll()) {
+            loaded.put(theme.getSlug(), theme);
+        }
+        themesBySlug = Map.copyOf(loaded);
+        revision++;
+        log.info("Theme registry loaded: {} themes", loaded.size());
+    }
+
+    public synchronized void register(Theme theme) {
+        Map<String, Theme> updated = new HashMap<>(themesBySlug);
+        updated.put(theme.getSlug(), theme);
+        themesBySlug = Map.copyOf(updated);
+        revision++;
+    }
+
+    public long revision() {
+        return revision;
+    }
+
+    public Optional<Theme> findBySlug(String slug) {
+        return Optional.ofNullable(themesBySlug.get(slug));
+    }
+
+    public Optional<Theme> findByCategory(String category) {
+        if (category == null) {
+            return Optional.empty();
+        }
+        String slug = CATEGORY_TO_SLUG.get(category.toLowerCase(Locale.ROOT));
+        return slug == null ? Optional.empty() : findBySlug(slug);
+    }
+}
@@ -1,11 +1,15 @@
 package com.cryptoguide.api.service;
 
+import com.cryptoguide.api.config.CacheConfig;
+import com.cryptoguide.api.config.CacheRefreshRegistry;
 import com.cryptoguide.api.dto.ThemeDto;
 import com.cryptoguide.api.entity.Theme;
 import com.cryptoguide.api.repository.CryptocurrencyRepository;
 import com.cryptoguide.api.repository.ThemeRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,10 +24,25 @@ public class ThemeService {
 
     private final ThemeRepository themeRepository;
     private final CryptocurrencyRepository cryptocurrencyRepository;
+    private final ThemeRegistry themeRegistry;
+    private final CacheRefreshRegistry cacheRefreshRegistry;
 
-    @Cacheable(value = "themes")
+    /** refresh-after-write 때 DB 에서 직접 고친 테마도 만료 전에 반영되도록 같은 값을 다시 만든다 (없어진 slug 는 항목을 지운다) */
+    @PostConstruct
+    public void registerCacheReloaders() {
+        cacheRefreshRegistry.register(CacheConfig.THEMES, key -> loadAllThemes());
+        cacheRefreshRegistry.register(CacheConfig.THEME, key -> themeRepository.findBySlug((String) key)
+                .map(ThemeDto::fromEntity)
+                .orElse(null));
+    }
+
+    @Cacheable(value = CacheConfig.THEMES)
     @Transactional(readOnly = true)
     public List<ThemeDto> getAllThemes() {
+        return loadAllThemes();
+    }
+
+    private List<ThemeDto> loadAllThemes() {
         return themeRepository.findAll().stream()
                 .map(ThemeDto::fromEntity)
                 .collect(Collectors.toList());
@@ -36,7 +55,7 @@ public class ThemeService {
                 .collect(Collectors.toList());
     }
 
-    @Cacheable(value = "theme", key = "#slug")
+    @Cacheable(value = CacheConfig.THEME, key = "#slug")
     @Transactional(readOnly = true)
     public ThemeDto getThemeBySlug(String slug) {
         Theme theme = themeRepository.findBySlug(slug)
@@ -44,12 +63,15 @@ public class ThemeService {
         return ThemeDto.fromEntity(theme);
     }
 
+    @CacheEvict(value = {CacheConfig.THEMES, CacheConfig.THEME}, allEntries = true)
     @Transactional
     public Theme createTheme(Theme theme) {
         if (themeRepository.existsBySlug(theme.getSlug())) {
             throw new RuntimeException("Theme already exists: " + theme.getSlug());
         }
-        return themeRepository.save(theme);
+        Theme saved = themeRepository.save(theme);
+        themeRegistry.register(saved);
+        return saved;
     }
 
     @Transactional
@@ -1,9 +1,11 @@
 package com.cryptoguide.api.service.exchange.pipeline.source.api;
 
+import com.cryptoguide.api.config.WebClientRegistry;
 import com.cryptoguide.api.service.exchange.pipeline.NoticeTypeMapper;
 import com.cryptoguide.api.service.exchange.pipeline.model.NoticeItem;
 import com.cryptoguide.api.service.exchange.pipeline.source.ExchangeNoticeSource;
 import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,7 +22,7 @@ public class BithumbNoticeSource implements ExchangeNoticeSource {
 
     private static final String EXCHANGE = "bithumb";
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClientRegistry webClientRegistry;
     private final ExchangeSourceSupport support;
     private final NoticeTypeMapper noticeTypeMapper;
 
@@ -33,6 +35,13 @@ public class BithumbNoticeSource implements ExchangeNoticeSource {
     @Value("${external.exchange.bithumb.notice-url-fallback:https://www.bithumb.com/customer_support/info_notice}")
     private String noticeUrlFallback;
 
+    private WebClient client;
+
+    @PostConstruct
+    public void init() {
+        this.client = webClientRegistry.builder("bithumb").baseUrl(bithumbBaseUrl).build();
+    }
+
     @Override
     public String exchange() {
         return EXCHANGE;
@@ -41,8 +50,7 @@ public class BithumbNoticeSource implements ExchangeNoticeSource {
     @Override
     public List<NoticeItem> fetchLatestNotices() {
         try {
-            String response = webClientBuilder.baseUrl(bithumbBaseUrl).build()
-                    .get()
+            String response = client.get()
                     .uri(uriBuilder -> uriBuilder
                             .path("/v1/notices")
                             .queryParam("count", Math.min(noticeCount, 20))
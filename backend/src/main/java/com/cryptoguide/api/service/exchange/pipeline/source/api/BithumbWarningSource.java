@@ -1,8 +1,10 @@
 package com.cryptoguide.api.service.exchange.pipeline.source.api;
 
+import com.cryptoguide.api.config.WebClientRegistry;
 import com.cryptoguide.api.service.exchange.pipeline.model.WarningItem;
 import com.cryptoguide.api.service.exchange.pipeline.source.ExchangeWarningSource;
 import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,12 +21,19 @@ public class BithumbWarningSource implements ExchangeWarningSource {
 
     private static final String EXCHANGE = "bithumb";
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClientRegistry webClientRegistry;
     private final ExchangeSourceSupport support;
 
     @Value("${external.exchange.bithumb.base-url:https://api.bithumb.com}")
     private String bithumbBaseUrl;
 
+    private WebClient client;
+
+    @PostConstruct
+    public void init() {
+        this.client = webClientRegistry.builder("bithumb").baseUrl(bithumbBaseUrl).build();
+    }
+
     @Override
     public String exchange() {
         return EXCHANGE;
@@ -33,8 +42,7 @@ public class BithumbWarningSource implements ExchangeWarningSource {
     @Override
     public List<WarningItem> fetchLatestWarnings() {
         try {
-            String response = webClientBuilder.baseUrl(bithumbBaseUrl).build()
-                    .get()
+            String response = client.get()
                     .uri("/v1/market/virtual_asset_warning")
                     .retrieve()
                     .bodyToMono(String.class)
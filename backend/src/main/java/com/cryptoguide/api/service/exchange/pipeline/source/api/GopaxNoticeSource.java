@@ -1,9 +1,11 @@
 package com.cryptoguide.api.service.exchange.pipeline.source.api;
 
+import com.cryptoguide.api.config.WebClientRegistry;
 import com.cryptoguide.api.service.exchange.pipeline.NoticeTypeMapper;
 import com.cryptoguide.api.service.exchange.pipeline.model.NoticeItem;
 import com.cryptoguide.api.service.exchange.pipeline.source.ExchangeNoticeSource;
 import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,7 +22,7 @@ public class GopaxNoticeSource implements ExchangeNoticeSource {
 
     private static final String EXCHANGE = "gopax";
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClientRegistry webClientRegistry;
     private final ExchangeSourceSupport support;
     private final NoticeTypeMapper noticeTypeMapper;
 
@@ -39,6 +41,13 @@ public class GopaxNoticeSource implements ExchangeNoticeSource {
     @Value("${external.exchange.gopax.notice-url-template:https://www.gopax.co.kr/notice/detail?id=%s}")
     private String noticeUrlTemplate;
 
+    private WebClient client;
+
+    @PostConstruct
+    public void init() {
+        this.client = webClientRegistry.builder("gopax").baseUrl(gopaxBaseUrl).build();
+    }
+
     @Override
     public String exchange() {
         return EXCHANGE;
@@ -47,8 +56,7 @@ public class GopaxNoticeSource implements ExchangeNoticeSource {
     @Override
     public List<NoticeItem> fetchLatestNotices() {
         try {
-            String response = webClientBuilder.baseUrl(gopaxBaseUrl).build()
-                    .get()
+            String response = client.get()
                     .uri(uriBuilder -> uriBuilder
                             .path("/notices")
                             .queryParam("limit", Math.min(noticeLimit, 20))
@@ -0,0 +1,456 @@
+package com.cryptoguide.api.service.market.backfill;
+
+import com.cryptoguide.api.config.WebClientRegistry;
+import com.cryptoguide.api.entity.Cryptocurrency;
+import com.cryptoguide.api.entity.PriceBackfillCheckpoint;
+import com.cryptoguide.api.entity.PriceBackfillCheckpoint.Status;
+import com.cryptoguide.api.entity.PriceHistory.TimeInterval;
+import com.cryptoguide.api.repository.CryptocurrencyRepository;
+import com.cryptoguide.api.repository.PriceBackfillCheckpointRepository;
+import com.cryptoguide.api.repository.PriceBackfillRepository;
+import com.cryptoguide.api.service.market.backfill.model.BackfillProgress;
+import com.cryptoguide.api.service.market.backfill.model.HistoricalPoint;
+import com.cryptoguide.api.service.market.backfill.model.MarketChartResponse;
+import com.cryptoguide.api.service.market.history.PriceRollupService;
+import com.cryptoguide.api.service.market.history.RecentPriceCache;
+import com.cryptoguide.api.service.market.indicator.IndicatorService;
+import com.cryptoguide.api.service.market.pipeline.MarketDataVersion;
+import com.cryptoguide.api.service.market.pipeline.RequestBudget;
+import com.cryptoguide.api.service.market.pipeline.model.CoinChange;
+import com.cryptoguide.api.service.market.pipeline.model.MarketDataChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * CoinGecko /coins/{id}/market_chart/range 로 과거 시세를 채운다.
+ * 코인마다 체크포인트를 두고 최근 쪽에서 과거 쪽으로 청크 단위로 거슬러 올라가며, 청크 적재와 체크포인트 갱신을 한 트랜잭션으로 묶어
+ * 중간에 죽어도 마지막으로 커밋된 청크 다음부터 이어서 받는다. 적재는 이미 있는 행을 건너뛰므로 같은 구간을 다시 받아도 안전하다.
+ * 1~90일 구간 응답은 1시간 간격이므로 HOUR_1 행으로 저장하고, 끝나면 상위 간격 캔들을 다시 만든다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceBackfillService {
+
+    public static final TimeInterval BACKFILL_INTERVAL = TimeInterval.HOUR_1;
+
+    private final CryptocurrencyRepository cryptoRepository;
+    private final PriceBackfillCheckpointRepository checkpointRepository;
+    private final PriceBackfillRepository backfillRepository;
+    private final PriceRollupService rollupService;
+    private final IndicatorService indicatorService;
+    private final RecentPriceCache recentPriceCache;
+    private final TransactionTemplate transactionTemplate;
+    private final WebClientRegistry webClientRegistry;
+    private final RequestBudget coingeckoRequestBudget;
+    private final MarketDataVersion marketDataVersion;
+
+    @Value("${external.coingecko.base-url:https://api.coingecko.com/api/v3}")
+    private String coingeckoBaseUrl;
+
+    @Value("${external.coingecko.api-key:}")
+    private String coingeckoApiKey;
+
+    @Value("${ingestion.market.bulk-write:true}")
+    private boolean bulkWrite;
+
+    @Value("${ingestion.backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ingestion.backfill.auto-new-coins:true}")
+    private boolean autoNewCoins;
+
+    @Value("${ingestion.backfill.auto-new-coins-max:20}")
+    private int autoNewCoinsMax;
+
+    @Value("${ingestion.backfill.resume-on-startup:true}")
+    private boolean resumeOnStartup;
+
+    @Value("${ingestion.backfill.workers:2}")
+    private int workers;
+
+    @Value("${ingestion.backfill.requests-per-minute:5}")
+    private int requestsPerMinute;
+
+    @Value("${ingestion.backfill.days:90}")
+    private int defaultDays;
+
+    @Value("${ingestion.backfill.chunk:30d}")
+    private Duration chunk;
+
+    @Value("${ingestion.backfill.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${ingestion.backfill.request-timeout:60s}")
+    private Duration requestTimeout;
+
+    private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // 현재 실행 통계
+    private final AtomicLong runCoinsDone = new AtomicLong();
+    private final AtomicLong runPointsLoaded = new AtomicLong();
+    private final AtomicLong runRequests = new AtomicLong();
+    private final AtomicReference<LocalDateTime> rollupFrom = new AtomicReference<>();
+    /** 이번 실행에서 행을 적재한 코인. 끝나면 이 코인들의 캔들·지표·최근 버퍼만 다시 만든다 */
+    private final Set<String> runCoins = ConcurrentHashMap.newKeySet();
+    private volatile long runStartedNanos;
+    private volatile long runElapsedNanos;
+
+    private RequestBudget budget;
+    private WebClient client;
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        this.budget = new RequestBudget(requestsPerMinute, coingeckoRequestBudget);
+        WebClient.Builder builder = webClientRegistry.builder("coingecko").baseUrl(coingeckoBaseUrl);
+        if (coingeckoApiKey != null && !coingeckoApiKey.isEmpty()) {
+            builder.defaultHeader("x-cg-pro-api-key", coingeckoApiKey);
+        }
+        this.client = builder.build();
+        this.executor = Executors.newFixedThreadPool(Math.max(workers, 1), new CustomizableThreadFactory("price-backfill-"));
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /** 비정상 종료로 RUNNING 에 남은 코인을 대기로 돌리고, 끝나지 않은 코인을 이어서 받는다. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!enabled || !resumeOnStartup) {
+            return;
+        }
+        int reset = transactionTemplate.execute(status -> checkpointRepository.updateStatus(Status.RUNNING, Status.PENDING));
+        List<PriceBackfillCheckpoint> pending = checkpointRepository.findByStatusInOrderByIdAsc(List.of(Status.PENDING));
+        if (!pending.isEmpty()) {
+            log.info("Resuming price backfill. pending={}, interrupted={}", pending.size(), reset);
+            pending.forEach(checkpoint -> queue.add(checkpoint.getCoinId()));
+            launch();
+        }
+    }
+
+    /**
+     * 새로 상장된 코인은 기본 기간만큼 과거 시세를 받아 둔다.
+     * 빈 DB 의 첫 수집처럼 한 번에 많이 들어오면 요청 한도를 오래 차지하므로 건너뛰고, 관리 API 로 직접 시작하게 둔다.
+     */
+    @EventListener
+    public void onMarketDataChanged(MarketDataChangedEvent event) {
+        if (!enabled || !autoNewCoins) {
+            return;
+        }
+        List<String> inserted = event.changes().coins().stream()
+                .filter(CoinChange::inserted)
+                .map(CoinChange::coinId)
+                .toList();
+        if (inserted.size() > autoNewCoinsMax) {
+            log.info("Skipping automatic price backfill for {} new coins (max {}); start it via the ingestion API",
+                    inserted.size(), autoNewCoinsMax);
+            return;
+        }
+        if (!inserted.isEmpty()) {
+            start(null, inserted);
+        }
+    }
+
+    /**
+     * 지정 코인(없으면 전체, 시총 순위 순)의 최근 days 일을 백필 대상으로 잡고 워커를 띄운다.
+     * 이미 끝난 코인은 더 긴 기간을 요청했을 때만 다시 잡히고, 실패한 코인은 시도 횟수를 초기화한다.
+     */
+    public BackfillProgress start(Integer days, List<String> coinIds) {
+        if (!enabled) {
+            throw new IllegalStateException("ingestion.backfill.enabled is false");
+        }
+        List<String> targets = coinIds != null ? coinIds : cryptoRepository.findAllCoinIdsByRank();
+        LocalDateTime targetFrom = LocalDateTime.now()
+                .minusDays(days != null ? days : defaultDays)
+                .truncatedTo(ChronoUnit.HOURS);
+        List<String> scheduled = transactionTemplate.execute(status -> schedule(targets, targetFrom));
+        if (!scheduled.isEmpty()) {
+            log.info("Scheduled price backfill. coins={}, targetFrom={}", scheduled.size(), targetFrom);
+            scheduled.forEach(coinId -> {
+                if (!queue.contains(coinId)) {
+                    queue.add(coinId);
+                }
+            });
+            launch();
+        }
+        return progress();
+    }
+
+    private List<String> schedule(List<String> coinIds, LocalDateTime targetFrom) {
+        Map<String, PriceBackfillCheckpoint> existing = new HashMap<>();
+        checkpointRepository.findByCoinIdIn(coinIds).forEach(c -> existing.put(c.getCoinId(), c));
+        Map<String, Cryptocurrency> cryptos = new HashMap<>();
+        cryptoRepository.findByCoinIds(coinIds).forEach(c -> cryptos.put(c.getCoinId(), c));
+
+        List<String> scheduled = new ArrayList<>();
+        for (String coinId : coinIds) {
+            Cryptocurrency crypto = cryptos.get(coinId);
+            if (crypto == null) {
+                continue;
+            }
+            PriceBackfillCheckpoint checkpoint = existing.get(coinId);
+            if (checkpoint == null) {
+                // 실시간 수집이 이미 채운 구간 앞에서부터 거슬러 올라간다
+                LocalDateTime earliest = backfillRepository.findEarliestTimestamp(crypto.getId(), BACKFILL_INTERVAL);
+                LocalDateTime anchor = (earliest != null ? earliest : LocalDateTime.now()).truncatedTo(ChronoUnit.HOURS);
+                checkpoint = PriceBackfillCheckpoint.builder()
+                        .coinId(coinId)
+                        .status(Status.PENDING)
+                        .targetFrom(targetFrom)
+                        .anchor(anchor)
+                        .loadedFrom(anchor)
+                        .build();
+            } else if (checkpoint.getStatus() == Status.RUNNING) {
+                continue;
+            } else {
+                if (targetFrom.isBefore(checkpoint.getTargetFrom())) {
+                    checkpoint.setTargetFrom(targetFrom);
+                }
+                if (checkpoint.isComplete()) {
+                    continue;
+                }
+                checkpoint.setStatus(Status.PENDING);
+                checkpoint.setAttempts(0);
+                checkpoint.setLastError(null);
+            }
+            checkpointRepository.save(checkpoint);
+            scheduled.add(coinId);
+        }
+        return scheduled;
+    }
+
+    private void launch() {
+        if (!running.compareAndSet(false, true)) {
+            // 돌고 있는 워커가 큐에 새로 들어온 코인도 가져간다
+            return;
+        }
+        runCoinsDone.set(0);
+        runPointsLoaded.set(0);
+        runRequests.set(0);
+        rollupFrom.set(null);
+        runCoins.clear();
+        runStartedNanos = System.nanoTime();
+        runElapsedNanos = 0;
+
+        int size = Math.max(workers, 1);
+        AtomicLong remaining = new AtomicLong(size);
+        for (int i = 0; i < size; i++) {
+            executor.submit(() -> {
+                try {
+                    runWorker();
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        finish();
+                    }
+                }
+            });
+        }
+    }
+
+    private void runWorker() {
+        String coinId;
+        while (!Thread.currentThread().isInterrupted() && (coinId = queue.poll()) != null) {
+            try {
+                backfill(coinId);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                fail(coinId, e);
+            }
+        }
+    }
+
+    private void backfill(String coinId) throws InterruptedException {
+        PriceBackfillCheckpoint checkpoint = checkpointRepository.findByCoinId(coinId).orElse(null);
+        Cryptocurrency crypto = cryptoRepository.findByCoinId(coinId).orElse(null);
+        if (checkpoint == null || crypto == null) {
+            return;
+        }
+        checkpoint.setStatus(Status.RUNNING);
+        checkpoint = checkpointRepository.save(checkpoint);
+
+        while (!checkpoint.isComplete()) {
+            LocalDateTime to = checkpoint.getLoadedFrom();
+            LocalDateTime from = to.minus(chunk);
+            if (from.isBefore(checkpoint.getTargetFrom())) {
+                from = checkpoint.getTargetFrom();
+            }
+
+            // 시세 수집 주기가 도는 동안은 키 한도를 시장 페이지에 양보한다
+            budget.await(marketDataVersion::isUpdating);
+            List<HistoricalPoint> points = fetch(coinId, from, to);
+            runRequests.incrementAndGet();
+
+            LocalDateTime chunkFrom = from;
+            PriceBackfillCheckpoint current = checkpoint;
+            checkpoint = transactionTemplate.execute(status -> {
+                int loaded = bulkWrite
+                        ? backfillRepository.copyLoad(crypto.getId(), BACKFILL_INTERVAL, points)
+                        : backfillRepository.batchLoad(crypto.getId(), BACKFILL_INTERVAL, points);
+                current.setLoadedFrom(chunkFrom);
+                current.setPointsLoaded(current.getPointsLoaded() + loaded);
+                current.setRequests(current.getRequests() + 1);
+                runPointsLoaded.addAndGet(loaded);
+                return checkpointRepository.save(current);
+            });
+            rollupFrom.accumulateAndGet(chunkFrom, (a, b) -> a == null || b.isBefore(a) ? b : a);
+            runCoins.add(coinId);
+        }
+
+        checkpoint.setStatus(Status.DONE);
+        checkpoint.setLastError(null);
+        checkpointRepository.save(checkpoint);
+        runCoinsDone.incrementAndGet();
+        log.info("Backfilled price history for: {}. points={}, requests={}",
+                coinId, checkpoint.getPointsLoaded(), checkpoint.getRequests());
+    }
+
+    /** [from, to) 구간을 받아 1시간 버킷 시작 시각으로 맞춘다. 같은 버킷에 여러 점이 오면 마지막 점을 쓴다. */
+    private List<HistoricalPoint> fetch(String coinId, LocalDateTime from, LocalDateTime to) {
+        ZoneId zone = ZoneId.systemDefault();
+        MarketChartResponse response = client.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/coins/{id}/market_chart/range")
+                        .queryParam("vs_currency", "usd")
+                        .queryParam("from", from.atZone(zone).toEpochSecond())
+                        .queryParam("to", to.atZone(zone).toEpochSecond())
+                        .build(coinId))
+                .retrieve()
+                .bodyToMono(MarketChartResponse.class)
+                .block(requestTimeout);
+        if (response == null || response.prices() == null) {
+            return List.of();
+        }
+
+        Map<Long, Double> caps = byTimestamp(response.marketCaps());
+        Map<Long, Double> volumes = byTimestamp(response.totalVolumes());
+        TreeMap<LocalDateTime, HistoricalPoint> buckets = new TreeMap<>();
+        for (double[] pair : response.prices()) {
+            if (pair == null || pair.length < 2 || !Double.isFinite(pair[1])) {
+                continue;
+            }
+            long millis = (long) pair[0];
+            LocalDateTime timestamp = BACKFILL_INTERVAL.bucketStart(
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), zone));
+            if (timestamp.isBefore(from) || !timestamp.isBefore(to)) {
+                continue;
+            }
+            buckets.put(timestamp, new HistoricalPoint(timestamp, pair[1],
+                    caps.getOrDefault(millis, Double.NaN), volumes.getOrDefault(millis, Double.NaN)));
+        }
+        return new ArrayList<>(buckets.values());
+    }
+
+    private static Map<Long, Double> byTimestamp(List<double[]> pairs) {
+        Map<Long, Double> values = new HashMap<>();
+        if (pairs != null) {
+            for (double[] pair : pairs) {
+                if (pair != null && pair.length >= 2 && Double.isFinite(pair[1])) {
+                    values.put((long) pair[0], pair[1]);
+                }
+            }
+        }
+        return values;
+    }
+
+    private void fail(String coinId, Exception e) {
+        PriceBackfillCheckpoint checkpoint = checkpointRepository.findByCoinId(coinId).orElse(null);
+        if (checkpoint == null) {
+            return;
+        }
+        checkpoint.setAttempts(checkpoint.getAttempts() + 1);
+        String message = String.valueOf(e.getMessage());
+        checkpoint.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+        if (checkpoint.getAttempts() >= maxAttempts) {
+            checkpoint.setStatus(Status.FAILED);
+            log.warn("Giving up price backfill for: {} after {} attempts", coinId, checkpoint.getAttempts(), e);
+        } else {
+            checkpoint.setStatus(Status.PENDING);
+            queue.add(coinId);
+            log.warn("Price backfill failed for: {}. attempt={}: {}", coinId, checkpoint.getAttempts(), e.getMessage());
+        }
+        checkpointRepository.save(checkpoint);
+    }
+
+    private void finish() {
+        runElapsedNanos = System.nanoTime() - runStartedNanos;
+        try {
+            LocalDateTime from = rollupFrom.get();
+            List<String> coinIds = List.copyOf(runCoins);
+            if (from != null && !coinIds.isEmpty()) {
+                rollupService.rebuild(BACKFILL_INTERVAL, from, LocalDateTime.now(), coinIds);
+                // 앞쪽 캔들이 채워졌으므로 지표와, 최근 구간에 걸친 링 버퍼를 다시 만든다
+                indicatorService.rebuild(coinIds);
+                recentPriceCache.reload(coinIds);
+            }
+        } catch (Exception e) {
+            log.error("Rollup/indicator rebuild after price backfill failed", e);
+        } finally {
+            running.set(false);
+            log.info("Price backfill finished. coins={}, points={}, requests={}, elapsed={}s",
+                    runCoinsDone.get(), runPointsLoaded.get(), runRequests.get(), runElapsedNanos / 1_000_000_000);
+        }
+        // 마무리 중에 들어온 코인이 있으면 다시 띄운다
+        if (!queue.isEmpty()) {
+            launch();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public BackfillProgress progress() {
+        boolean active = running.get();
+        long elapsedNanos = active ? System.nanoTime() - runStartedNanos : runElapsedNanos;
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long done = checkpointRepository.countByStatus(Status.DONE);
+        long pending = checkpointRepository.countByStatus(Status.PENDING) + checkpointRepository.countByStatus(Status.RUNNING);
+        long failed = checkpointRepository.countByStatus(Status.FAILED);
+        return new BackfillProgress(
+                active,
+                done + pending + failed,
+                done,
+                pending,
+                failed,
+                checkpointRepository.sumPointsLoaded(),
+                runCoinsDone.get(),
+                runPointsLoaded.get(),
+                runRequests.get(),
+                (long) seconds,
+                seconds > 0 ? runPointsLoaded.get() / seconds : 0,
+                seconds > 0 ? runCoinsDone.get() / (seconds / 60) : 0);
+    }
+}
@@ -0,0 +1,17 @@
+package com.cryptoguide.api.service.market.backfill.model;
+
+public record BackfillProgress(
+        boolean running,
+        long coinsTotal,
+        long coinsDone,
+        long coinsPending,
+        long coinsFailed,
+        long pointsLoadedTotal,
+        long runCoinsDone,
+        long runPointsLoaded,
+        long runRequests,
+        long runElapsedSeconds,
+        double pointsPerSecond,
+        double coinsPerMinute
+) {
+}
@@ -0,0 +1,14 @@
+package com.cryptoguide.api.service.market.backfill.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * market_chart 응답 한 점. 시각은 간격 버킷 시작으로 맞춘 값이고, 값이 없으면 NaN 이다.
+ */
+public record HistoricalPoint(
+        LocalDateTime timestamp,
+        double price,
+        double marketCap,
+        double volume
+) {
+}
@@ -0,0 +1,17 @@
+package com.cryptoguide.api.service.market.backfill.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * CoinGecko /coins/{id}/market_chart/range 응답. 각 원소는 [epoch millis, 값] 쌍이다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record MarketChartResponse(
+        List<double[]> prices,
+        @JsonProperty("market_caps") List<double[]> marketCaps,
+        @JsonProperty("total_volumes") List<double[]> totalVolumes
+) {
+}
@@ -0,0 +1,265 @@
+package com.cryptoguide.api.service.market.enrichment;
+
+import com.cryptoguide.api.config.CacheConfig;
+import com.cryptoguide.api.config.WebClientRegistry;
+import com.cryptoguide.api.entity.Cryptocurrency;
+import com.cryptoguide.api.entity.Theme;
+import com.cryptoguide.api.repository.CryptocurrencyRepository;
+import com.cryptoguide.api.repository.EnrichmentCandidate;
+import com.cryptoguide.api.service.ThemeRegistry;
+import com.cryptoguide.api.service.market.pipeline.CoinGeckoResponseDecoder;
+import com.cryptoguide.api.service.market.pipeline.MarketDataVersion;
+import com.cryptoguide.api.service.market.pipeline.RequestBudget;
+import com.cryptoguide.api.service.market.pipeline.model.CoinDetailRecord;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 코인 상세 정보(설명·링크·테마)를 백그라운드에서 채운다.
+ * 미수집/오래된 코인을 시총 순위 순으로 큐에 넣고, 소수의 워커가 분당 요청 한도 안에서 /coins/{id} 를 호출한다.
+ * 같은 코인은 큐와 처리 중을 통틀어 한 번만 잡힌다(single-flight).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CoinDetailsEnrichmentService {
+
+    private final CryptocurrencyRepository cryptoRepository;
+    private final ThemeRegistry themeRegistry;
+    private final CoinGeckoResponseDecoder coinGeckoDecoder;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final WebClientRegistry webClientRegistry;
+    private final RequestBudget coingeckoRequestBudget;
+    private final MarketDataVersion marketDataVersion;
+
+    @Value("${external.coingecko.base-url:https://api.coingecko.com/api/v3}")
+    private String coingeckoBaseUrl;
+
+    @Value("${external.coingecko.api-key:}")
+    private String coingeckoApiKey;
+
+    @Value("${ingestion.enrichment.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ingestion.enrichment.workers:2}")
+    private int workers;
+
+    @Value("${ingestion.enrichment.requests-per-minute:10}")
+    private int requestsPerMinute;
+
+    @Value("${ingestion.enrichment.scan-batch-size:100}")
+    private int scanBatchSize;
+
+    @Value("${ingestion.enrichment.stale-after:7d}")
+    private Duration staleAfter;
+
+    @Value("${ingestion.enrichment.request-timeout:30s}")
+    private Duration requestTimeout;
+
+    @Value("${ingestion.enrichment.retry-after:6h}")
+    private Duration retryAfter;
+
+    private final PriorityBlockingQueue<EnrichmentTask> queue = new PriorityBlockingQueue<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Boolean>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private RequestBudget budget;
+    private WebClient client;
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void start() {
+        this.budget = new RequestBudget(requestsPerMinute, coingeckoRequestBudget);
+        WebClient.Builder builder = webClientRegistry.builder("coingecko").baseUrl(coingeckoBaseUrl);
+        if (coingeckoApiKey != null && !coingeckoApiKey.isEmpty()) {
+            builder.defaultHeader("x-cg-pro-api-key", coingeckoApiKey);
+        }
+        this.client = builder.build();
+
+        int size = Math.max(workers, 1);
+        this.executor = Executors.newFixedThreadPool(size, new CustomizableThreadFactory("coin-enrichment-"));
+        for (int i = 0; i < size; i++) {
+            executor.submit(this::runWorker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 코인 페이지에서 상세 정보가 비어 있을 때 호출한다. 이미 큐에 있으면 앞쪽으로 올리고 같은 future 를 돌려준다.
+     */
+    public CompletableFuture<Boolean> requestDetails(String coinId) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return enqueue(coinId, true, null, null);
+    }
+
+    /** 상세 정보가 없거나 stale-after 보다 오래된 코인을 시총 순위 순으로 큐에 채운다. */
+    @Scheduled(initialDelayString = "${ingestion.enrichment.initial-delay:PT1M}",
+               fixedDelayString = "${ingestion.enrichment.scan-interval:PT10M}")
+    public void enqueueStaleCoins() {
+        if (!enabled) {
+            return;
+        }
+        int capacity = scanBatchSize - queue.size();
+        if (capacity <= 0) {
+            log.debug("Enrichment queue is full. queued={}", queue.size());
+            return;
+        }
+
+        // 앞 순위 후보는 대개 이미 큐에 있거나 처리 중이라, 그만큼 더 읽어 빈자리를 새 코인으로 채운다
+        LocalDateTime now = LocalDateTime.now();
+        List<EnrichmentCandidate> candidates = cryptoRepository.findEnrichmentCandidates(
+                now.minus(staleAfter), now.minus(retryAfter), PageRequest.of(0, capacity + pending.size()));
+        int added = 0;
+        for (EnrichmentCandidate candidate : candidates) {
+            if (added == capacity) {
+                break;
+            }
+            if (pending.containsKey(candidate.getCoinId())) {
+                continue;
+            }
+            enqueue(candidate.getCoinId(), false, candidate.getMarketCapRank(), candidate.getDetailsUpdatedAt());
+            added++;
+        }
+        log.info("Enrichment scan finished. candidates={}, added={}, queued={}, inFlight={}",
+                candidates.size(), added, queue.size(), pending.size());
+    }
+
+    private CompletableFuture<Boolean> enqueue(String coinId, boolean onDemand, Integer rank, LocalDateTime detailsUpdatedAt) {
+        CompletableFuture<Boolean> created = new CompletableFuture<>();
+        CompletableFuture<Boolean> existing = pending.putIfAbsent(coinId, created);
+        if (existing != null) {
+            // 아직 큐에 남아 있는 예약 작업이면 화면 요청 우선순위로 다시 넣는다
+            if (onDemand && queue.removeIf(t -> t.coinId().equals(coinId) && !t.onDemand())) {
+                queue.add(new EnrichmentTask(coinId, true, rank, detailsUpdatedAt, sequence.incrementAndGet()));
+            }
+            return existing;
+        }
+        queue.add(new EnrichmentTask(coinId, onDemand, rank, detailsUpdatedAt, sequence.incrementAndGet()));
+        return created;
+    }
+
+    private void runWorker() {
+        while (!Thread.currentThread().isInterrupted()) {
+            EnrichmentTask task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            boolean updated = false;
+            try {
+                // 시세 수집 주기가 도는 동안은 키 한도를 시장 페이지에 양보한다
+                budget.await(marketDataVersion::isUpdating);
+                updated = enrich(task.coinId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.warn("Failed to enrich coin details for: {}", task.coinId(), e);
+            } finally {
+                CompletableFuture<Boolean> future = pending.remove(task.coinId());
+                if (future != null) {
+                    future.complete(updated);
+                }
+            }
+        }
+    }
+
+    private boolean enrich(String coinId) {
+        // 실패(상장 폐지 404, 429, 디코딩 오류 등)해도 retry-after 동안은 스캔이 같은 코인을 다시 고르지 않게 먼저 남긴다
+        transactionTemplate.executeWithoutResult(status ->
+                cryptoRepository.markDetailsAttempted(coinId, LocalDateTime.now()));
+
+        // 외부 호출은 트랜잭션 밖에서 하고, 저장만 짧은 트랜잭션으로 묶는다
+        CoinDetailRecord details = client.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/coins/{id}")
+                        .queryParam("localization", false)
+                        .queryParam("tickers", false)
+                        .queryParam("market_data", false)
+                        .queryParam("community_data", false)
+                        .queryParam("developer_data", false)
+                        .build(coinId))
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(coinGeckoDecoder::decodeCoinDetails)
+                .block(requestTimeout);
+
+        if (details == null || details.coinId() == null) {
+            return false;
+        }
+
+        Boolean saved = transactionTemplate.execute(status -> applyDetails(details));
+        if (Boolean.TRUE.equals(saved)) {
+            Cache cache = cacheManager.getCache(CacheConfig.CRYPTO);
+            if (cache != null) {
+                cache.evict(coinId);
+            }
+            log.info("Updated details for: {}", coinId);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean applyDetails(CoinDetailRecord details) {
+        Optional<Cryptocurrency> found = cryptoRepository.findByCoinId(details.coinId());
+        if (found.isEmpty()) {
+            return false;
+        }
+        Cryptocurrency crypto = found.get();
+
+        if (details.description() != null) crypto.setDescription(details.description());
+        if (details.homepage() != null) crypto.setHomepage(details.homepage());
+        if (details.whitepaper() != null) crypto.setWhitepaper(details.whitepaper());
+        if (details.github() != null) crypto.setGithub(details.github());
+        if (details.twitter() != null) crypto.setTwitter(details.twitter());
+        if (details.telegram() != null) crypto.setTelegram(details.telegram());
+
+        // Map categories to themes (대·중·소 순서로 첫 3개 매핑)
+        List<Theme> ordered = new ArrayList<>();
+        for (String category : details.categories()) {
+            themeRegistry.findByCategory(category)
+                    .filter(theme -> ordered.stream().noneMatch(t -> t.getId().equals(theme.getId())))
+                    .ifPresent(ordered::add);
+        }
+        if (ordered.size() > 0) crypto.setThemeLarge(ordered.get(0));
+        if (ordered.size() > 1) crypto.setThemeMedium(ordered.get(1));
+        if (ordered.size() > 2) crypto.setThemeSmall(ordered.get(2));
+
+        crypto.setDetailsUpdatedAt(LocalDateTime.now());
+        cryptoRepository.save(crypto);
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package com.cryptoguide.api.service.market.enrichment;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * 상세 정보 보강 작업 하나.
+ * 우선순위: 화면 요청(onDemand) → 시총 순위 → 오래된 정도(미수집이 가장 먼저) → 등록 순서.
+ */
+record EnrichmentTask(String coinId, boolean onDemand, Integer marketCapRank, LocalDateTime detailsUpdatedAt, long sequence)
+        implements Comparable<EnrichmentTask> {
+
+    private static final Comparator<EnrichmentTask> ORDER = Comparator
+            .comparing(EnrichmentTask::onDemand, Comparator.reverseOrder())
+            .thenComparing(EnrichmentTask::marketCapRank, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(EnrichmentTask::detailsUpdatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingLong(EnrichmentTask::sequence);
+
+    @Override
+    public int compareTo(EnrichmentTask other) {
+        return ORDER.compare(this, other);
+    }
+}
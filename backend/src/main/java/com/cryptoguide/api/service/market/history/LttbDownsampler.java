@@ -0,0 +1,146 @@
+package com.cryptoguide.api.service.market.history;
+
+import com.cryptoguide.api.entity.PriceHistory.TimeInterval;
+import com.cryptoguide.api.service.market.history.model.PriceSeries;
+
+/**
+ * Largest-Triangle-Three-Buckets 를 스트리밍으로 적용해 시계열을 maxPoints 개 이하로 줄인다.
+ * [from, to) 를 maxPoints - 2 개의 시간 버킷으로 나누고, 첫 점과 마지막 점은 그대로 둔다.
+ * 버킷 하나를 고르려면 다음 버킷의 평균이 필요하므로 버킷 두 개만 메모리에 들고 있는다.
+ * 점이 maxPoints 개 이하이면 줄이지 않고 그대로 돌려준다.
+ */
+final class LttbDownsampler implements SeriesSink {
+
+    private final int maxPoints;
+    private final int buckets;
+    private final long from;
+    private final long span;
+
+    /** 점 수가 maxPoints 를 넘기 전까지 모아 두는 버퍼 */
+    private final PriceSeriesBuffer head;
+    private final PriceSeriesBuffer out;
+    private PriceSeriesBuffer pending;
+    private PriceSeriesBuffer current;
+    private int currentBucket = -1;
+    private boolean downsampling;
+
+    private double selectedX;
+    private double selectedY;
+
+    LttbDownsampler(int maxPoints, long from, long to) {
+        if (maxPoints < 3) {
+            throw new IllegalArgumentException("maxPoints must be at least 3");
+        }
+        this.maxPoints = maxPoints;
+        this.buckets = maxPoints - 2;
+        this.from = from;
+        this.span = Math.max(1, to - from);
+        this.head = new PriceSeriesBuffer(maxPoints + 1);
+        this.out = new PriceSeriesBuffer(maxPoints);
+        this.pending = new PriceSeriesBuffer(16);
+        this.current = new PriceSeriesBuffer(16);
+    }
+
+    @Override
+    public void add(long ts, double o, double h, double l, double c, double cap, double vol) {
+        if (downsampling) {
+            enterBucket(ts);
+            current.add(ts, o, h, l, c, cap, vol);
+            return;
+        }
+        head.add(ts, o, h, l, c, cap, vol);
+        if (head.size() > maxPoints) {
+            downsampling = true;
+            select(head, 0);
+            for (int i = 1; i < head.size(); i++) {
+                enterBucket(head.timestamp(i));
+                current.addFrom(head, i);
+            }
+            head.clear();
+        }
+    }
+
+    @Override
+    public PriceSeries toSeries(String coinId, TimeInterval interval) {
+        if (!downsampling) {
+            return head.toSeries(coinId, interval);
+        }
+        PriceSeriesBuffer last = new PriceSeriesBuffer(1);
+        last.addFrom(current, current.size() - 1);
+        current.removeLast();
+
+        if (pending.size() > 0) {
+            if (current.size() > 0) {
+                selectLargestTriangle(pending, averageX(current), averageY(current));
+            } else {
+                selectLargestTriangle(pending, last.timestamp(0), last.close(0));
+            }
+        }
+        if (current.size() > 0) {
+            selectLargestTriangle(current, last.timestamp(0), last.close(0));
+        }
+        select(last, 0);
+        return out.toSeries(coinId, interval);
+    }
+
+    /** ts 가 새 버킷이면 지금까지의 버킷을 닫는다. */
+    private void enterBucket(long ts) {
+        int bucket = bucketOf(ts);
+        if (bucket != currentBucket && current.size() > 0) {
+            advance();
+        }
+        currentBucket = bucket;
+    }
+
+    /** current 버킷이 끝났으므로 그 평균으로 pending 버킷의 대표점을 고른다. */
+    private void advance() {
+        if (pending.size() > 0) {
+            selectLargestTriangle(pending, averageX(current), averageY(current));
+        }
+        PriceSeriesBuffer done = pending;
+        pending = current;
+        current = done;
+        current.clear();
+    }
+
+    private void selectLargestTriangle(PriceSeriesBuffer bucket, double nextX, double nextY) {
+        int best = 0;
+        double bestArea = -1;
+        for (int i = 0; i < bucket.size(); i++) {
+            double area = Math.abs((selectedX - nextX) * (bucket.close(i) - selectedY)
+                    - (selectedX - bucket.timestamp(i)) * (nextY - selectedY));
+            if (area > bestArea) {
+                bestArea = area;
+                best = i;
+            }
+        }
+        select(bucket, best);
+    }
+
+    private void select(PriceSeriesBuffer bucket, int i) {
+        out.addFrom(bucket, i);
+        selectedX = bucket.timestamp(i);
+        selectedY = bucket.close(i);
+    }
+
+    private int bucketOf(long ts) {
+        long offset = Math.max(0, ts - from);
+        return (int) Math.min(buckets - 1, offset * buckets / span);
+    }
+
+    private static double averageX(PriceSeriesBuffer bucket) {
+        double sum = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            sum += bucket.timestamp(i);
+        }
+        return sum / bucket.size();
+    }
+
+    private static double averageY(PriceSeriesBuffer bucket) {
+        double sum = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            sum += bucket.close(i);
+        }
+        return sum / bucket.size();
+    }
+}
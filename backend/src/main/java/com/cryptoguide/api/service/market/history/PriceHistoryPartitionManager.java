@@ -0,0 +1,180 @@
+package com.cryptoguide.api.service.market.history;
+
+import com.cryptoguide.api.entity.PriceHistory.TimeInterval;
+import com.cryptoguide.api.repository.PriceHistoryMaintenanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 파티션된 price_history (docs/migration_price_history_partitioning.sql) 의 잎 파티션을 관리한다.
+ * 간격별 LIST 파티션 아래에 시간 RANGE 파티션을 두며, 앞으로 쓸 구간은 미리 만들고 보존 기간이 지난 구간은 통째로 DROP 한다.
+ * 1분·5분은 일, 15분·1시간·4시간은 월, 1일·1주는 연 단위로 자른다.
+ * 미리 만든 구간 밖(백필한 과거 시세 등)의 행은 default 파티션에 들어가며, 보존 기간은 거기서 행 단위로 지킨다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceHistoryPartitionManager {
+
+    private static final String TABLE = "price_history";
+
+    private final PriceHistoryMaintenanceRepository maintenanceRepository;
+
+    @Value("${ingestion.partitioning.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ingestion.partitioning.premake:14d}")
+    private Duration premake;
+
+    private volatile boolean active;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!enabled) {
+            return;
+        }
+        if (!maintenanceRepository.isPartitioned()) {
+            log.warn("ingestion.partitioning.enabled is set but price_history is not partitioned; apply docs/migration_price_history_partitioning.sql first");
+            return;
+        }
+        active = true;
+        ensureUpcoming();
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    @Scheduled(cron = "${scheduler.price-partition.cron:0 7 0 * * *}")
+    public void runScheduled() {
+        if (active) {
+            ensureUpcoming();
+        }
+    }
+
+    /** 현재 구간부터 premake 뒤까지의 파티션을 만들고, 새로 만든 이름을 돌려준다. */
+    public List<String> ensureUpcoming() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> created = new ArrayList<>();
+        for (TimeInterval interval : TimeInterval.values()) {
+            String parent = parentOf(interval);
+            ChronoUnit unit = unitOf(interval);
+            List<String> existing = maintenanceRepository.findChildPartitions(parent);
+            for (LocalDateTime start = truncate(now, unit); start.isBefore(now.plus(premake)); start = start.plus(1, unit)) {
+                String name = partitionName(interval, start);
+                if (existing.contains(name)) {
+                    continue;
+                }
+                try {
+                    maintenanceRepository.createRangePartition(parent, name, start, start.plus(1, unit));
+                    created.add(name);
+                } catch (RuntimeException e) {
+                    // default 파티션에 이미 그 구간 행이 있으면 생성이 실패한다
+                    log.error("Failed to create partition {}: {}", name, e.getMessage());
+                }
+            }
+            String fallback = parent + "_default";
+            if (existing.contains(fallback) && maintenanceRepository.hasRows(fallback)) {
+                log.info("Default partition {} has rows outside the range partitions; retention deletes them in chunks", fallback);
+            }
+        }
+        if (!created.isEmpty()) {
+            log.info("Created price_history partitions: {}", created);
+        }
+        return created;
+    }
+
+    /**
+     * 끝 경계가 cutoff 이하인 잎 파티션을 DROP 하고, 지운 파티션별 추정 행 수를 돌려준다.
+     * cutoff 가 걸친 파티션은 그대로 두므로 행은 최대 한 파티션 폭만큼 더 남는다.
+     */
+    public Map<String, Long> dropExpired(TimeInterval interval, LocalDateTime cutoff) {
+        ChronoUnit unit = unitOf(interval);
+        String prefix = parentOf(interval) + "_p";
+        Map<String, Long> dropped = new LinkedHashMap<>();
+        for (String name : maintenanceRepository.findChildPartitions(parentOf(interval))) {
+            if (!name.startsWith(prefix)) {
+                continue;
+            }
+            LocalDateTime start = parseStart(name.substring(prefix.length()), unit);
+            if (start == null || start.plus(1, unit).isAfter(cutoff)) {
+                continue;
+            }
+            long rows = maintenanceRepository.estimateRows(name);
+            maintenanceRepository.dropTable(name);
+            dropped.put(name, rows);
+        }
+        if (!dropped.isEmpty()) {
+            log.info("Dropped expired price_history partitions. interval={}, cutoff={}, partitions={}", interval, cutoff, dropped);
+        }
+        return dropped;
+    }
+
+    /** interval 의 default 파티션 이름. 없으면 null */
+    public String defaultPartitionOf(TimeInterval interval) {
+        String fallback = parentOf(interval) + "_default";
+        return maintenanceRepository.findChildPartitions(parentOf(interval)).contains(fallback) ? fallback : null;
+    }
+
+    static ChronoUnit unitOf(TimeInterval interval) {
+        return switch (interval) {
+            case MINUTE_1, MINUTE_5 -> ChronoUnit.DAYS;
+            case MINUTE_15, HOUR_1, HOUR_4 -> ChronoUnit.MONTHS;
+            case DAY_1, WEEK_1 -> ChronoUnit.YEARS;
+        };
+    }
+
+    private static String parentOf(TimeInterval interval) {
+        return TABLE + "_" + interval.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String partitionName(TimeInterval interval, LocalDateTime start) {
+        return parentOf(interval) + "_p" + formatterOf(unitOf(interval)).format(start);
+    }
+
+    private static LocalDateTime truncate(LocalDateTime time, ChronoUnit unit) {
+        LocalDate date = time.toLocalDate();
+        return switch (unit) {
+            case MONTHS -> date.withDayOfMonth(1).atStartOfDay();
+            case YEARS -> date.withDayOfYear(1).atStartOfDay();
+            default -> date.atStartOfDay();
+        };
+    }
+
+    private static LocalDateTime parseStart(String suffix, ChronoUnit unit) {
+        try {
+            return switch (unit) {
+                case MONTHS -> YearMonth.parse(suffix, formatterOf(unit)).atDay(1).atStartOfDay();
+                case YEARS -> LocalDate.of(Integer.parseInt(suffix), 1, 1).atStartOfDay();
+                default -> LocalDate.parse(suffix, formatterOf(unit)).atStartOfDay();
+            };
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static DateTimeFormatter formatterOf(ChronoUnit unit) {
+        return switch (unit) {
+            case MONTHS -> DateTimeFormatter.ofPattern("yyyyMM");
+            case YEARS -> DateTimeFormatter.ofPattern("yyyy");
+            default -> DateTimeFormatter.ofPattern("yyyyMMdd");
+        };
+    }
+}
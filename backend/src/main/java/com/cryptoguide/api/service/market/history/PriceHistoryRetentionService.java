@@ -0,0 +1,184 @@
+package com.cryptoguide.api.service.market.history;
+
+import com.cryptoguide.api.entity.PriceHistory.TimeInterval;
+import com.cryptoguide.api.repository.PriceHistoryMaintenanceRepository;
+import com.cryptoguide.api.service.market.history.model.RetentionResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 간격별 보존 기간이 지난 price_history 행을 지운다. (예: 5분 7일, 1시간 1년, 1일 무기한)
+ * 한 청크가 곧 한 트랜잭션(autocommit)이라 잠금은 청크 크기만큼만 잡히고, 청크 사이에 쉬어 수집 쓰기와 번갈아 돈다.
+ * 보존 기간은 ingestion.retention.keep.&lt;interval&gt; 로 정하며, 설정이 없는 간격은 지우지 않는다.
+ * price_history 가 파티션 테이블이면 만료된 파티션을 통째로 DROP 하고, default 파티션에 들어간 만료 행만 청크로 지운다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceHistoryRetentionService {
+
+    private static final String KEEP_PREFIX = "ingestion.retention.keep.";
+
+    private final PriceHistoryMaintenanceRepository maintenanceRepository;
+    private final PriceHistoryPartitionManager partitionManager;
+    private final Environment environment;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${ingestion.retention.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ingestion.retention.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${ingestion.retention.chunk-pause:200ms}")
+    private Duration chunkPause;
+
+    @Value("${ingestion.retention.max-runtime:10m}")
+    private Duration maxRuntime;
+
+    @Scheduled(cron = "${scheduler.price-retention.cron:0 17 4 * * *}")
+    public void runScheduled() {
+        if (!enabled) {
+            return;
+        }
+        purgeExpired();
+    }
+
+    /** 보존 기간이 있는 간격마다 만료 행을 청크로 지운다. 이미 돌고 있으면 빈 결과를 돌려준다. */
+    public RetentionResult purgeExpired() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Price history retention is already running, skipping");
+            return new RetentionResult(startedAt, Map.of(), List.of(), 0, false, 0);
+        }
+        try {
+            return partitionManager.isActive() ? dropPartitions(startedAt) : purge(startedAt);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /** 간격별 보존 기간. 값이 없으면 무기한 보존이다. */
+    public Map<TimeInterval, Duration> policy() {
+        Map<TimeInterval, Duration> policy = new EnumMap<>(TimeInterval.class);
+        for (TimeInterval interval : TimeInterval.values()) {
+            retentionOf(interval).ifPresent(keep -> policy.put(interval, keep));
+        }
+        return policy;
+    }
+
+    private RetentionResult purge(LocalDateTime startedAt) {
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + maxRuntime.toNanos();
+        Map<TimeInterval, Long> deleted = new LinkedHashMap<>();
+        int chunks = 0;
+        boolean completed = true;
+
+        for (Map.Entry<TimeInterval, Duration> entry : policy().entrySet()) {
+            TimeInterval interval = entry.getKey();
+            ChunkTally tally = deleteChunks("price_history", interval, startedAt.minus(entry.getValue()), deadline);
+            chunks += tally.chunks;
+            deleted.put(interval, tally.rows);
+            if (!tally.completed) {
+                completed = false;
+                break;
+            }
+        }
+
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        RetentionResult result = new RetentionResult(startedAt, deleted, List.of(), chunks, completed, elapsedMillis);
+        log.info("Price history retention finished. deleted={}, total={}, chunks={}, completed={}, elapsedMs={}",
+                deleted, result.totalDeletedRows(), chunks, completed, elapsedMillis);
+        return result;
+    }
+
+    /** 파티션 모드: 행 수는 DROP 직전 통계 추정치다. */
+    private RetentionResult dropPartitions(LocalDateTime startedAt) {
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + maxRuntime.toNanos();
+        Map<TimeInterval, Long> deleted = new LinkedHashMap<>();
+        List<String> droppedPartitions = new ArrayList<>();
+        int chunks = 0;
+        boolean completed = true;
+        for (Map.Entry<TimeInterval, Duration> entry : policy().entrySet()) {
+            TimeInterval interval = entry.getKey();
+            LocalDateTime cutoff = startedAt.minus(entry.getValue());
+            Map<String, Long> dropped = partitionManager.dropExpired(interval, cutoff);
+            long total = dropped.values().stream().mapToLong(Long::longValue).sum();
+            droppedPartitions.addAll(dropped.keySet());
+
+            // 미리 만든 구간보다 이른 행(백필 등)은 default 파티션에 있어 DROP 으로는 지워지지 않는다
+            String fallback = completed ? partitionManager.defaultPartitionOf(interval) : null;
+            if (fallback != null) {
+                ChunkTally tally = deleteChunks(fallback, interval, cutoff, deadline);
+                chunks += tally.chunks;
+                total += tally.rows;
+                completed = tally.completed;
+            }
+            deleted.put(interval, total);
+        }
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        RetentionResult result = new RetentionResult(startedAt, deleted, droppedPartitions, chunks, completed, elapsedMillis);
+        log.info("Price history retention finished. deleted~={}, total~={}, partitions={}, chunks={}, completed={}, elapsedMs={}",
+                deleted, result.totalDeletedRows(), droppedPartitions.size(), chunks, completed, elapsedMillis);
+        return result;
+    }
+
+    /** table 에서 cutoff 이전 interval 행을 청크로 지운다. */
+    private ChunkTally deleteChunks(String table, TimeInterval interval, LocalDateTime cutoff, long deadline) {
+        ChunkTally tally = new ChunkTally();
+        while (true) {
+            int removed = maintenanceRepository.deleteExpiredChunk(table, interval, cutoff, chunkSize);
+            tally.chunks++;
+            tally.rows += removed;
+            if (removed < chunkSize) {
+                return tally;
+            }
+            // 다음 주기에 이어서 지우면 되므로 시간 초과·중단 시에는 남은 행을 두고 끝낸다
+            if (System.nanoTime() > deadline || !pause()) {
+                tally.completed = false;
+                return tally;
+            }
+        }
+    }
+
+    private Optional<Duration> retentionOf(TimeInterval interval) {
+        String key = KEEP_PREFIX + interval.name().toLowerCase(Locale.ROOT).replace('_', '-');
+        return Optional.ofNullable(environment.getProperty(key, Duration.class));
+    }
+
+    private boolean pause() {
+        if (chunkPause.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class ChunkTally {
+        long rows;
+        int chunks;
+        boolean completed = true;
+    }
+}
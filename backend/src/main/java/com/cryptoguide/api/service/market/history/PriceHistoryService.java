@@ -0,0 +1,202 @@
+package com.cryptoguide.api.service.market.history;
+
+import com.cryptoguide.api.dto.PriceComparisonDto;
+import com.cryptoguide.api.dto.PriceHistoryDto;
+import com.cryptoguide.api.entity.PriceHistory.TimeInterval;
+import com.cryptoguide.api.repository.PriceHistoryReadRepository;
+import com.cryptoguide.api.service.market.history.model.PriceSeries;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * 차트용 시세 이력 조회. 최근 구간은 RecentPriceCache 에서, 그보다 오래된 구간은 DB 에서 읽는다.
+ * maxPoints 가 있으면 DB 행을 스트리밍하면서 LTTB 로 줄인다.
+ */
+@Service
+public class PriceHistoryService {
+
+    /** 수집·롤업이 실제로 채우는 간격 (가는 것부터) */
+    private static final List<TimeInterval> STORED_INTERVALS = Stream.concat(
+            Stream.of(PriceRollupService.RAW_INTERVAL),
+            PriceRollupService.coarserThan(PriceRollupService.RAW_INTERVAL).stream()).toList();
+
+    private final RecentPriceCache recentPriceCache;
+    private final PriceHistoryReadRepository readRepository;
+    private final PriceHistoryRetentionService retentionService;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+
+    public PriceHistoryService(RecentPriceCache recentPriceCache, PriceHistoryReadRepository readRepository,
+                               PriceHistoryRetentionService retentionService, MeterRegistry meterRegistry) {
+        this.recentPriceCache = recentPriceCache;
+        this.readRepository = readRepository;
+        this.retentionService = retentionService;
+        this.cacheHits = Counter.builder("price_history.query")
+                .tag("source", "cache")
+                .description("Chart queries answered from the in-memory ring buffer")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("price_history.query")
+                .tag("source", "database")
+                .description("Chart queries that fell back to the database")
+                .register(meterRegistry);
+    }
+
+    /** from 부터 지금까지의 시계열. maxPoints 가 있으면 LTTB 로 그 개수 이하로 줄인다. */
+    public List<PriceHistoryDto> getHistory(String coinId, TimeInterval interval, LocalDateTime from, Integer maxPoints) {
+        return toDtos(getSeries(coinId, interval, from, LocalDateTime.now(), maxPoints));
+    }
+
+    /** [from, to) 구간 시계열 */
+    public PriceSeries getSeries(String coinId, TimeInterval interval, LocalDateTime from, LocalDateTime to,
+                                 Integer maxPoints) {
+        Optional<PriceSeries> cached = recentPriceCache.find(coinId, interval, from, to);
+        if (cached.isPresent()) {
+            cacheHits.increment();
+            PriceSeries series = cached.get();
+            if (maxPoints == null || series.size() <= maxPoints) {
+                return series;
+            }
+            SeriesSink sink = sinkFor(maxPoints, from, to);
+            for (int i = 0; i < series.size(); i++) {
+                sink.add(series.timestamps()[i], series.open()[i], series.high()[i], series.low()[i],
+                        series.close()[i], series.marketCap()[i], series.volume()[i]);
+            }
+            return sink.toSeries(coinId, interval);
+        }
+        cacheMisses.increment();
+        // 행을 받는 대로 버킷에 넣으므로 전체 구간을 메모리에 올리지 않는다
+        SeriesSink sink = sinkFor(maxPoints, from, to);
+        readRepository.streamRange(interval, coinId, from, to,
+                (id, ts, o, h, l, c, cap, vol) -> sink.add(ts, o, h, l, c, cap, vol));
+        return sink.toSeries(coinId, interval);
+    }
+
+    /**
+     * 여러 코인의 [from, to) 종가를 간격 버킷 시작 시각으로 맞춘 공통 축 위에 놓는다.
+     * 모든 코인이 링 버퍼 범위 안이면 메모리에서, 아니면 한 번의 IN 쿼리로 읽는다.
+     */
+    public PriceComparisonDto compare(List<String> coinIds, TimeInterval interval, LocalDateTime from,
+                                      LocalDateTime to, boolean normalize) {
+        Map<String, PriceSeries> seriesByCoin = new LinkedHashMap<>();
+        for (String coinId : coinIds) {
+            Optional<PriceSeries> cached = recentPriceCache.find(coinId, interval, from, to);
+            if (cached.isEmpty()) {
+                seriesByCoin.clear();
+                break;
+            }
+            seriesByCoin.put(coinId, cached.get());
+        }
+        if (seriesByCoin.isEmpty()) {
+            cacheMisses.increment();
+            Map<String, PriceSeriesBuffer> buffers = new LinkedHashMap<>();
+            coinIds.forEach(coinId -> buffers.put(coinId, new PriceSeriesBuffer(64)));
+            readRepository.streamRange(interval, coinIds, from, to,
+                    (coinId, ts, o, h, l, c, cap, vol) -> buffers.get(coinId).add(ts, o, h, l, c, cap, vol));
+            buffers.forEach((coinId, buffer) -> seriesByCoin.put(coinId, buffer.toSeries(coinId, interval)));
+        } else {
+            cacheHits.increment();
+        }
+
+        // 원본 5분 점은 수집 시각 그대로라 코인마다 초 단위가 다를 수 있어 버킷 시작으로 맞춘다
+        TreeSet<Long> axisSet = new TreeSet<>();
+        Map<String, long[]> alignedByCoin = new LinkedHashMap<>();
+        seriesByCoin.forEach((coinId, series) -> {
+            long[] aligned = new long[series.size()];
+            for (int i = 0; i < series.size(); i++) {
+                aligned[i] = PriceSeries.toEpochMillis(
+                        interval.bucketStart(PriceSeries.fromEpochMillis(series.timestamps()[i])));
+                axisSet.add(aligned[i]);
+            }
+            alignedByCoin.put(coinId, aligned);
+        });
+        long[] axis = axisSet.stream().mapToLong(Long::longValue).toArray();
+
+        List<PriceComparisonDto.Series> result = new ArrayList<>(seriesByCoin.size());
+        seriesByCoin.forEach((coinId, series) -> {
+            Double[] values = new Double[axis.length];
+            long[] aligned = alignedByCoin.get(coinId);
+            double base = series.size() > 0 ? series.close()[0] : Double.NaN;
+            for (int i = 0; i < series.size(); i++) {
+                double close = series.close()[i];
+                double value = normalize ? (close / base - 1) * 100 : close;
+                values[Arrays.binarySearch(axis, aligned[i])] = Double.isFinite(value) ? value : null;
+            }
+            result.add(PriceComparisonDto.Series.builder()
+                    .coinId(coinId)
+                    .basePrice(series.size() > 0 ? base : null)
+                    .values(Arrays.asList(values))
+                    .build());
+        });
+
+        return PriceComparisonDto.builder()
+                .interval(interval)
+                .normalized(normalize)
+                .timestamps(Arrays.stream(axis).mapToObj(PriceSeries::fromEpochMillis).toList())
+                .series(result)
+                .build();
+    }
+
+    /**
+     * 간격을 지정하지 않은 요청의 간격을 고른다.
+     * maxPoints 가 없으면 HOUR_1, 있으면 구간 안 점 수가 maxPoints 이상인 가장 굵은 저장 간격을 고르고,
+     * 보존 기간 때문에 from 까지 남아 있지 않은 간격은 건너뛴다.
+     */
+    public TimeInterval resolveInterval(LocalDateTime from, LocalDateTime to, Integer maxPoints) {
+        if (maxPoints == null) {
+            return TimeInterval.HOUR_1;
+        }
+        Duration range = Duration.between(from, to);
+        Map<TimeInterval, Duration> retention = retentionService.policy();
+        LocalDateTime now = LocalDateTime.now();
+        TimeInterval chosen = null;
+        for (TimeInterval interval : STORED_INTERVALS) {
+            Duration keep = retention.get(interval);
+            if (keep != null && from.isBefore(now.minus(keep))) {
+                continue;
+            }
+            if (chosen == null || range.dividedBy(interval.getLength()) >= maxPoints) {
+                chosen = interval;
+            }
+        }
+        return chosen != null ? chosen : STORED_INTERVALS.get(STORED_INTERVALS.size() - 1);
+    }
+
+    private static SeriesSink sinkFor(Integer maxPoints, LocalDateTime from, LocalDateTime to) {
+        return maxPoints != null
+                ? new LttbDownsampler(maxPoints, PriceSeries.toEpochMillis(from), PriceSeries.toEpochMillis(to))
+                : new PriceSeriesBuffer(256);
+    }
+
+    public static List<PriceHistoryDto> toDtos(PriceSeries series) {
+        List<PriceHistoryDto> dtos = new ArrayList<>(series.size());
+        for (int i = 0; i < series.size(); i++) {
+            dtos.add(PriceHistoryDto.builder()
+                    .timestamp(PriceSeries.fromEpochMillis(series.timestamps()[i]))
+                    .open(decimal(series.open()[i]))
+                    .high(decimal(series.high()[i]))
+                    .low(decimal(series.low()[i]))
+                    .price(decimal(series.close()[i]))
+                    .marketCap(decimal(series.marketCap()[i]))
+                    .volume(decimal(series.volume()[i]))
+                    .build());
+        }
+        return dtos;
+    }
+
+    private static BigDecimal decimal(double value) {
+        return Double.isNaN(value) ? null : BigDecimal.valueOf(value);
+    }
+}
@@ -0,0 +1,146 @@
+package com.cryptoguide.api.service.market.history;
+
+import com.cryptoguide.api.entity.PriceHistory.TimeInterval;
+import com.cryptoguide.api.service.market.history.model.PriceSeries;
+
+/**
+ * 한 코인·한 간격의 최근 점을 원시 배열에 돌려 담는다. 배열은 작게 시작해 maxCapacity 까지 두 배씩 늘린다.
+ * 시각이 마지막 점과 같으면 같은 캔들로 보고 접고(고가 max, 저가 min, 종가·시총·거래량 교체), 더 이르면 버린다.
+ * completeAfter 이후 구간은 DB 와 같은 내용을 모두 갖고 있다.
+ */
+final class PriceRing {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final String coinId;
+    private final TimeInterval interval;
+    private final int maxCapacity;
+    private long[] timestamps;
+    private double[] open;
+    private double[] high;
+    private double[] low;
+    private double[] close;
+    private double[] marketCap;
+    private double[] volume;
+
+    /** 가장 오래된 점의 위치 */
+    private int head;
+    private int size;
+    /** 이 시각(epoch millis)보다 뒤의 점은 빠짐없이 들어 있다 */
+    private long completeAfter;
+
+    PriceRing(String coinId, TimeInterval interval, int maxCapacity, long completeAfter) {
+        this.coinId = coinId;
+        this.interval = interval;
+        this.maxCapacity = maxCapacity;
+        allocate(Math.min(maxCapacity, INITIAL_CAPACITY));
+        this.completeAfter = completeAfter;
+    }
+
+    synchronized void add(long timestamp, double o, double h, double l, double c, double cap, double vol) {
+        if (size > 0) {
+            int last = index(size - 1);
+            if (timestamp < timestamps[last]) {
+                return;
+            }
+            if (timestamp == timestamps[last]) {
+                high[last] = Math.max(high[last], h);
+                low[last] = Math.min(low[last], l);
+                close[last] = c;
+                marketCap[last] = cap;
+                volume[last] = vol;
+                return;
+            }
+        }
+        if (size == timestamps.length && size < maxCapacity) {
+            grow();
+        }
+        int slot;
+        if (size == timestamps.length) {
+            slot = head;
+            completeAfter = Math.max(completeAfter, timestamps[head]);
+            head = index(1);
+        } else {
+            slot = index(size);
+            size++;
+        }
+        timestamps[slot] = timestamp;
+        open[slot] = o;
+        high[slot] = h;
+        low[slot] = l;
+        close[slot] = c;
+        marketCap[slot] = cap;
+        volume[slot] = vol;
+    }
+
+    synchronized boolean covers(long from) {
+        return from > completeAfter;
+    }
+
+    /** [from, to) 구간 점을 복사해 돌려준다. */
+    synchronized PriceSeries slice(long from, long to) {
+        int start = 0;
+        while (start < size && timestamps[index(start)] < from) {
+            start++;
+        }
+        int end = start;
+        while (end < size && timestamps[index(end)] < to) {
+            end++;
+        }
+        int n = end - start;
+        long[] ts = new long[n];
+        double[] o = new double[n];
+        double[] h = new double[n];
+        double[] l = new double[n];
+        double[] c = new double[n];
+        double[] cap = new double[n];
+        double[] vol = new double[n];
+        for (int i = 0; i < n; i++) {
+            int at = index(start + i);
+            ts[i] = timestamps[at];
+            o[i] = open[at];
+            h[i] = high[at];
+            l[i] = low[at];
+            c[i] = close[at];
+            cap[i] = marketCap[at];
+            vol[i] = volume[at];
+        }
+        return new PriceSeries(coinId, interval, ts, o, h, l, c, cap, vol);
+    }
+
+    static PriceSeries empty(String coinId, TimeInterval interval) {
+        double[] none = new double[0];
+        return new PriceSeries(coinId, interval, new long[0], none, none, none, none, none, none);
+    }
+
+    /** 담긴 점을 오래된 순으로 앞에 두고 배열을 두 배(최대 maxCapacity)로 늘린다. */
+    private void grow() {
+        long[] oldTimestamps = timestamps;
+        double[][] old = {open, high, low, close, marketCap, volume};
+        int oldHead = head;
+        allocate(Math.min(maxCapacity, timestamps.length * 2));
+        double[][] grown = {open, high, low, close, marketCap, volume};
+        int tail = oldTimestamps.length - oldHead;
+        System.arraycopy(oldTimestamps, oldHead, timestamps, 0, tail);
+        System.arraycopy(oldTimestamps, 0, timestamps, tail, oldHead);
+        for (int i = 0; i < old.length; i++) {
+            System.arraycopy(old[i], oldHead, grown[i], 0, tail);
+            System.arraycopy(old[i], 0, grown[i], tail, oldHead);
+        }
+        head = 0;
+    }
+
+    private void allocate(int capacity) {
+        timestamps = new long[capacity];
+        open = new double[capacity];
+        high = new double[capacity];
+        low = new double[capacity];
+        close = new double[capacity];
+        marketCap = new double[capacity];
+        volume = new double[capacity];
+    }
+
+    private int index(int offset) {
+        return (head + offset) % timestamps.length;
+    }
+}
@@ -0,0 +1,180 @@
+package com.cryptoguide.api.service.market.history;
+
+import com.cryptoguide.api.entity.Cryptocurrency;
+import com.cryptoguide.api.entity.PriceHistory;
+import com.cryptoguide.api.entity.PriceHistory.TimeInterval;
+import com.cryptoguide.api.repository.CryptocurrencyBulkRepository;
+import com.cryptoguide.api.repository.PriceHistoryRepository;
+import com.cryptoguide.api.service.market.history.model.RollupRebuildResult;
+import com.cryptoguide.api.service.market.pipeline.model.CoinMarketRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 5분 원본 점을 상위 간격(15분·1시간·4시간·1일·1주) OHLC 캔들로 접는다.
+ * 수집 시에는 새 점만 각 캔들에 누적하고(과거 이력을 다시 읽지 않음), 빈 구간이 생기면 rebuild 로 원본에서 다시 계산한다.
+ * bulk-write 모드는 PostgreSQL upsert/date_bin 을, dev(H2) 는 JPA 로 같은 규칙을 적용한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PriceRollupService {
+
+    /** 수집 주기가 남기는 원본 간격 */
+    public static final TimeInterval RAW_INTERVAL = TimeInterval.MINUTE_5;
+
+    private final CryptocurrencyBulkRepository bulkRepository;
+    private final PriceHistoryRepository priceHistoryRepository;
+
+    @Value("${ingestion.market.bulk-write:true}")
+    private boolean bulkWrite;
+
+    @Value("${ingestion.market.batch-size:500}")
+    private int batchSize;
+
+    public static List<TimeInterval> coarserThan(TimeInterval source) {
+        return Arrays.stream(TimeInterval.values())
+                .filter(interval -> interval.isCoarserThan(source))
+                .toList();
+    }
+
+    /** bulk 경로: 호출하는 쪽 트랜잭션 안에서 이번 주기 점을 상위 캔들에 접는다. */
+    public void fold(List<CoinMarketRecord> records, Map<String, Long> idsByCoinId, LocalDateTime pointTime) {
+        if (records.isEmpty()) {
+            return;
+        }
+        bulkRepository.foldRollups(records, idsByCoinId, coarserThan(RAW_INTERVAL), pointTime, batchSize);
+    }
+
+    /** JPA 경로: 간격마다 해당 버킷 캔들을 한 번에 읽어 갱신한다. */
+    public void fold(List<Cryptocurrency> coins, LocalDateTime pointTime) {
+        if (coins.isEmpty()) {
+            return;
+        }
+        for (TimeInterval target : coarserThan(RAW_INTERVAL)) {
+            LocalDateTime bucket = target.bucketStart(pointTime);
+            Map<Long, PriceHistory> existing = priceHistoryRepository
+                    .findByIntervalAndTimestampAndCryptocurrencyIn(target, bucket, coins)
+                    .stream()
+                    .collect(Collectors.toMap(p -> p.getCryptocurrency().getId(), Function.identity()));
+
+            List<PriceHistory> candles = new ArrayList<>(coins.size());
+            for (Cryptocurrency coin : coins) {
+                PriceHistory candle = existing.get(coin.getId());
+                if (candle == null) {
+                    candle = PriceHistory.builder().cryptocurrency(coin).interval(target).timestamp(bucket).build();
+                }
+                BigDecimal price = coin.getCurrentPrice();
+                foldPoint(candle, price, price, price, price, coin.getMarketCap(), coin.getTotalVolume());
+                candles.add(candle);
+            }
+            priceHistoryRepository.saveAll(candles);
+        }
+    }
+
+    /**
+     * [from, to) 의 source 간격 점으로 더 굵은 간격 캔들을 다시 만든다.
+     * 구간은 간격별 버킷 경계로 넓혀서, 경계에 걸친 캔들도 일부 점만으로 덮어쓰지 않게 한다.
+     * 원본 5분 점이 보존 기간으로 지워진 구간은 sourceInterval 을 HOUR_1 등으로 올려서 다시 만든다.
+     */
+    @Transactional
+    public RollupRebuildResult rebuild(TimeInterval source, LocalDateTime from, LocalDateTime to) {
+        return rebuild(source, from, to, null);
+    }
+
+    /** rebuild 와 같되 coinIds 코인의 캔들만 다시 만든다 (null 이면 전체). */
+    @Transactional
+    public RollupRebuildResult rebuild(TimeInterval source, LocalDateTime from, LocalDateTime to,
+                                       Collection<String> coinIds) {
+        long startedAt = System.nanoTime();
+        Map<TimeInterval, Integer> candles = new LinkedHashMap<>();
+        for (TimeInterval target : coarserThan(source)) {
+            LocalDateTime alignedFrom = target.bucketStart(from);
+            LocalDateTime lastBucket = target.bucketStart(to);
+            LocalDateTime alignedTo = lastBucket.equals(to) ? to : lastBucket.plus(target.getLength());
+            int count = bulkWrite
+                    ? bulkRepository.rebuildRollups(source, target, alignedFrom, alignedTo, coinIds)
+                    : rebuildWithRepositories(source, target, alignedFrom, alignedTo, coinIds);
+            candles.put(target, count);
+        }
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("Rollup rebuild finished. source={}, from={}, to={}, coins={}, candles={}, elapsedMs={}",
+                source, from, to, coinIds != null ? coinIds.size() : "all", candles, elapsedMillis);
+        return new RollupRebuildResult(source, from, to, candles, elapsedMillis);
+    }
+
+    private int rebuildWithRepositories(TimeInterval source, TimeInterval target, LocalDateTime from, LocalDateTime to,
+                                        Collection<String> coinIds) {
+        if (coinIds != null && coinIds.isEmpty()) {
+            return 0;
+        }
+        Map<CandleKey, PriceHistory> existing = new HashMap<>();
+        for (PriceHistory candle : findInRange(target, from, to, coinIds)) {
+            existing.put(new CandleKey(candle.getCryptocurrency().getId(), candle.getTimestamp()), candle);
+        }
+
+        Map<CandleKey, PriceHistory> rebuilt = new LinkedHashMap<>();
+        for (PriceHistory point : findInRange(source, from, to, coinIds)) {
+            Cryptocurrency coin = point.getCryptocurrency();
+            LocalDateTime bucket = target.bucketStart(point.getTimestamp());
+            PriceHistory candle = rebuilt.computeIfAbsent(new CandleKey(coin.getId(), bucket), key -> {
+                PriceHistory c = existing.get(key);
+                if (c == null) {
+                    return PriceHistory.builder().cryptocurrency(coin).interval(target).timestamp(bucket).build();
+                }
+                c.setOpen(null);
+                c.setHigh(null);
+                c.setLow(null);
+                return c;
+            });
+            BigDecimal price = point.getPrice();
+            foldPoint(candle,
+                    point.getOpen() != null ? point.getOpen() : price,
+                    point.getHigh() != null ? point.getHigh() : price,
+                    point.getLow() != null ? point.getLow() : price,
+                    price,
+                    point.getMarketCap(),
+                    point.getVolume());
+        }
+        priceHistoryRepository.saveAll(rebuilt.values());
+        return rebuilt.size();
+    }
+
+    private List<PriceHistory> findInRange(TimeInterval interval, LocalDateTime from, LocalDateTime to,
+                                           Collection<String> coinIds) {
+        return coinIds == null
+                ? priceHistoryRepository.findByIntervalInRange(interval, from, to)
+                : priceHistoryRepository.findByIntervalInRangeForCoins(interval, from, to, coinIds);
+    }
+
+    /** 시간순으로 들어오는 점 하나를 캔들에 누적한다. 시가는 처음 값, 종가·시총·거래량은 마지막 값. */
+    private static void foldPoint(PriceHistory candle, BigDecimal open, BigDecimal high, BigDecimal low,
+                                  BigDecimal close, BigDecimal marketCap, BigDecimal volume) {
+        if (candle.getOpen() == null) {
+            candle.setOpen(open);
+        }
+        candle.setHigh(candle.getHigh() == null ? high : candle.getHigh().max(high));
+        candle.setLow(candle.getLow() == null ? low : candle.getLow().min(low));
+        candle.setPrice(close);
+        candle.setMarketCap(marketCap);
+        candle.setVolume(volume);
+    }
+
+    private record CandleKey(Long cryptocurrencyId, LocalDateTime bucket) {
+    }
+}
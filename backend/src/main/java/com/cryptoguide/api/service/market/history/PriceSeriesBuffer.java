@@ -0,0 +1,82 @@
+package com.cryptoguide.api.service.market.history;
+
+import com.cryptoguide.api.entity.PriceHistory.TimeInterval;
+import com.cryptoguide.api.service.market.history.model.PriceSeries;
+
+import java.util.Arrays;
+
+/**
+ * 시간순으로 들어오는 점을 원시 배열에 모은다. 스트리밍 조회와 다운샘플링의 버킷 버퍼로 같이 쓴다.
+ */
+final class PriceSeriesBuffer implements SeriesSink {
+
+    private static final int OPEN = 0;
+    private static final int HIGH = 1;
+    private static final int LOW = 2;
+    private static final int CLOSE = 3;
+    private static final int MARKET_CAP = 4;
+    private static final int VOLUME = 5;
+
+    private long[] timestamps;
+    private final double[][] columns;
+    private int size;
+
+    PriceSeriesBuffer(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 4);
+        this.timestamps = new long[capacity];
+        this.columns = new double[6][capacity];
+    }
+
+    @Override
+    public void add(long ts, double o, double h, double l, double c, double cap, double vol) {
+        if (size == timestamps.length) {
+            int capacity = size * 2;
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = Arrays.copyOf(columns[i], capacity);
+            }
+        }
+        timestamps[size] = ts;
+        columns[OPEN][size] = o;
+        columns[HIGH][size] = h;
+        columns[LOW][size] = l;
+        columns[CLOSE][size] = c;
+        columns[MARKET_CAP][size] = cap;
+        columns[VOLUME][size] = vol;
+        size++;
+    }
+
+    /** other 의 i 번째 점을 이 버퍼 끝에 붙인다. */
+    void addFrom(PriceSeriesBuffer other, int i) {
+        add(other.timestamps[i], other.columns[OPEN][i], other.columns[HIGH][i], other.columns[LOW][i],
+                other.columns[CLOSE][i], other.columns[MARKET_CAP][i], other.columns[VOLUME][i]);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long timestamp(int i) {
+        return timestamps[i];
+    }
+
+    double close(int i) {
+        return columns[CLOSE][i];
+    }
+
+    void removeLast() {
+        size--;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    @Override
+    public PriceSeries toSeries(String coinId, TimeInterval interval) {
+        return new PriceSeries(coinId, interval, Arrays.copyOf(timestamps, size),
+                Arrays.copyOf(columns[OPEN], size), Arrays.copyOf(columns[HIGH], size),
+                Arrays.copyOf(columns[LOW], size), Arrays.copyOf(columns[CLOSE], size),
+                Arrays.copyOf(columns[MARKET_CAP], size), Arrays.copyOf(columns[VOLUME], size));
+    }
+}
@@ -0,0 +1,298 @@
+package com.cryptoguide.api.service.market.history;
+
+import com.cryptoguide.api.entity.PriceHistory.TimeInterval;
+import com.cryptoguide.api.dto.CryptocurrencyDto;
+import com.cryptoguide.api.repository.PriceHistoryReadRepository;
+import com.cryptoguide.api.service.market.history.model.PriceSeries;
+import com.cryptoguide.api.service.market.pipeline.MarketDataVersionPublisher;
+import com.cryptoguide.api.service.market.pipeline.model.MarketDataChangedEvent;
+import com.cryptoguide.api.service.market.pipeline.model.PriceHistoryAppendedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 코인별 최근 window 구간의 시세 점을 메모리에 들고 있는 링 버퍼.
+ * 기동 시 DB 에서 채우고, 이후에는 수집 커밋마다 원본 점을 넣으면서 상위 간격 캔들도 DB 와 같은 규칙으로 접는다.
+ * 요청 구간 시작이 버퍼가 빠짐없이 가진 구간 안이면 DB 없이 답하고, 아니면 빈 Optional 을 돌려 DB 로 넘긴다.
+ * 시총 순위 상위 max-coins 개 코인만 담고, 수집 주기마다 순위 밖으로 밀려난 코인의 링은 버린다.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RecentPriceCache {
+
+    private final PriceHistoryReadRepository readRepository;
+    private final MarketDataVersionPublisher versionPublisher;
+
+    @Value("${ingestion.recent-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ingestion.recent-cache.window:24h}")
+    private Duration window;
+
+    @Value("${ingestion.recent-cache.max-coins:1000}")
+    private int maxCoins;
+
+    private volatile Map<String, PriceRing[]> rings = new ConcurrentHashMap<>();
+    /** 적재 중 들어온 수집 이벤트. 적재가 끝나면 다시 적용한다 (같은 점을 두 번 접어도 결과가 같다). */
+    private final List<PriceHistoryAppendedEvent> pending = new ArrayList<>();
+    private volatile boolean ready;
+    private boolean loading;
+    /** 버퍼에 담는 코인 (시총 순위 상위 max-coins 개) */
+    private volatile Set<String> tracked = Set.of();
+    /** 코인 일부를 다시 읽는 중인 횟수와, 그동안 들어온 수집 이벤트 (다시 읽은 링에 한 번 더 적용한다) */
+    private int partialLoads;
+    private final List<PriceHistoryAppendedEvent> replay = new ArrayList<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    /** DB 에서 최근 window 구간을 다시 읽어 버퍼를 통째로 바꾼다. */
+    public void reload() {
+        synchronized (this) {
+            loading = true;
+        }
+        long startedAt = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime to = now.plusDays(1);
+        Map<String, PriceRing[]> loaded = new ConcurrentHashMap<>();
+        long[] after = windowStart(now);
+        Set<String> coins;
+        int points = 0;
+        try {
+            coins = topCoins();
+            // 구간에 행이 없는 코인도 빈 링을 둬서 적재 이후 점만으로 답하게 한다
+            coins.forEach(coinId -> loaded.put(coinId, newRings(coinId, after)));
+            for (TimeInterval interval : coins.isEmpty() ? List.<TimeInterval>of() : bufferedIntervals()) {
+                LocalDateTime from = PriceSeries.fromEpochMillis(after[interval.ordinal()] + 1);
+                int[] count = {0};
+                readRepository.streamRange(interval, coins, from, to, (coinId, ts, o, h, l, c, cap, vol) -> {
+                    loaded.get(coinId)[interval.ordinal()].add(ts, o, h, l, c, cap, vol);
+                    count[0]++;
+                });
+                points += count[0];
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to load recent price cache; chart queries will use the database", e);
+            synchronized (this) {
+                loading = false;
+                pending.clear();
+            }
+            return;
+        }
+
+        synchronized (this) {
+            rings = loaded;
+            tracked = coins;
+            pending.forEach(this::apply);
+            pending.clear();
+            loading = false;
+            ready = true;
+        }
+        log.info("Recent price cache loaded. coins={}, points={}, window={}, elapsedMs={}",
+                loaded.size(), points, window, (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    /**
+     * 지정 코인의 링만 DB 에서 다시 읽어 바꾼다. 백필처럼 수집 밖에서 최근 구간 행이 바뀐 코인에 쓴다.
+     * 읽는 동안 들어온 수집 이벤트는 기존 링에도 적용되고, 교체 후 새 링에 한 번 더 적용된다.
+     */
+    public void reload(Collection<String> coinIds) {
+        Set<String> reloaded = coinIds.stream().filter(tracked::contains).collect(Collectors.toSet());
+        synchronized (this) {
+            if (!enabled || !ready || loading || reloaded.isEmpty()) {
+                // 전체 적재 중이면 그 적재가 이미 바뀐 행을 읽는다
+                return;
+            }
+            partialLoads++;
+        }
+        long startedAt = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime to = now.plusDays(1);
+        Map<String, PriceRing[]> loaded = new HashMap<>();
+        long[] after = windowStart(now);
+        // 구간에 행이 없는 코인도 빈 링으로 바꿔 둔다
+        reloaded.forEach(coinId -> loaded.put(coinId, newRings(coinId, after)));
+        boolean swapped = false;
+        try {
+            for (TimeInterval interval : bufferedIntervals()) {
+                LocalDateTime from = PriceSeries.fromEpochMillis(after[interval.ordinal()] + 1);
+                readRepository.streamRange(interval, reloaded, from, to, (coinId, ts, o, h, l, c, cap, vol) ->
+                        loaded.get(coinId)[interval.ordinal()].add(ts, o, h, l, c, cap, vol));
+            }
+            swapped = true;
+        } catch (RuntimeException e) {
+            log.error("Failed to reload recent price cache for {} coins; keeping the current buffers", reloaded.size(), e);
+        } finally {
+            synchronized (this) {
+                if (swapped) {
+                    // 읽는 사이 순위 밖으로 밀려난 코인은 넣지 않는다
+                    loaded.keySet().retainAll(tracked);
+                    rings.putAll(loaded);
+                    replay.forEach(event -> apply(event, reloaded));
+                }
+                if (--partialLoads == 0) {
+                    replay.clear();
+                }
+            }
+        }
+        if (swapped) {
+            log.info("Recent price cache reloaded for coins. coins={}, elapsedMs={}",
+                    reloaded.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppended(PriceHistoryAppendedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (partialLoads > 0) {
+                replay.add(event);
+            }
+            if (loading) {
+                pending.add(event);
+                return;
+            }
+            if (ready) {
+                apply(event);
+            }
+        }
+    }
+
+    /**
+     * 수집 주기마다 담을 코인을 새 스냅샷 순위로 다시 정한다. 밀려난 코인의 링은 버리고,
+     * 새로 들어온 코인은 다음 수집 점부터 링을 만들어 window 가 찰 때까지는 DB 로 답한다.
+     */
+    @EventListener
+    public void onMarketDataChanged(MarketDataChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Set<String> next;
+        try {
+            next = topCoins();
+        } catch (RuntimeException e) {
+            log.warn("Failed to read market snapshot; keeping the buffered coins", e);
+            return;
+        }
+        int dropped;
+        synchronized (this) {
+            if (loading || !ready) {
+                // 전체 적재가 끝나면 그 적재가 읽은 순위를 쓴다
+                return;
+            }
+            int before = rings.size();
+            rings.keySet().retainAll(next);
+            dropped = before - rings.size();
+            tracked = next;
+        }
+        if (dropped > 0) {
+            log.info("Dropped recent price buffers for coins out of the top {}. dropped={}", maxCoins, dropped);
+        }
+    }
+
+    /** [from, to) 가 버퍼 안에 있으면 그 구간 시계열을, 아니면 빈 Optional 을 돌려준다. */
+    public Optional<PriceSeries> find(String coinId, TimeInterval interval, LocalDateTime from, LocalDateTime to) {
+        if (!ready || !bufferedIntervals().contains(interval)) {
+            return Optional.empty();
+        }
+        long fromMillis = PriceSeries.toEpochMillis(from);
+        PriceRing[] coinRings = rings.get(coinId);
+        if (coinRings == null) {
+            // 담지 않는 코인이거나, 순위에 새로 들어와 아직 수집 점이 없는 코인
+            return Optional.empty();
+        }
+        PriceRing ring = coinRings[interval.ordinal()];
+        if (!ring.covers(fromMillis)) {
+            return Optional.empty();
+        }
+        return Optional.of(ring.slice(fromMillis, PriceSeries.toEpochMillis(to)));
+    }
+
+    private void apply(PriceHistoryAppendedEvent event) {
+        apply(event, null);
+    }
+
+    /** coinIds 가 있으면 그 코인의 점만, 없으면 담는 코인의 점만 적용한다. */
+    private void apply(PriceHistoryAppendedEvent event, Set<String> coinIds) {
+        List<TimeInterval> intervals = bufferedIntervals();
+        long[] buckets = new long[TimeInterval.values().length];
+        for (TimeInterval interval : intervals) {
+            buckets[interval.ordinal()] = PriceSeries.toEpochMillis(interval == PriceRollupService.RAW_INTERVAL
+                    ? event.pointTime()
+                    : interval.bucketStart(event.pointTime()));
+        }
+        for (PriceHistoryAppendedEvent.Point point : event.points()) {
+            if (!(coinIds != null ? coinIds : tracked).contains(point.coinId())) {
+                continue;
+            }
+            // 새로 담는 코인은 이 점의 버킷부터 쌓이므로 그 버킷 전까지만 비어 있다고 볼 수 없다 (첫 캔들은 일부만 있다)
+            PriceRing[] coinRings = rings.computeIfAbsent(point.coinId(), id -> newRings(id, buckets));
+            for (TimeInterval interval : intervals) {
+                double price = point.price();
+                coinRings[interval.ordinal()].add(buckets[interval.ordinal()], price, price, price, price,
+                        point.marketCap(), point.volume());
+            }
+        }
+    }
+
+    /** 코인의 링 배열. 담는 간격의 링을 한 번에 만들어 넣은 뒤 공개하므로 배열 자체는 다시 바뀌지 않는다. */
+    private PriceRing[] newRings(String coinId, long[] completeAfter) {
+        PriceRing[] coinRings = new PriceRing[TimeInterval.values().length];
+        for (TimeInterval interval : bufferedIntervals()) {
+            int capacity = (int) (window.toMillis() / interval.getLength().toMillis()) + 2;
+            coinRings[interval.ordinal()] = new PriceRing(coinId, interval, capacity, completeAfter[interval.ordinal()]);
+        }
+        return coinRings;
+    }
+
+    /** 현재 스냅샷의 시총 순위 상위 max-coins 개 코인 */
+    private Set<String> topCoins() {
+        return versionPublisher.current().snapshot().coins().stream()
+                .limit(Math.max(maxCoins, 0))
+                .map(CryptocurrencyDto::getCoinId)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /** 간격별 window 시작 버킷 직전 시각. 링은 이 시각 뒤로 빠짐없이 채워진다. */
+    private long[] windowStart(LocalDateTime now) {
+        long[] after = new long[TimeInterval.values().length];
+        for (TimeInterval interval : bufferedIntervals()) {
+            after[interval.ordinal()] = PriceSeries.toEpochMillis(interval.bucketStart(now.minus(window))) - 1;
+        }
+        return after;
+    }
+
+    /** 원본 간격과, window 보다 짧은 상위 간격만 담는다. */
+    private List<TimeInterval> bufferedIntervals() {
+        return Arrays.stream(TimeInterval.values())
+                .filter(interval -> interval == PriceRollupService.RAW_INTERVAL
+                        || (interval.isCoarserThan(PriceRollupService.RAW_INTERVAL)
+                            && interval.getLength().compareTo(window) < 0))
+                .toList();
+    }
+}
@@ -0,0 +1,14 @@
+package com.cryptoguide.api.service.market.history;
+
+import com.cryptoguide.api.entity.PriceHistory.TimeInterval;
+import com.cryptoguide.api.service.market.history.model.PriceSeries;
+
+/**
+ * 시간순 점을 받아 최종 시계열을 만드는 쪽. 그대로 모으거나(PriceSeriesBuffer) 줄여서 모은다(LttbDownsampler).
+ */
+interface SeriesSink {
+
+    void add(long ts, double o, double h, double l, double c, double cap, double vol);
+
+    PriceSeries toSeries(String coinId, TimeInterval interval);
+}
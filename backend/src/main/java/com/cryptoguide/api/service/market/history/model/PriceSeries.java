@@ -0,0 +1,36 @@
+package com.cryptoguide.api.service.market.history.model;
+
+import com.cryptoguide.api.entity.PriceHistory;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 한 코인·한 간격의 시계열을 열(column) 단위 원시 배열로 담는다.
+ * 시각은 LocalDateTime 을 UTC 로 간주한 epoch millis 이고, 값이 없는 칸은 NaN 이다.
+ */
+public record PriceSeries(
+        String coinId,
+        PriceHistory.TimeInterval interval,
+        long[] timestamps,
+        double[] open,
+        double[] high,
+        double[] low,
+        double[] close,
+        double[] marketCap,
+        double[] volume
+) {
+
+    public int size() {
+        return timestamps.length;
+    }
+
+    public static long toEpochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L),
+                (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+}
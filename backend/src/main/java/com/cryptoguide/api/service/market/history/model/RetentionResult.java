@@ -0,0 +1,21 @@
+package com.cryptoguide.api.service.market.history.model;
+
+import com.cryptoguide.api.entity.PriceHistory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+public record RetentionResult(
+        LocalDateTime startedAt,
+        Map<PriceHistory.TimeInterval, Long> deletedRows,
+        List<String> droppedPartitions,
+        int chunks,
+        boolean completed,
+        long elapsedMillis
+) {
+
+    public long totalDeletedRows() {
+        return deletedRows.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
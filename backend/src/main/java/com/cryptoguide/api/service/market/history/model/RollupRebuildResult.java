@@ -0,0 +1,15 @@
+package com.cryptoguide.api.service.market.history.model;
+
+import com.cryptoguide.api.entity.PriceHistory;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record RollupRebuildResult(
+        PriceHistory.TimeInterval sourceInterval,
+        LocalDateTime from,
+        LocalDateTime to,
+        Map<PriceHistory.TimeInterval, Integer> candles,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,257 @@
+package com.cryptoguide.api.service.market.indicator;
+
+import com.cryptoguide.api.dto.IndicatorDto;
+import com.cryptoguide.api.entity.CoinIndicatorState;
+import com.cryptoguide.api.entity.PriceHistory.TimeInterval;
+import com.cryptoguide.api.repository.CoinIndicatorStateRepository;
+import com.cryptoguide.api.repository.CryptocurrencyRepository;
+import com.cryptoguide.api.repository.PriceHistoryReadRepository;
+import com.cryptoguide.api.service.market.history.model.PriceSeries;
+import com.cryptoguide.api.service.market.indicator.model.IndicatorRebuildResult;
+import com.cryptoguide.api.service.market.pipeline.model.PriceHistoryAppendedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 코인별 기술 지표(SMA/EMA, RSI, 볼린저 폭, 변동성, 최대 낙폭)를 메모리에서 증분 계산한다.
+ * 수집 커밋마다 원본 점을 interval 캔들의 종가로 넣어 O(1) 로 갱신하고, 상태는 주기적으로 coin_indicator_states 에 저장한다.
+ * 기동 시 저장본에서 이어 가며(저장 이후 캔들은 price_history 로 따라잡음), 저장본이 없거나 재구성을 요청하면 lookback 구간 캔들로 다시 만든다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IndicatorService {
+
+    private final PriceHistoryReadRepository readRepository;
+    private final CoinIndicatorStateRepository stateRepository;
+    private final CryptocurrencyRepository cryptoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${ingestion.indicators.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ingestion.indicators.interval:HOUR_1}")
+    private TimeInterval interval;
+
+    @Value("${ingestion.indicators.lookback:90d}")
+    private Duration lookback;
+
+    private final Map<String, IndicatorState> states = new ConcurrentHashMap<>();
+    /** 적재 중 들어온 수집 이벤트. 적재가 끝나면 다시 적용한다 (같은 버킷 종가를 다시 넣어도 결과가 같다). */
+    private final List<PriceHistoryAppendedEvent> pending = new ArrayList<>();
+    private volatile boolean ready;
+    private boolean loading;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            load(null, true);
+        } catch (RuntimeException e) {
+            // load 에서 이미 기록했다. 지표 요청은 재구성 전까지 빈 결과로 답한다
+        }
+    }
+
+    /** coinIds(null 이면 전체) 의 상태를 price_history 의 lookback 구간으로 처음부터 다시 만든다. */
+    public IndicatorRebuildResult rebuild(Collection<String> coinIds) {
+        return load(coinIds, false);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAppended(PriceHistoryAppendedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (loading) {
+                pending.add(event);
+                return;
+            }
+            if (ready) {
+                apply(event);
+            }
+        }
+    }
+
+    public Optional<IndicatorDto> find(String coinId) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        IndicatorState state = states.get(coinId);
+        IndicatorState.Values values = state != null ? state.values() : null;
+        if (values == null) {
+            return Optional.empty();
+        }
+
+        Map<Integer, Double> sma = new LinkedHashMap<>();
+        for (int i = 0; i < IndicatorState.SMA_WINDOWS.length; i++) {
+            sma.put(IndicatorState.SMA_WINDOWS[i], finite(values.sma()[i]));
+        }
+        Map<Integer, Double> ema = new LinkedHashMap<>();
+        for (int i = 0; i < IndicatorState.EMA_WINDOWS.length; i++) {
+            ema.put(IndicatorState.EMA_WINDOWS[i], finite(values.ema()[i]));
+        }
+        double periodsPerYear = (double) Duration.ofDays(365).toMillis() / interval.getLength().toMillis();
+
+        return Optional.of(IndicatorDto.builder()
+                .coinId(coinId)
+                .interval(interval)
+                .asOf(PriceSeries.fromEpochMillis(values.asOf()))
+                .candles(values.candles())
+                .sma(sma)
+                .ema(ema)
+                .rsi(finite(values.rsi()))
+                .bollingerWidth(finite(values.bollingerWidth()))
+                .volatility(finite(values.volatility() * Math.sqrt(periodsPerYear)))
+                .maxDrawdown(finite(values.maxDrawdown()))
+                .trackedSince(PriceSeries.fromEpochMillis(values.trackedSince()))
+                .build());
+    }
+
+    /** 바뀐 코인의 상태를 저장하고 저장한 코인 수를 돌려준다. */
+    @Scheduled(initialDelayString = "${ingestion.indicators.persist-interval:PT10M}",
+               fixedDelayString = "${ingestion.indicators.persist-interval:PT10M}")
+    public int persist() {
+        if (!ready) {
+            return 0;
+        }
+        Map<String, IndicatorState> dirty = new HashMap<>();
+        states.forEach((coinId, state) -> {
+            if (state.isDirty()) {
+                dirty.put(coinId, state);
+            }
+        });
+        if (dirty.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, CoinIndicatorState> rows = new HashMap<>();
+        stateRepository.findByCoinIdIn(dirty.keySet()).forEach(row -> rows.put(row.getCoinId(), row));
+        List<CoinIndicatorState> toSave = new ArrayList<>(dirty.size());
+        dirty.forEach((coinId, state) -> {
+            IndicatorState.Data data = state.export();
+            CoinIndicatorState row = rows.computeIfAbsent(coinId, id -> CoinIndicatorState.builder().coinId(id).build());
+            row.setInterval(interval);
+            row.setLastBucket(PriceSeries.fromEpochMillis(data.bucket()));
+            try {
+                row.setState(objectMapper.writeValueAsString(data));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed to serialize indicator state for " + coinId, e);
+            }
+            toSave.add(row);
+        });
+        transactionTemplate.executeWithoutResult(status -> stateRepository.saveAll(toSave));
+        log.debug("Persisted indicator states. coins={}", toSave.size());
+        return toSave.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            persist();
+        } catch (RuntimeException e) {
+            log.warn("Failed to persist indicator states on shutdown", e);
+        }
+    }
+
+    /**
+     * resume 이면 저장본을 복원해 저장 이후 캔들로 따라잡고, 저장본이 없는 코인만 lookback 구간으로 만든다.
+     * 아니면 coinIds(null 이면 전체) 를 lookback 구간으로 새로 만든다.
+     */
+    private IndicatorRebuildResult load(Collection<String> coinIds, boolean resume) {
+        synchronized (this) {
+            if (loading) {
+                throw new IllegalStateException("Indicator state is already loading");
+            }
+            loading = true;
+        }
+        long startedAt = System.nanoTime();
+        LocalDateTime to = LocalDateTime.now().plusDays(1);
+        Map<String, IndicatorState> loaded = new HashMap<>();
+        long[] candles = {0};
+        try {
+            if (resume) {
+                LocalDateTime since = null;
+                for (CoinIndicatorState row : stateRepository.findByInterval(interval)) {
+                    try {
+                        IndicatorState.Data data = objectMapper.readValue(row.getState(), IndicatorState.Data.class);
+                        loaded.put(row.getCoinId(), IndicatorState.restore(data));
+                        since = since == null || row.getLastBucket().isBefore(since) ? row.getLastBucket() : since;
+                    } catch (JsonProcessingException e) {
+                        log.warn("Discarding unreadable indicator state for: {}", row.getCoinId());
+                    }
+                }
+                if (since != null) {
+                    readRepository.streamRange(interval, List.copyOf(loaded.keySet()), since, to,
+                            (coinId, ts, o, h, l, c, cap, vol) -> {
+                                loaded.get(coinId).add(ts, c);
+                                candles[0]++;
+                            });
+                }
+            }
+            List<String> targets = coinIds != null ? List.copyOf(coinIds) : cryptoRepository.findAllCoinIdsByRank();
+            List<String> missing = targets.stream().filter(id -> !loaded.containsKey(id)).toList();
+            if (!missing.isEmpty()) {
+                readRepository.streamRange(interval, missing, LocalDateTime.now().minus(lookback), to,
+                        (coinId, ts, o, h, l, c, cap, vol) -> {
+                            loaded.computeIfAbsent(coinId, id -> new IndicatorState()).add(ts, c);
+                            candles[0]++;
+                        });
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to load indicator state", e);
+            synchronized (this) {
+                loading = false;
+                pending.clear();
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            states.putAll(loaded);
+            pending.forEach(this::apply);
+            pending.clear();
+            loading = false;
+            ready = true;
+        }
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("Indicator state loaded. resume={}, coins={}, candles={}, interval={}, elapsedMs={}",
+                resume, loaded.size(), candles[0], interval, elapsedMillis);
+        return new IndicatorRebuildResult(interval, loaded.size(), candles[0], elapsedMillis);
+    }
+
+    private void apply(PriceHistoryAppendedEvent event) {
+        long bucket = PriceSeries.toEpochMillis(interval.bucketStart(event.pointTime()));
+        for (PriceHistoryAppendedEvent.Point point : event.points()) {
+            states.computeIfAbsent(point.coinId(), id -> new IndicatorState()).add(bucket, point.price());
+        }
+    }
+
+    private static Double finite(double value) {
+        return Double.isFinite(value) ? value : null;
+    }
+}
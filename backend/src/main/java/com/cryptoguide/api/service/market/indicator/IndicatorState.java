@@ -0,0 +1,286 @@
+package com.cryptoguide.api.service.market.indicator;
+
+/**
+ * 한 코인의 기술 지표 증분 상태.
+ * 캔들이 확정될 때마다 이동합계·EMA·Wilder 평균·최고가를 O(1) 로 갱신하고, 진행 중인 캔들은 스칼라 복사본에 한 번 더 적용해 읽는다.
+ * 같은 버킷의 점이 다시 오면 진행 중 캔들의 종가를 바꾸고, 더 이른 버킷은 버린다.
+ */
+final class IndicatorState {
+
+    static final int[] SMA_WINDOWS = {20, 50, 200};
+    static final int[] EMA_WINDOWS = {12, 26, 50};
+    static final int RSI_PERIOD = 14;
+    static final int BOLLINGER_WINDOW = 20;
+    static final double BOLLINGER_K = 2;
+    static final int VOLATILITY_WINDOW = 24;
+
+    /** 가장 긴 이동평균 창. 이만큼의 확정 종가만 들고 있는다 */
+    private static final int CAPACITY = 200;
+
+    private final double[] closes = new double[CAPACITY];
+    private int head;
+    private int size;
+    private final double[] returns = new double[VOLATILITY_WINDOW];
+    private int returnHead;
+    private int returnSize;
+
+    private final Scalars scalars = new Scalars();
+    /** 진행 중 캔들의 버킷 시작 (epoch millis) */
+    private long bucket = Long.MIN_VALUE;
+    private double pending = Double.NaN;
+    private long trackedSince = Long.MIN_VALUE;
+    private boolean dirty;
+
+    synchronized void add(long bucketStart, double close) {
+        if (!Double.isFinite(close) || bucketStart < bucket) {
+            return;
+        }
+        if (bucketStart > bucket) {
+            if (!Double.isNaN(pending)) {
+                commit(pending);
+            }
+            if (trackedSince == Long.MIN_VALUE) {
+                trackedSince = bucketStart;
+            }
+            bucket = bucketStart;
+        }
+        pending = close;
+        dirty = true;
+    }
+
+    /** 진행 중 캔들까지 반영한 지표. 점이 하나도 없으면 null. 모자란 창의 값은 NaN 이다. */
+    synchronized Values values() {
+        if (Double.isNaN(pending)) {
+            return null;
+        }
+        Scalars s = scalars.copy();
+        advance(s, pending);
+
+        double[] sma = new double[SMA_WINDOWS.length];
+        for (int i = 0; i < SMA_WINDOWS.length; i++) {
+            sma[i] = s.count >= SMA_WINDOWS[i] ? s.sums[i] / SMA_WINDOWS[i] : Double.NaN;
+        }
+        double[] ema = new double[EMA_WINDOWS.length];
+        for (int i = 0; i < EMA_WINDOWS.length; i++) {
+            ema[i] = s.count >= EMA_WINDOWS[i] ? s.ema[i] : Double.NaN;
+        }
+
+        double rsi = Double.NaN;
+        if (s.deltas >= RSI_PERIOD) {
+            rsi = s.avgGain + s.avgLoss == 0 ? 50 : 100 - 100 / (1 + s.avgGain / s.avgLoss);
+        }
+
+        double bollingerWidth = Double.NaN;
+        if (s.count >= BOLLINGER_WINDOW) {
+            double mean = s.bollingerSum / BOLLINGER_WINDOW;
+            double variance = Math.max(s.bollingerSumSq / BOLLINGER_WINDOW - mean * mean, 0);
+            bollingerWidth = mean != 0 ? 2 * BOLLINGER_K * Math.sqrt(variance) / mean : Double.NaN;
+        }
+
+        double volatility = Double.NaN;
+        if (s.returnCount >= VOLATILITY_WINDOW) {
+            int n = s.returnCount;
+            double mean = s.returnSum / n;
+            volatility = Math.sqrt(Math.max((s.returnSumSq - n * mean * mean) / (n - 1), 0));
+        }
+
+        return new Values(bucket, s.count, trackedSince, sma, ema, rsi, bollingerWidth, volatility, s.maxDrawdown);
+    }
+
+    synchronized boolean isDirty() {
+        return dirty;
+    }
+
+    /** 저장용 사본. 이동합계는 복원할 때 종가에서 다시 더한다. */
+    synchronized Data export() {
+        dirty = false;
+        double[] orderedCloses = new double[size];
+        for (int i = 0; i < size; i++) {
+            orderedCloses[i] = closeAt(i);
+        }
+        double[] orderedReturns = new double[returnSize];
+        for (int i = 0; i < returnSize; i++) {
+            orderedReturns[i] = returns[(returnHead + i) % VOLATILITY_WINDOW];
+        }
+        return new Data(bucket, pending, trackedSince, orderedCloses, orderedReturns, scalars.ema.clone(),
+                scalars.avgGain, scalars.avgLoss, scalars.deltas, scalars.peak, scalars.maxDrawdown, scalars.count);
+    }
+
+    static IndicatorState restore(Data data) {
+        IndicatorState state = new IndicatorState();
+        for (double close : data.closes()) {
+            state.pushClose(close);
+        }
+        for (double r : data.returns()) {
+            state.pushReturn(r);
+        }
+        Scalars s = state.scalars;
+        System.arraycopy(data.ema(), 0, s.ema, 0, Math.min(data.ema().length, s.ema.length));
+        s.avgGain = data.avgGain();
+        s.avgLoss = data.avgLoss();
+        s.deltas = data.deltas();
+        s.peak = data.peak();
+        s.maxDrawdown = data.maxDrawdown();
+        s.count = data.count();
+        state.resum();
+        state.bucket = data.bucket();
+        state.pending = data.pending();
+        state.trackedSince = data.trackedSince();
+        return state;
+    }
+
+    private void commit(double close) {
+        double last = size > 0 ? closeAt(size - 1) : Double.NaN;
+        advance(scalars, close);
+        if (last > 0 && close > 0) {
+            pushReturn(Math.log(close / last));
+        }
+        pushClose(close);
+        // 이동합계의 부동소수 오차가 쌓이지 않도록 창 길이마다 다시 더한다
+        if (scalars.count % CAPACITY == 0) {
+            resum();
+        }
+    }
+
+    /** s 에 종가 하나를 확정 캔들로 반영한다. 링은 읽기만 한다. */
+    private void advance(Scalars s, double close) {
+        for (int i = 0; i < SMA_WINDOWS.length; i++) {
+            s.sums[i] += close - (size >= SMA_WINDOWS[i] ? closeAt(size - SMA_WINDOWS[i]) : 0);
+        }
+        double leaving = size >= BOLLINGER_WINDOW ? closeAt(size - BOLLINGER_WINDOW) : 0;
+        s.bollingerSum += close - leaving;
+        s.bollingerSumSq += close * close - leaving * leaving;
+
+        for (int i = 0; i < EMA_WINDOWS.length; i++) {
+            double alpha = 2.0 / (EMA_WINDOWS[i] + 1);
+            s.ema[i] = s.count == 0 ? close : alpha * close + (1 - alpha) * s.ema[i];
+        }
+
+        if (size > 0) {
+            double last = closeAt(size - 1);
+            double delta = close - last;
+            double gain = Math.max(delta, 0);
+            double loss = Math.max(-delta, 0);
+            s.deltas++;
+            if (s.deltas <= RSI_PERIOD) {
+                // 첫 주기는 단순 평균, 이후 Wilder 평활
+                s.avgGain += gain / RSI_PERIOD;
+                s.avgLoss += loss / RSI_PERIOD;
+            } else {
+                s.avgGain = (s.avgGain * (RSI_PERIOD - 1) + gain) / RSI_PERIOD;
+                s.avgLoss = (s.avgLoss * (RSI_PERIOD - 1) + loss) / RSI_PERIOD;
+            }
+            if (last > 0 && close > 0) {
+                double r = Math.log(close / last);
+                double out = returnSize == VOLATILITY_WINDOW ? returns[returnHead] : 0;
+                s.returnSum += r - out;
+                s.returnSumSq += r * r - out * out;
+                s.returnCount = Math.min(returnSize + 1, VOLATILITY_WINDOW);
+            }
+        }
+
+        s.peak = Math.max(s.peak, close);
+        if (s.peak > 0) {
+            s.maxDrawdown = Math.max(s.maxDrawdown, (s.peak - close) / s.peak);
+        }
+        s.count++;
+    }
+
+    private void resum() {
+        for (int i = 0; i < SMA_WINDOWS.length; i++) {
+            scalars.sums[i] = sumOfLast(SMA_WINDOWS[i], false);
+        }
+        scalars.bollingerSum = sumOfLast(BOLLINGER_WINDOW, false);
+        scalars.bollingerSumSq = sumOfLast(BOLLINGER_WINDOW, true);
+        double sum = 0;
+        double sumSq = 0;
+        for (int i = 0; i < returnSize; i++) {
+            double r = returns[(returnHead + i) % VOLATILITY_WINDOW];
+            sum += r;
+            sumSq += r * r;
+        }
+        scalars.returnSum = sum;
+        scalars.returnSumSq = sumSq;
+        scalars.returnCount = returnSize;
+    }
+
+    private double sumOfLast(int n, boolean squared) {
+        double sum = 0;
+        for (int i = Math.max(size - n, 0); i < size; i++) {
+            double close = closeAt(i);
+            sum += squared ? close * close : close;
+        }
+        return sum;
+    }
+
+    private void pushClose(double close) {
+        if (size == CAPACITY) {
+            closes[head] = close;
+            head = (head + 1) % CAPACITY;
+        } else {
+            closes[(head + size) % CAPACITY] = close;
+            size++;
+        }
+    }
+
+    private void pushReturn(double r) {
+        if (returnSize == VOLATILITY_WINDOW) {
+            returns[returnHead] = r;
+            returnHead = (returnHead + 1) % VOLATILITY_WINDOW;
+        } else {
+            returns[(returnHead + returnSize) % VOLATILITY_WINDOW] = r;
+            returnSize++;
+        }
+    }
+
+    /** 오래된 것부터 offset 번째 확정 종가 */
+    private double closeAt(int offset) {
+        return closes[(head + offset) % CAPACITY];
+    }
+
+    private static final class Scalars {
+        final double[] sums = new double[SMA_WINDOWS.length];
+        double bollingerSum;
+        double bollingerSumSq;
+        final double[] ema = new double[EMA_WINDOWS.length];
+        double avgGain;
+        double avgLoss;
+        long deltas;
+        double returnSum;
+        double returnSumSq;
+        int returnCount;
+        double peak;
+        double maxDrawdown;
+        long count;
+
+        Scalars copy() {
+            Scalars copy = new Scalars();
+            System.arraycopy(sums, 0, copy.sums, 0, sums.length);
+            System.arraycopy(ema, 0, copy.ema, 0, ema.length);
+            copy.bollingerSum = bollingerSum;
+            copy.bollingerSumSq = bollingerSumSq;
+            copy.avgGain = avgGain;
+            copy.avgLoss = avgLoss;
+            copy.deltas = deltas;
+            copy.returnSum = returnSum;
+            copy.returnSumSq = returnSumSq;
+            copy.returnCount = returnCount;
+            copy.peak = peak;
+            copy.maxDrawdown = maxDrawdown;
+            copy.count = count;
+            return copy;
+        }
+    }
+
+    /**
+     * 한 시점의 지표. 변동성은 캔들 간격 로그 수익률의 표본 표준편차, 최대 낙폭은 trackedSince 이후 기준이다.
+     */
+    record Values(long asOf, long candles, long trackedSince, double[] sma, double[] ema, double rsi,
+                  double bollingerWidth, double volatility, double maxDrawdown) {
+    }
+
+    /** coin_indicator_states.state 에 JSON 으로 저장하는 형태 */
+    record Data(long bucket, double pending, long trackedSince, double[] closes, double[] returns, double[] ema,
+                double avgGain, double avgLoss, long deltas, double peak, double maxDrawdown, long count) {
+    }
+}
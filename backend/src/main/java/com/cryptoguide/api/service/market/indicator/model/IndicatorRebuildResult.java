@@ -0,0 +1,11 @@
+package com.cryptoguide.api.service.market.indicator.model;
+
+import com.cryptoguide.api.entity.PriceHistory;
+
+public record IndicatorRebuildResult(
+        PriceHistory.TimeInterval interval,
+        int coins,
+        long candles,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,155 @@
+package com.cryptoguide.api.service.market.overview;
+
+import com.cryptoguide.api.dto.CryptocurrencyDto;
+import com.cryptoguide.api.dto.MarketOverviewDto;
+import com.cryptoguide.api.entity.MarketOverviewSnapshot;
+import com.cryptoguide.api.repository.MarketOverviewSnapshotRepository;
+import com.cryptoguide.api.service.market.snapshot.MarketSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 시장 개요(총 시총·거래량, 상승/하락 수, BTC/ETH 도미넌스).
+ * 수집 주기가 끝날 때 MarketSnapshot 을 한 번 훑어 만들고 market_overview_snapshots 에 한 행씩 남기므로,
+ * 조회는 MarketView 에 함께 게시된 값을, 차트는 저장된 행을 읽는다. 24시간 시총 변동률은 하루 전 행과 비교한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MarketOverviewService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final Duration DAY = Duration.ofDays(1);
+    /** 하루 전 행이 이만큼 넘게 비어 있으면 변동률을 내지 않는다 */
+    private static final Duration CHANGE_TOLERANCE = Duration.ofHours(1);
+
+    private final MarketOverviewSnapshotRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ingestion.market-overview.retention:365d}")
+    private Duration retention;
+
+    /** snapshot 의 코인을 한 번 훑어 asOf 시점 개요를 만든다. */
+    public MarketOverviewDto summarize(MarketSnapshot snapshot, LocalDateTime asOf) {
+        BigDecimal totalMarketCap = BigDecimal.ZERO;
+        BigDecimal totalVolume = BigDecimal.ZERO;
+        BigDecimal btcMarketCap = BigDecimal.ZERO;
+        BigDecimal ethMarketCap = BigDecimal.ZERO;
+        int upCount = 0;
+        int downCount = 0;
+        for (CryptocurrencyDto coin : snapshot.coins()) {
+            if (coin.getMarketCap() != null) {
+                totalMarketCap = totalMarketCap.add(coin.getMarketCap());
+                if ("bitcoin".equals(coin.getCoinId())) {
+                    btcMarketCap = coin.getMarketCap();
+                } else if ("ethereum".equals(coin.getCoinId())) {
+                    ethMarketCap = coin.getMarketCap();
+                }
+            }
+            if (coin.getTotalVolume() != null) {
+                totalVolume = totalVolume.add(coin.getTotalVolume());
+            }
+            if (coin.getPriceChangePercentage24h() != null) {
+                int sign = coin.getPriceChangePercentage24h().signum();
+                if (sign > 0) {
+                    upCount++;
+                } else if (sign < 0) {
+                    downCount++;
+                }
+            }
+        }
+
+        return MarketOverviewDto.builder()
+                .totalMarketCap(totalMarketCap)
+                .totalVolume24h(totalVolume)
+                .marketCapChangePercentage24h(changeSinceDayBefore(totalMarketCap, asOf))
+                .btcDominance(percentOf(btcMarketCap, totalMarketCap))
+                .ethDominance(percentOf(ethMarketCap, totalMarketCap))
+                .upCount(upCount)
+                .downCount(downCount)
+                .totalCoins(snapshot.size())
+                .asOf(asOf)
+                .build();
+    }
+
+    /** 수집 주기 하나의 개요를 한 행으로 남긴다. 실패해도 수집은 계속한다. */
+    public void record(LocalDateTime cycleTime, MarketOverviewDto overview) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (repository.existsBySnapshotTime(cycleTime)) {
+                    return;
+                }
+                repository.save(MarketOverviewSnapshot.builder()
+                        .snapshotTime(cycleTime)
+                        .totalMarketCap(overview.getTotalMarketCap())
+                        .totalVolume24h(overview.getTotalVolume24h())
+                        .btcDominance(overview.getBtcDominance())
+                        .ethDominance(overview.getEthDominance())
+                        .upCount(overview.getUpCount())
+                        .downCount(overview.getDownCount())
+                        .totalCoins(overview.getTotalCoins())
+                        .build());
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to record market overview. cycleTime={}", cycleTime, e);
+        }
+    }
+
+    /** [from, to) 구간의 수집 주기별 개요 (시각 순) */
+    public List<MarketOverviewDto> history(LocalDateTime from, LocalDateTime to) {
+        return repository.findBySnapshotTimeGreaterThanEqualAndSnapshotTimeLessThanOrderBySnapshotTimeAsc(from, to)
+                .stream()
+                .map(row -> MarketOverviewDto.builder()
+                        .totalMarketCap(row.getTotalMarketCap())
+                        .totalVolume24h(row.getTotalVolume24h())
+                        .btcDominance(row.getBtcDominance())
+                        .ethDominance(row.getEthDominance())
+                        .upCount(row.getUpCount())
+                        .downCount(row.getDownCount())
+                        .totalCoins(row.getTotalCoins())
+                        .asOf(row.getSnapshotTime())
+                        .build())
+                .toList();
+    }
+
+    /** 마지막으로 저장된 행의 시각. 히스토리 조회의 ETag 로 쓴다 */
+    public Optional<LocalDateTime> latestSnapshotTime() {
+        return repository.findLatestSnapshotTime();
+    }
+
+    @Scheduled(cron = "${scheduler.market-overview-retention.cron:0 47 4 * * *}")
+    public void purgeExpired() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteOlderThan(before));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged market overview snapshots. before={}, rows={}", before, deleted);
+        }
+    }
+
+    private BigDecimal changeSinceDayBefore(BigDecimal totalMarketCap, LocalDateTime asOf) {
+        LocalDateTime target = asOf.minus(DAY);
+        return repository.findFirstBySnapshotTimeLessThanEqualOrderBySnapshotTimeDesc(target)
+                .filter(row -> row.getSnapshotTime().isAfter(target.minus(CHANGE_TOLERANCE)))
+                .map(MarketOverviewSnapshot::getTotalMarketCap)
+                .filter(before -> before.signum() > 0)
+                .map(before -> totalMarketCap.subtract(before).multiply(HUNDRED).divide(before, 4, RoundingMode.HALF_UP))
+                .orElse(null);
+    }
+
+    private static BigDecimal percentOf(BigDecimal part, BigDecimal total) {
+        return total.signum() > 0
+                ? part.multiply(HUNDRED).divide(total, 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,323 @@
+package com.cryptoguide.api.service.market.pipeline;
+
+import com.cryptoguide.api.service.market.pipeline.model.CoinDetailRecord;
+import com.cryptoguide.api.service.market.pipeline.model.CoinMarketRecord;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * CoinGecko 응답을 DataBuffer 스트림에서 바로 토큰 단위로 읽어 타입 레코드로 만든다.
+ * 응답 전체를 String 이나 JsonNode 트리로 들고 있지 않으며, 공용 ObjectMapper 의 JsonFactory 를 쓴다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CoinGeckoResponseDecoder {
+
+    private final ObjectMapper objectMapper;
+
+    /** /coins/markets 배열을 원소 단위로 흘려보낸다. */
+    public Flux<CoinMarketRecord> decodeMarkets(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            TokenStream<CoinMarketRecord> stream = new TokenStream<>(newParser(), new MarketArrayHandler());
+            return body.concatMapIterable(stream::feed)
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(stream.complete())))
+                    .doFinally(signal -> stream.close());
+        });
+    }
+
+    /** /coins/{id} 에서 필요한 필드만 골라 읽고 market_data 등 나머지는 건너뛴다. */
+    public Mono<CoinDetailRecord> decodeCoinDetails(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            TokenStream<CoinDetailRecord> stream = new TokenStream<>(newParser(), new CoinDetailHandler());
+            return body.concatMapIterable(stream::feed)
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(stream.complete())))
+                    .doFinally(signal -> stream.close());
+        }).next();
+    }
+
+    private JsonParser newParser() {
+        try {
+            JsonParser parser = objectMapper.getFactory().createNonBlockingByteBufferParser();
+            parser.enable(JsonParser.Feature.USE_FAST_DOUBLE_PARSER);
+            parser.enable(JsonParser.Feature.USE_FAST_BIG_NUMBER_PARSER);
+            return parser;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface TokenHandler<T> {
+
+        void onToken(JsonParser parser, JsonToken token, List<T> out) throws IOException;
+    }
+
+    /**
+     * 논블로킹 파서에 버퍼를 밀어 넣고, 완성된 레코드만 꺼낸다. 버퍼는 읽은 즉시 release 한다.
+     */
+    private static final class TokenStream<T> {
+
+        private final JsonParser parser;
+        private final ByteBufferFeeder feeder;
+        private final TokenHandler<T> handler;
+
+        private TokenStream(JsonParser parser, TokenHandler<T> handler) {
+            this.parser = parser;
+            this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+            this.handler = handler;
+        }
+
+        List<T> feed(DataBuffer buffer) {
+            List<T> out = new ArrayList<>();
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    feeder.feedInput(iterator.next());
+                    drain(out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            return out;
+        }
+
+        List<T> complete() {
+            List<T> out = new ArrayList<>();
+            feeder.endOfInput();
+            try {
+                drain(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out;
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        private void drain(List<T> out) throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                handler.onToken(parser, token, out);
+            }
+        }
+    }
+
+    /**
+     * 최상위 배열의 각 객체(depth 2)의 스칼라 필드만 읽는다. roi 같은 중첩 값은 depth 로 건너뛴다.
+     */
+    private static final class MarketArrayHandler implements TokenHandler<CoinMarketRecord> {
+
+        private int depth;
+        private String field;
+        private CoinMarketRecord.CoinMarketRecordBuilder current;
+
+        @Override
+        public void onToken(JsonParser p, JsonToken token, List<CoinMarketRecord> out) throws IOException {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    depth++;
+                    if (depth == 2 && token == JsonToken.START_OBJECT) {
+                        current = CoinMarketRecord.builder();
+                    }
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (depth == 2 && token == JsonToken.END_OBJECT && current != null) {
+                        CoinMarketRecord record = current.build();
+                        if (record.coinId() != null) {
+                            out.add(record);
+                        }
+                        current = null;
+                    }
+                    depth--;
+                }
+                case FIELD_NAME -> {
+                    if (depth == 2) {
+                        field = p.currentName();
+                    }
+                }
+                case VALUE_NULL -> {
+                    // 빌더 기본값이 null
+                }
+                default -> {
+                    if (depth == 2 && current != null) {
+                        assign(p, token);
+                    }
+                }
+            }
+        }
+
+        private void assign(JsonParser p, JsonToken token) throws IOException {
+            switch (field) {
+                case "id" -> current.coinId(p.getText());
+                case "symbol" -> current.symbol(p.getText().toUpperCase(Locale.ROOT));
+                case "name" -> current.name(p.getText());
+                case "image" -> current.imageUrl(p.getText());
+                case "current_price" -> current.currentPrice(decimal(p, token));
+                case "market_cap" -> current.marketCap(decimal(p, token));
+                case "market_cap_rank" -> current.marketCapRank(token.isNumeric() ? Integer.valueOf(p.getValueAsInt()) : null);
+                case "fully_diluted_valuation" -> current.fullyDilutedValuation(decimal(p, token));
+                case "total_volume" -> current.totalVolume(decimal(p, token));
+                case "high_24h" -> current.high24h(decimal(p, token));
+                case "low_24h" -> current.low24h(decimal(p, token));
+                case "price_change_24h" -> current.priceChange24h(decimal(p, token));
+                case "price_change_percentage_24h" -> current.priceChangePercentage24h(decimal(p, token));
+                case "price_change_percentage_7d_in_currency" -> current.priceChangePercentage7d(decimal(p, token));
+                case "price_change_percentage_30d_in_currency" -> current.priceChangePercentage30d(decimal(p, token));
+                case "circulating_supply" -> current.circulatingSupply(decimal(p, token));
+                case "total_supply" -> current.totalSupply(decimal(p, token));
+                case "max_supply" -> current.maxSupply(decimal(p, token));
+                case "ath" -> current.ath(decimal(p, token));
+                case "ath_date" -> current.athDate(dateTime(p));
+                case "ath_change_percentage" -> current.athChangePercentage(decimal(p, token));
+                case "atl" -> current.atl(decimal(p, token));
+                case "atl_date" -> current.atlDate(dateTime(p));
+                case "atl_change_percentage" -> current.atlChangePercentage(decimal(p, token));
+                default -> {
+                    // 사용하지 않는 필드
+                }
+            }
+        }
+    }
+
+    /**
+     * 컨테이너 경로를 추적해 관심 경로(description.en, links.*, categories[])만 읽는다.
+     * 관심 밖의 하위 트리는 경로 문자열도 만들지 않는다.
+     */
+    private static final class CoinDetailHandler implements TokenHandler<CoinDetailRecord> {
+
+        private static final Set<String> TRACKED_PATHS = Set.of(
+                "description", "links", "links.homepage", "links.repos_url", "links.repos_url.github", "categories"
+        );
+
+        private final Deque<Frame> frames = new ArrayDeque<>();
+        private final CoinDetailRecord.CoinDetailRecordBuilder builder = CoinDetailRecord.builder();
+        private final List<String> categories = new ArrayList<>();
+        private String field;
+
+        @Override
+        public void onToken(JsonParser p, JsonToken token, List<CoinDetailRecord> out) throws IOException {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    Frame parent = frames.peek();
+                    String path = null;
+                    if (parent == null) {
+                        path = "";
+                    } else if (parent.path != null && !parent.array) {
+                        String candidate = parent.path.isEmpty() ? field : parent.path + "." + field;
+                        path = TRACKED_PATHS.contains(candidate) ? candidate : null;
+                    }
+                    if (parent != null && parent.array) {
+                        parent.index++;
+                    }
+                    frames.push(new Frame(path, token == JsonToken.START_ARRAY));
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    frames.pop();
+                    if (frames.isEmpty()) {
+                        out.add(builder.categories(List.copyOf(categories)).build());
+                    }
+                }
+                case FIELD_NAME -> field = p.currentName();
+                default -> {
+                    Frame frame = frames.peek();
+                    if (frame == null) {
+                        return;
+                    }
+                    int index = frame.array ? frame.index++ : -1;
+                    if (frame.path != null && token != JsonToken.VALUE_NULL) {
+                        onScalar(frame.path, index, p.getText());
+                    }
+                }
+            }
+        }
+
+        private void onScalar(String path, int index, String value) {
+            switch (path) {
+                case "" -> {
+                    if ("id".equals(field)) builder.coinId(value);
+                }
+                case "description" -> {
+                    if ("en".equals(field)) builder.description(value);
+                }
+                case "links" -> {
+                    if ("whitepaper".equals(field) && !value.isEmpty()) builder.whitepaper(value);
+                    if ("twitter_screen_name".equals(field) && !value.isEmpty()) builder.twitter("https://twitter.com/" + value);
+                    if ("telegram_channel_identifier".equals(field) && !value.isEmpty()) builder.telegram("https://t.me/" + value);
+                }
+                case "links.homepage" -> {
+                    if (index == 0) builder.homepage(value);
+                }
+                case "links.repos_url.github" -> {
+                    if (index == 0) builder.github(value);
+                }
+                case "categories" -> categories.add(value);
+                default -> {
+                }
+            }
+        }
+
+        private static final class Frame {
+            private final String path;
+            private final boolean array;
+            private int index;
+
+            private Frame(String path, boolean array) {
+                this.path = path;
+                this.array = array;
+            }
+        }
+    }
+
+    private static BigDecimal decimal(JsonParser p, JsonToken token) throws IOException {
+        if (token.isNumeric()) {
+            return p.getDecimalValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return new BigDecimal(p.getText());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static LocalDateTime dateTime(JsonParser p) throws IOException {
+        String text = p.getText();
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(text).toLocalDateTime();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
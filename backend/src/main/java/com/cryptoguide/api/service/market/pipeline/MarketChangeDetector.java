@@ -0,0 +1,136 @@
+package com.cryptoguide.api.service.market.pipeline;
+
+import com.cryptoguide.api.entity.Cryptocurrency;
+import com.cryptoguide.api.service.market.pipeline.model.CoinChange;
+import com.cryptoguide.api.service.market.pipeline.model.CoinMarketRecord;
+import com.cryptoguide.api.service.market.pipeline.model.FieldChange;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 수집한 시세와 저장된 상태를 필드 단위로 비교한다.
+ * 비교 전에 컬럼 scale 로 맞춰 두어야 반올림 차이 때문에 매번 변경으로 잡히지 않는다.
+ */
+@Component
+public class MarketChangeDetector {
+
+    private static final int PRICE_SCALE = 10;
+    private static final int AMOUNT_SCALE = 2;
+    private static final int PERCENT_SCALE = 4;
+
+    private static final List<MarketField> FIELDS = List.of(
+            new MarketField("symbol", CoinMarketRecord::symbol),
+            new MarketField("name", CoinMarketRecord::name),
+            new MarketField("imageUrl", CoinMarketRecord::imageUrl),
+            new MarketField("currentPrice", CoinMarketRecord::currentPrice),
+            new MarketField("marketCap", CoinMarketRecord::marketCap),
+            new MarketField("marketCapRank", CoinMarketRecord::marketCapRank),
+            new MarketField("fullyDilutedValuation", CoinMarketRecord::fullyDilutedValuation),
+            new MarketField("totalVolume", CoinMarketRecord::totalVolume),
+            new MarketField("high24h", CoinMarketRecord::high24h),
+            new MarketField("low24h", CoinMarketRecord::low24h),
+            new MarketField("priceChange24h", CoinMarketRecord::priceChange24h),
+            new MarketField("priceChangePercentage24h", CoinMarketRecord::priceChangePercentage24h),
+            new MarketField("priceChangePercentage7d", CoinMarketRecord::priceChangePercentage7d),
+            new MarketField("priceChangePercentage30d", CoinMarketRecord::priceChangePercentage30d),
+            new MarketField("circulatingSupply", CoinMarketRecord::circulatingSupply),
+            new MarketField("totalSupply", CoinMarketRecord::totalSupply),
+            new MarketField("maxSupply", CoinMarketRecord::maxSupply),
+            new MarketField("ath", CoinMarketRecord::ath),
+            new MarketField("athDate", CoinMarketRecord::athDate),
+            new MarketField("athChangePercentage", CoinMarketRecord::athChangePercentage),
+            new MarketField("atl", CoinMarketRecord::atl),
+            new MarketField("atlDate", CoinMarketRecord::atlDate),
+            new MarketField("atlChangePercentage", CoinMarketRecord::atlChangePercentage)
+    );
+
+    /** 엔티티 컬럼 정의(precision/scale)와 같은 scale 로 맞춘 레코드를 만든다. */
+    public CoinMarketRecord normalize(CoinMarketRecord record) {
+        return record.toBuilder()
+                .currentPrice(scale(record.currentPrice(), PRICE_SCALE))
+                .marketCap(scale(record.marketCap(), AMOUNT_SCALE))
+                .fullyDilutedValuation(scale(record.fullyDilutedValuation(), AMOUNT_SCALE))
+                .totalVolume(scale(record.totalVolume(), AMOUNT_SCALE))
+                .high24h(scale(record.high24h(), PRICE_SCALE))
+                .low24h(scale(record.low24h(), PRICE_SCALE))
+                .priceChange24h(scale(record.priceChange24h(), PERCENT_SCALE))
+                .priceChangePercentage24h(scale(record.priceChangePercentage24h(), PERCENT_SCALE))
+                .priceChangePercentage7d(scale(record.priceChangePercentage7d(), PERCENT_SCALE))
+                .priceChangePercentage30d(scale(record.priceChangePercentage30d(), PERCENT_SCALE))
+                .circulatingSupply(scale(record.circulatingSupply(), AMOUNT_SCALE))
+                .totalSupply(scale(record.totalSupply(), AMOUNT_SCALE))
+                .maxSupply(scale(record.maxSupply(), AMOUNT_SCALE))
+                .ath(scale(record.ath(), PRICE_SCALE))
+                .athChangePercentage(scale(record.athChangePercentage(), PERCENT_SCALE))
+                .atl(scale(record.atl(), PRICE_SCALE))
+                .atlChangePercentage(scale(record.atlChangePercentage(), PERCENT_SCALE))
+                .build();
+    }
+
+    /**
+     * 변경된 필드가 없으면 null. stored 가 null 이면 신규 코인으로 본다.
+     */
+    public CoinChange diff(CoinMarketRecord stored, CoinMarketRecord incoming) {
+        List<FieldChange> changes = new ArrayList<>();
+        for (MarketField field : FIELDS) {
+            Object oldValue = stored == null ? null : field.getter().apply(stored);
+            Object newValue = field.getter().apply(incoming);
+            if (!sameValue(oldValue, newValue)) {
+                changes.add(new FieldChange(field.name(), oldValue, newValue));
+            }
+        }
+        if (stored != null && changes.isEmpty()) {
+            return null;
+        }
+        return new CoinChange(incoming.coinId(), stored == null, changes);
+    }
+
+    public CoinMarketRecord fromEntity(Cryptocurrency entity) {
+        return CoinMarketRecord.builder()
+                .coinId(entity.getCoinId())
+                .symbol(entity.getSymbol())
+                .name(entity.getName())
+                .imageUrl(entity.getImageUrl())
+                .currentPrice(entity.getCurrentPrice())
+                .marketCap(entity.getMarketCap())
+                .marketCapRank(entity.getMarketCapRank())
+                .fullyDilutedValuation(entity.getFullyDilutedValuation())
+                .totalVolume(entity.getTotalVolume())
+                .high24h(entity.getHigh24h())
+                .low24h(entity.getLow24h())
+                .priceChange24h(entity.getPriceChange24h())
+                .priceChangePercentage24h(entity.getPriceChangePercentage24h())
+                .priceChangePercentage7d(entity.getPriceChangePercentage7d())
+                .priceChangePercentage30d(entity.getPriceChangePercentage30d())
+                .circulatingSupply(entity.getCirculatingSupply())
+                .totalSupply(entity.getTotalSupply())
+                .maxSupply(entity.getMaxSupply())
+                .ath(entity.getAth())
+                .athDate(entity.getAthDate())
+                .athChangePercentage(entity.getAthChangePercentage())
+                .atl(entity.getAtl())
+                .atlDate(entity.getAtlDate())
+                .atlChangePercentage(entity.getAtlChangePercentage())
+                .build();
+    }
+
+    private boolean sameValue(Object a, Object b) {
+        if (a instanceof BigDecimal x && b instanceof BigDecimal y) {
+            return x.compareTo(y) == 0;
+        }
+        return Objects.equals(a, b);
+    }
+
+    private BigDecimal scale(BigDecimal value, int scale) {
+        return value == null ? null : value.setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    private record MarketField(String name, Function<CoinMarketRecord, Object> getter) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.cryptoguide.api.service.market.pipeline;
+
+import com.cryptoguide.api.dto.MarketOverviewDto;
+import com.cryptoguide.api.service.market.search.CoinSearchIndex;
+import com.cryptoguide.api.service.market.snapshot.MarketSnapshot;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 시세 데이터 버전. 수집 주기가 끝날 때마다 하나씩 올라가며, 시세 캐시 항목은 만들 때의 버전을 달고 현재 버전일 때만 읽힌다.
+ * 버전은 그 버전의 스냅샷·시장 개요·검색 색인과 함께 MarketView 하나로 게시하므로, 읽는 쪽은 view() 한 번으로 서로 맞는 값을 얻는다.
+ * 수집이 진행 중인 동안(updating)은 DB 가 이전 버전과 다음 버전 사이 상태이므로 캐시에 새로 담지 않는다.
+ * 번호는 기동 시각(epoch millis)에서 시작하므로 재기동 뒤에도 이전 번호와 겹치지 않는다.
+ */
+@Component
+public class MarketDataVersion {
+
+    private final AtomicReference<MarketView> view = new AtomicReference<>(
+            new MarketView(new Version(System.currentTimeMillis(), LocalDateTime.now()), null, null, null));
+    private volatile boolean updating;
+
+    public Version current() {
+        return view.get().version();
+    }
+
+    /** 지금 게시된 값 묶음 */
+    public MarketView view() {
+        return view.get();
+    }
+
+    public boolean isUpdating() {
+        return updating;
+    }
+
+    public void beginUpdate() {
+        updating = true;
+    }
+
+    /** 변경 없이 끝난 수집 주기 */
+    public void endUpdate() {
+        updating = false;
+    }
+
+    /** 새 버전과 그 버전의 값들을 함께 게시한다. */
+    public synchronized Version publish(LocalDateTime cycleTime, MarketSnapshot snapshot, MarketOverviewDto overview,
+                                       CoinSearchIndex searchIndex) {
+        MarketView next = new MarketView(new Version(current().number() + 1, cycleTime), snapshot, overview, searchIndex);
+        view.set(next);
+        updating = false;
+        return next.version();
+    }
+
+    /** 스냅샷을 만들지 못한 주기. 버전만 올리고 이전 값들은 그대로 둔다. */
+    public synchronized Version advance(LocalDateTime cycleTime) {
+        MarketView previous = view.get();
+        MarketView next = new MarketView(new Version(previous.version().number() + 1, cycleTime),
+                previous.snapshot(), previous.overview(), previous.searchIndex());
+        view.set(next);
+        updating = false;
+        return next.version();
+    }
+
+    /** 아직 값이 없는 expected 에 같은 버전으로 만든 값들을 채운다. 그사이 다른 게시가 있었으면 그대로 둔다. */
+    public boolean fill(MarketView expected, MarketSnapshot snapshot, MarketOverviewDto overview,
+                        CoinSearchIndex searchIndex) {
+        return view.compareAndSet(expected, new MarketView(expected.version(), snapshot, overview, searchIndex));
+    }
+
+    public record Version(long number, LocalDateTime cycleTime) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.cryptoguide.api.service.market.pipeline;
+
+import com.cryptoguide.api.config.CacheRefreshRegistry;
+import com.cryptoguide.api.config.VersionedCache;
+import com.cryptoguide.api.dto.MarketOverviewDto;
+import com.cryptoguide.api.service.market.overview.MarketOverviewService;
+import com.cryptoguide.api.service.market.search.CoinSearchIndex;
+import com.cryptoguide.api.service.market.search.CoinSearchService;
+import com.cryptoguide.api.service.market.pipeline.model.MarketChangeSet;
+import com.cryptoguide.api.service.market.snapshot.MarketSnapshot;
+import com.cryptoguide.api.service.market.snapshot.MarketSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 수집 주기의 시작과 끝에서 시세 데이터 버전을 관리한다.
+ * 주기가 끝나면 다음 버전의 MarketSnapshot·시장 개요·검색 색인을 만들고 시세 캐시에 지금 있는 키를 다음 버전 값으로 미리 채운 뒤
+ * 버전과 함께 MarketView 하나로 바꿔 끼우므로, 읽는 쪽은 current() 로 얻은 묶음 안에서 언제나 같은 버전의 값만 본다.
+ * 시장 개요는 변경이 없던 주기에도 한 행씩 남긴다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MarketDataVersionPublisher {
+
+    private final MarketDataVersion version;
+    private final CacheManager cacheManager;
+    private final CacheRefreshRegistry refreshRegistry;
+    private final MarketSnapshotService snapshotService;
+    private final MarketOverviewService overviewService;
+    private final CoinSearchService searchService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        try {
+            current();
+        } catch (RuntimeException e) {
+            log.error("Failed to build initial market snapshot", e);
+        }
+    }
+
+    /** 지금 게시된 값 묶음. 기동 후 아직 스냅샷이 없으면 현재 버전으로 만들어 채운다. */
+    public MarketView current() {
+        MarketView view = version.view();
+        if (view.isBuilt()) {
+            return view;
+        }
+        synchronized (this) {
+            view = version.view();
+            if (!view.isBuilt()) {
+                MarketSnapshot snapshot = snapshotService.build(view.version().number());
+                // 만드는 사이 수집 주기가 새 값을 게시했으면 그쪽을 쓴다
+                version.fill(view, snapshot, overviewService.summarize(snapshot, snapshot.getBuiltAt()),
+                        searchService.build(snapshot));
+                view = version.view();
+            }
+            return view;
+        }
+    }
+
+    public void beginCycle() {
+        version.beginUpdate();
+    }
+
+    /**
+     * 수집 주기를 끝낸다. changes 가 비어 있으면 버전을 그대로 두고, 변경이 있거나 알 수 없으면(null) 버전을 올린다.
+     */
+    public MarketDataVersion.Version completeCycle(LocalDateTime cycleTime, MarketChangeSet changes) {
+        if (changes != null && changes.isEmpty()) {
+            version.endUpdate();
+            try {
+                overviewService.record(cycleTime, current().overview());
+            } catch (RuntimeException e) {
+                log.warn("Failed to record unchanged market overview. cycleTime={}", cycleTime, e);
+            }
+            return version.current();
+        }
+        long startedAt = System.nanoTime();
+        long current = version.current().number();
+        long next = current + 1;
+        MarketSnapshot snapshot = null;
+        MarketOverviewDto overview = null;
+        CoinSearchIndex searchIndex = null;
+        try {
+            snapshot = snapshotService.build(next);
+            overview = overviewService.summarize(snapshot, cycleTime);
+            searchIndex = searchService.build(snapshot);
+        } catch (RuntimeException e) {
+            log.error("Failed to build market snapshot; keeping the previous one", e);
+            snapshot = null;
+            overview = null;
+        }
+        List<VersionedCache> caches = versionedCaches();
+        int warmed = 0;
+        for (VersionedCache cache : caches) {
+            if (!cache.isWarmOnAdvance()) {
+                continue;
+            }
+            for (Object key : cache.keys(current)) {
+                try {
+                    Object value = refreshRegistry.reload(cache.getName(), key, null);
+                    if (value != null) {
+                        cache.putVersioned(key, value, next);
+                        warmed++;
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("Failed to warm cache {} for key {}", cache.getName(), key, e);
+                }
+            }
+        }
+
+        MarketDataVersion.Version advanced = snapshot != null
+                ? version.publish(cycleTime, snapshot, overview, searchIndex)
+                : version.advance(cycleTime);
+        caches.forEach(cache -> cache.retain(advanced.number()));
+        if (overview != null) {
+            overviewService.record(cycleTime, overview);
+        }
+        log.info("Market data version advanced. version={}, snapshotCoins={}, warmedEntries={}, elapsedMs={}",
+                advanced.number(), snapshot != null ? snapshot.size() : null, warmed, (System.nanoTime() - startedAt) / 1_000_000);
+        return advanced;
+    }
+
+    private List<VersionedCache> versionedCaches() {
+        List<VersionedCache> caches = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof VersionedCache versioned) {
+                caches.add(versioned);
+            }
+        }
+        return caches;
+    }
+}
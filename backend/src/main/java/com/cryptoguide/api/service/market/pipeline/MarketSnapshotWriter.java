@@ -0,0 +1,223 @@
+package com.cryptoguide.api.service.market.pipeline;
+
+import com.cryptoguide.api.entity.Cryptocurrency;
+import com.cryptoguide.api.entity.PriceHistory;
+import com.cryptoguide.api.repository.CryptocurrencyBulkRepository;
+import com.cryptoguide.api.repository.CryptocurrencyRepository;
+import com.cryptoguide.api.repository.PriceHistoryRepository;
+import com.cryptoguide.api.service.market.history.PriceRollupService;
+import com.cryptoguide.api.service.market.pipeline.model.CoinChange;
+import com.cryptoguide.api.service.market.pipeline.model.CoinMarketRecord;
+import com.cryptoguide.api.service.market.pipeline.model.CoinMarketState;
+import com.cryptoguide.api.service.market.pipeline.model.MarketChangeSet;
+import com.cryptoguide.api.service.market.pipeline.model.MarketIngestionResult;
+import com.cryptoguide.api.service.market.pipeline.model.PriceHistoryAppendedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 수집한 시세 스냅샷을 cryptocurrencies / price_history 에 반영한다.
+ * 저장된 상태와 비교해 값이 바뀐 코인만 다시 쓰고, 변경 내역을 MarketChangeSet 으로 돌려준다.
+ * bulk-write 모드는 PostgreSQL 의 ON CONFLICT 를 쓰므로 H2(dev) 에서는 JPA 경로를 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MarketSnapshotWriter {
+
+    private final CryptocurrencyRepository cryptoRepository;
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final CryptocurrencyBulkRepository bulkRepository;
+    private final MarketChangeDetector changeDetector;
+    private final PriceRollupService rollupService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${ingestion.market.bulk-write:true}")
+    private boolean bulkWrite;
+
+    @Value("${ingestion.market.batch-size:500}")
+    private int batchSize;
+
+    @Transactional
+    public MarketIngestionResult write(List<CoinMarketRecord> fetched, LocalDateTime cycleTime) {
+        long startedAt = System.nanoTime();
+        // ON CONFLICT 는 한 문장에서 같은 키를 두 번 갱신할 수 없으므로 coinId 기준으로 중복 제거
+        List<CoinMarketRecord> records = List.copyOf(fetched.stream()
+                .filter(r -> r.coinId() != null)
+                .map(changeDetector::normalize)
+                .collect(Collectors.toMap(CoinMarketRecord::coinId, Function.identity(), (a, b) -> b, LinkedHashMap::new))
+                .values());
+        if (records.isEmpty()) {
+            return new MarketIngestionResult(fetched.size(), 0, 0, 0, 0, elapsedMillis(startedAt), MarketChangeSet.empty());
+        }
+
+        MarketIngestionResult result = bulkWrite
+                ? writeBulk(records, cycleTime, startedAt)
+                : writeWithRepositories(records, cycleTime, startedAt);
+        log.debug("Market snapshot written. mode={}, rows={}, changed={}, persistMs={}",
+                bulkWrite ? "bulk" : "jpa", records.size(), result.changes().size(), result.persistMillis());
+        return result;
+    }
+
+    private MarketIngestionResult writeBulk(List<CoinMarketRecord> records, LocalDateTime cycleTime, long startedAt) {
+        Map<String, CoinMarketState> stored = bulkRepository.findMarketStateByCoinIds(
+                records.stream().map(CoinMarketRecord::coinId).toList());
+
+        List<CoinChange> changes = new ArrayList<>();
+        List<CoinMarketRecord> changed = new ArrayList<>();
+        for (CoinMarketRecord record : records) {
+            CoinMarketState state = stored.get(record.coinId());
+            CoinChange change = changeDetector.diff(state == null ? null : state.values(), record);
+            if (change != null) {
+                changes.add(change);
+                changed.add(record);
+            }
+        }
+
+        // 값이 바뀐 코인만 다시 쓴다
+        if (!changed.isEmpty()) {
+            bulkRepository.upsertMarketData(changed, cycleTime, batchSize);
+        }
+
+        Map<String, Long> idsByCoinId = new HashMap<>();
+        stored.forEach((coinId, state) -> idsByCoinId.put(coinId, state.id()));
+        List<String> newCoinIds = changes.stream().filter(CoinChange::inserted).map(CoinChange::coinId).toList();
+        if (!newCoinIds.isEmpty()) {
+            idsByCoinId.putAll(bulkRepository.findIdsByCoinIds(newCoinIds));
+        }
+
+        // 시계열은 값 변화와 무관하게 매 주기 한 점씩 남기고, 같은 점을 상위 간격 캔들에 접는다
+        List<CoinMarketRecord> withPrice = records.stream()
+                .filter(r -> r.currentPrice() != null && idsByCoinId.containsKey(r.coinId()))
+                .toList();
+        bulkRepository.insertPriceHistory(withPrice, idsByCoinId, PriceRollupService.RAW_INTERVAL, cycleTime, batchSize);
+        rollupService.fold(withPrice, idsByCoinId, cycleTime);
+        eventPublisher.publishEvent(new PriceHistoryAppendedEvent(cycleTime, withPrice.stream()
+                .map(r -> point(r.coinId(), r.currentPrice(), r.marketCap(), r.totalVolume()))
+                .toList()));
+
+        return new MarketIngestionResult(
+                records.size(),
+                newCoinIds.size(),
+                changes.size() - newCoinIds.size(),
+                records.size() - changes.size(),
+                withPrice.size(),
+                elapsedMillis(startedAt),
+                new MarketChangeSet(changes)
+        );
+    }
+
+    private MarketIngestionResult writeWithRepositories(List<CoinMarketRecord> records, LocalDateTime cycleTime, long startedAt) {
+        Map<String, Cryptocurrency> existing = cryptoRepository
+                .findByCoinIds(records.stream().map(CoinMarketRecord::coinId).toList())
+                .stream()
+                .collect(Collectors.toMap(Cryptocurrency::getCoinId, Function.identity()));
+
+        int inserted = 0;
+        List<CoinChange> changes = new ArrayList<>();
+        List<Cryptocurrency> changed = new ArrayList<>();
+        List<Cryptocurrency> all = new ArrayList<>(records.size());
+        for (CoinMarketRecord record : records) {
+            Cryptocurrency crypto = existing.get(record.coinId());
+            CoinChange change = changeDetector.diff(crypto == null ? null : changeDetector.fromEntity(crypto), record);
+            if (crypto == null) {
+                crypto = Cryptocurrency.builder().coinId(record.coinId()).build();
+                inserted++;
+            }
+            if (change != null) {
+                apply(crypto, record);
+                crypto.setLastUpdated(cycleTime);
+                changes.add(change);
+                changed.add(crypto);
+            }
+            all.add(crypto);
+        }
+        cryptoRepository.saveAll(changed);
+
+        List<Cryptocurrency> withPrice = all.stream()
+                .filter(c -> c.getCurrentPrice() != null)
+                .toList();
+        List<PriceHistory> history = withPrice.stream()
+                .map(c -> PriceHistory.builder()
+                        .cryptocurrency(c)
+                        .open(c.getCurrentPrice())
+                        .high(c.getCurrentPrice())
+                        .low(c.getCurrentPrice())
+                        .price(c.getCurrentPrice())
+                        .marketCap(c.getMarketCap())
+                        .volume(c.getTotalVolume())
+                        .interval(PriceRollupService.RAW_INTERVAL)
+                        .timestamp(cycleTime)
+                        .build())
+                .toList();
+        priceHistoryRepository.saveAll(history);
+        rollupService.fold(withPrice, cycleTime);
+        eventPublisher.publishEvent(new PriceHistoryAppendedEvent(cycleTime, withPrice.stream()
+                .map(c -> point(c.getCoinId(), c.getCurrentPrice(), c.getMarketCap(), c.getTotalVolume()))
+                .toList()));
+
+        return new MarketIngestionResult(
+                records.size(),
+                inserted,
+                changes.size() - inserted,
+                records.size() - changes.size(),
+                history.size(),
+                elapsedMillis(startedAt),
+                new MarketChangeSet(changes)
+        );
+    }
+
+    private static PriceHistoryAppendedEvent.Point point(String coinId, BigDecimal price, BigDecimal marketCap, BigDecimal volume) {
+        return new PriceHistoryAppendedEvent.Point(coinId, price.doubleValue(),
+                marketCap != null ? marketCap.doubleValue() : Double.NaN,
+                volume != null ? volume.doubleValue() : Double.NaN);
+    }
+
+    private void apply(Cryptocurrency crypto, CoinMarketRecord record) {
+        crypto.setSymbol(record.symbol());
+        crypto.setName(record.name());
+        crypto.setImageUrl(record.imageUrl());
+
+        crypto.setCurrentPrice(record.currentPrice());
+        crypto.setMarketCap(record.marketCap());
+        crypto.setMarketCapRank(record.marketCapRank());
+        crypto.setFullyDilutedValuation(record.fullyDilutedValuation());
+        crypto.setTotalVolume(record.totalVolume());
+        crypto.setHigh24h(record.high24h());
+        crypto.setLow24h(record.low24h());
+
+        crypto.setPriceChange24h(record.priceChange24h());
+        crypto.setPriceChangePercentage24h(record.priceChangePercentage24h());
+        crypto.setPriceChangePercentage7d(record.priceChangePercentage7d());
+        crypto.setPriceChangePercentage30d(record.priceChangePercentage30d());
+
+        crypto.setCirculatingSupply(record.circulatingSupply());
+        crypto.setTotalSupply(record.totalSupply());
+        crypto.setMaxSupply(record.maxSupply());
+
+        crypto.setAth(record.ath());
+        crypto.setAthDate(record.athDate());
+        crypto.setAthChangePercentage(record.athChangePercentage());
+        crypto.setAtl(record.atl());
+        crypto.setAtlDate(record.atlDate());
+        crypto.setAtlChangePercentage(record.atlChangePercentage());
+    }
+
+    private long elapsedMillis(long startedAt) {
+        return (System.nanoTime() - startedAt) / 1_000_000;
+    }
+}
@@ -0,0 +1,17 @@
+package com.cryptoguide.api.service.market.pipeline;
+
+import com.cryptoguide.api.dto.MarketOverviewDto;
+import com.cryptoguide.api.service.market.search.CoinSearchIndex;
+import com.cryptoguide.api.service.market.snapshot.MarketSnapshot;
+
+/**
+ * 한 시세 데이터 버전으로 게시한 읽기용 값 묶음. 버전·스냅샷·시장 개요·검색 색인을 한 번에 바꾸므로,
+ * 한 번 읽은 MarketView 안의 값은 모두 같은 버전이다. 기동 후 첫 스냅샷을 만들기 전에는 버전만 들어 있다.
+ */
+public record MarketView(MarketDataVersion.Version version, MarketSnapshot snapshot, MarketOverviewDto overview,
+                         CoinSearchIndex searchIndex) {
+
+    public boolean isBuilt() {
+        return snapshot != null;
+    }
+}
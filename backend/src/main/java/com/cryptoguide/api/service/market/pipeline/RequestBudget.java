@@ -0,0 +1,86 @@
+package com.cryptoguide.api.service.market.pipeline;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 분당 요청 한도를 균등 간격으로 나눠 쓰는 간단한 페이서.
+ * 여러 스레드에서 동시에 호출해도 슬롯이 겹치지 않는다.
+ * 상위 예산을 주면 자기 한도와 상위 한도를 모두 지키는 슬롯을 잡는다 (같은 업스트림을 쓰는 소비자들이 전체 한도를 나눠 쓸 때).
+ * 백그라운드 소비자는 {@link #await(BooleanSupplier)} 로 우선 소비자가 도는 동안 상위 슬롯을 양보한다.
+ */
+public final class RequestBudget {
+
+    private static final long DEFER_POLL_MILLIS = 1_000;
+
+    private final long intervalNanos;
+    private final RequestBudget parent;
+    private long nextSlotAt;
+
+    public RequestBudget(int requestsPerMinute) {
+        this(requestsPerMinute, null);
+    }
+
+    public RequestBudget(int requestsPerMinute, RequestBudget parent) {
+        this.intervalNanos = Duration.ofMinutes(1).toNanos() / Math.max(requestsPerMinute, 1);
+        this.parent = parent;
+        this.nextSlotAt = System.nanoTime();
+    }
+
+    /** 다음 빈 슬롯을 예약하고, 그 슬롯까지 기다려야 하는 시간을 돌려준다. */
+    public Duration reserve() {
+        long now = System.nanoTime();
+        return Duration.ofNanos(reserveAt(now) - now);
+    }
+
+    /** earliest 이후의 첫 빈 슬롯을 잡는다. 잠금은 항상 하위 → 상위 순서로 잡는다. */
+    private synchronized long reserveAt(long earliest) {
+        long slot = Math.max(earliest, nextSlotAt);
+        if (parent != null) {
+            slot = parent.reserveAt(slot);
+        }
+        nextSlotAt = slot + intervalNanos;
+        return slot;
+    }
+
+    /**
+     * 블로킹 소비자용. 자기 슬롯까지 기다린 뒤 deferWhile 이 참인 동안 더 기다리고, 그다음에야 상위 슬롯을 잡는다.
+     * 상위 슬롯을 미리 먼 미래로 잡아 두지 않으므로 우선 소비자가 그 사이 슬롯을 쓸 수 있다.
+     */
+    public void await(BooleanSupplier deferWhile) throws InterruptedException {
+        sleepUntil(reserveOwn(System.nanoTime()));
+        while (deferWhile.getAsBoolean()) {
+            Thread.sleep(DEFER_POLL_MILLIS);
+        }
+        if (parent != null) {
+            sleepUntil(parent.reserveAt(System.nanoTime()));
+        }
+    }
+
+    private synchronized long reserveOwn(long earliest) {
+        long slot = Math.max(earliest, nextSlotAt);
+        nextSlotAt = slot + intervalNanos;
+        return slot;
+    }
+
+    private static void sleepUntil(long slot) throws InterruptedException {
+        long wait = slot - System.nanoTime();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    /** 구독 시점에 슬롯을 예약한 뒤 요청을 실행한다. */
+    public <T> Mono<T> acquire(Supplier<Mono<T>> request) {
+        return Mono.defer(() -> {
+            Duration wait = reserve();
+            return wait.isZero()
+                    ? request.get()
+                    : Mono.delay(wait).then(Mono.defer(request));
+        });
+    }
+}
@@ -0,0 +1,13 @@
+package com.cryptoguide.api.service.market.pipeline.model;
+
+import java.util.List;
+
+/**
+ * 한 코인의 변경 내역. 신규 코인은 inserted=true 이고 모든 non-null 필드가 담긴다.
+ */
+public record CoinChange(
+        String coinId,
+        boolean inserted,
+        List<FieldChange> fields
+) {
+}
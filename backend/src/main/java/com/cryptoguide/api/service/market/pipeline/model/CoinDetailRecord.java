@@ -0,0 +1,21 @@
+package com.cryptoguide.api.service.market.pipeline.model;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * CoinGecko /coins/{id} 응답 중 프로젝트 정보와 카테고리만 추린 결과.
+ */
+@Builder
+public record CoinDetailRecord(
+        String coinId,
+        String description,
+        String homepage,
+        String whitepaper,
+        String github,
+        String twitter,
+        String telegram,
+        List<String> categories
+) {
+}
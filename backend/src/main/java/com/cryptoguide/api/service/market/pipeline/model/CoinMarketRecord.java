@@ -0,0 +1,38 @@
+package com.cryptoguide.api.service.market.pipeline.model;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * CoinGecko /coins/markets 한 건을 엔티티와 분리된 형태로 담는다.
+ */
+@Builder(toBuilder = true)
+public record CoinMarketRecord(
+        String coinId,
+        String symbol,
+        String name,
+        String imageUrl,
+        BigDecimal currentPrice,
+        BigDecimal marketCap,
+        Integer marketCapRank,
+        BigDecimal fullyDilutedValuation,
+        BigDecimal totalVolume,
+        BigDecimal high24h,
+        BigDecimal low24h,
+        BigDecimal priceChange24h,
+        BigDecimal priceChangePercentage24h,
+        BigDecimal priceChangePercentage7d,
+        BigDecimal priceChangePercentage30d,
+        BigDecimal circulatingSupply,
+        BigDecimal totalSupply,
+        BigDecimal maxSupply,
+        BigDecimal ath,
+        LocalDateTime athDate,
+        BigDecimal athChangePercentage,
+        BigDecimal atl,
+        LocalDateTime atlDate,
+        BigDecimal atlChangePercentage
+) {
+}
@@ -0,0 +1,10 @@
+package com.cryptoguide.api.service.market.pipeline.model;
+
+/**
+ * DB 에 저장된 코인의 현재 시세 상태 (변경 감지 비교용).
+ */
+public record CoinMarketState(
+        long id,
+        CoinMarketRecord values
+) {
+}
@@ -0,0 +1,8 @@
+package com.cryptoguide.api.service.market.pipeline.model;
+
+public record FieldChange(
+        String field,
+        Object oldValue,
+        Object newValue
+) {
+}
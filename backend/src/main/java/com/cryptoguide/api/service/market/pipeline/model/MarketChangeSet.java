@@ -0,0 +1,51 @@
+package com.cryptoguide.api.service.market.pipeline.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 한 수집 주기(또는 페이지)에서 실제로 값이 바뀐 코인 목록.
+ */
+public record MarketChangeSet(
+        List<CoinChange> coins
+) {
+
+    public static MarketChangeSet empty() {
+        return new MarketChangeSet(List.of());
+    }
+
+    public MarketChangeSet merge(MarketChangeSet other) {
+        if (other.coins.isEmpty()) {
+            return this;
+        }
+        if (coins.isEmpty()) {
+            return other;
+        }
+        List<CoinChange> merged = new ArrayList<>(coins.size() + other.coins.size());
+        merged.addAll(coins);
+        merged.addAll(other.coins);
+        return new MarketChangeSet(merged);
+    }
+
+    public boolean isEmpty() {
+        return coins.isEmpty();
+    }
+
+    public int size() {
+        return coins.size();
+    }
+
+    public Set<String> changedCoinIds() {
+        return coins.stream().map(CoinChange::coinId).collect(Collectors.toSet());
+    }
+
+    /** 특정 필드가 바뀐 코인만 골라낸다 (예: currentPrice). */
+    public Set<String> coinIdsWithChangedField(String field) {
+        return coins.stream()
+                .filter(c -> c.fields().stream().anyMatch(f -> f.field().equals(field)))
+                .map(CoinChange::coinId)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,12 @@
+package com.cryptoguide.api.service.market.pipeline.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시세 수집 주기가 끝날 때 발행된다. 변경이 없어도 주기 완료를 알리기 위해 발행한다.
+ */
+public record MarketDataChangedEvent(
+        LocalDateTime cycleTime,
+        MarketChangeSet changes
+) {
+}
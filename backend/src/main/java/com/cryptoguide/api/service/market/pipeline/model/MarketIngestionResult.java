@@ -0,0 +1,29 @@
+package com.cryptoguide.api.service.market.pipeline.model;
+
+public record MarketIngestionResult(
+        int fetchedCount,
+        int insertedCount,
+        int updatedCount,
+        int unchangedCount,
+        int historyCount,
+        long persistMillis,
+        MarketChangeSet changes
+) {
+
+    public static MarketIngestionResult empty() {
+        return new MarketIngestionResult(0, 0, 0, 0, 0, 0, MarketChangeSet.empty());
+    }
+
+    /** 페이지 단위 결과를 한 주기 합계로 누적한다. */
+    public MarketIngestionResult merge(MarketIngestionResult other) {
+        return new MarketIngestionResult(
+                fetchedCount + other.fetchedCount,
+                insertedCount + other.insertedCount,
+                updatedCount + other.updatedCount,
+                unchangedCount + other.unchangedCount,
+                historyCount + other.historyCount,
+                persistMillis + other.persistMillis,
+                changes.merge(other.changes)
+        );
+    }
+}
@@ -0,0 +1,16 @@
+package com.cryptoguide.api.service.market.pipeline.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 한 페이지의 원본 시세 점이 price_history 에 쓰일 때 발행된다. 수신 측은 커밋 후에 받는다.
+ */
+public record PriceHistoryAppendedEvent(
+        LocalDateTime pointTime,
+        List<Point> points
+) {
+
+    public record Point(String coinId, double price, double marketCap, double volume) {
+    }
+}
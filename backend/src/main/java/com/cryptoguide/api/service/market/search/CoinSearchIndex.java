@@ -0,0 +1,232 @@
+package com.cryptoguide.api.service.market.search;
+
+import com.cryptoguide.api.dto.CoinSuggestionDto;
+import com.cryptoguide.api.dto.CryptocurrencyDto;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 한 시세 스냅샷의 코인 검색 색인. 만든 뒤에는 바뀌지 않는다.
+ * 심볼·이름·이름의 각 단어·별칭(한글 별칭은 초성 포함)을 정규화한 검색어로 정렬해 두고,
+ * 질의의 접두어 구간을 이진 탐색으로 찾아 코인마다 가장 좋은 일치 등급을 고른다.
+ * 접두어로 limit 을 못 채우면 이름·심볼 부분 일치를 가장 낮은 등급으로 더한다.
+ * 결과는 일치 등급, 시총 순위 순이다.
+ */
+public final class CoinSearchIndex {
+
+    /** 일치 등급 (작을수록 앞) */
+    private static final int EXACT_SYMBOL = 0;
+    private static final int EXACT_NAME = 1;
+    private static final int PREFIX_SYMBOL = 2;
+    private static final int PREFIX_NAME = 3;
+    private static final int PREFIX_WORD = 4;
+    private static final int SUBSTRING = 5;
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[\\s\\-_.()/]+");
+    private static final String CHOSUNG = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+
+    private final long version;
+    /** 시총 순위 순 */
+    private final CryptocurrencyDto[] coins;
+    private final CoinSuggestionDto[] suggestions;
+    private final String[] normalizedSymbols;
+    private final String[] normalizedNames;
+
+    /** 검색어 오름차순. 같은 위치의 coinIndex·kind 와 한 항목이다 */
+    private final String[] terms;
+    private final int[] coinIndex;
+    /** 정확히 일치할 때의 등급. 접두어 일치면 한 단계 내려 PREFIX_* 가 된다 */
+    private final byte[] kind;
+
+    private CoinSearchIndex(long version, CryptocurrencyDto[] coins, CoinSuggestionDto[] suggestions,
+                            String[] normalizedSymbols, String[] normalizedNames,
+                            String[] terms, int[] coinIndex, byte[] kind) {
+        this.version = version;
+        this.coins = coins;
+        this.suggestions = suggestions;
+        this.normalizedSymbols = normalizedSymbols;
+        this.normalizedNames = normalizedNames;
+        this.terms = terms;
+        this.coinIndex = coinIndex;
+        this.kind = kind;
+    }
+
+    /** coins 는 시총 순위 순이어야 한다 (MarketSnapshot.coins()). */
+    static CoinSearchIndex build(long version, List<CryptocurrencyDto> coins, Map<String, List<String>> aliases) {
+        int n = coins.size();
+        CryptocurrencyDto[] coinArray = coins.toArray(CryptocurrencyDto[]::new);
+        CoinSuggestionDto[] suggestions = new CoinSuggestionDto[n];
+        String[] symbols = new String[n];
+        String[] names = new String[n];
+        List<Entry> entries = new ArrayList<>(n * 4);
+
+        for (int i = 0; i < n; i++) {
+            CryptocurrencyDto coin = coinArray[i];
+            suggestions[i] = CoinSuggestionDto.builder()
+                    .coinId(coin.getCoinId())
+                    .symbol(coin.getSymbol())
+                    .name(coin.getName())
+                    .imageUrl(coin.getImageUrl())
+                    .build();
+            symbols[i] = normalize(coin.getSymbol());
+            names[i] = normalize(coin.getName());
+
+            // 같은 코인의 같은 검색어는 더 좋은 등급 하나만 남긴다
+            Map<String, Integer> coinTerms = new HashMap<>();
+            addTerm(coinTerms, symbols[i], EXACT_SYMBOL);
+            addTerm(coinTerms, names[i], EXACT_NAME);
+            if (coin.getName() != null) {
+                for (String word : WORD_SEPARATOR.split(coin.getName())) {
+                    addTerm(coinTerms, normalize(word), PREFIX_WORD);
+                }
+            }
+            for (String alias : aliases.getOrDefault(coin.getCoinId(), List.of())) {
+                addTerm(coinTerms, normalize(alias), EXACT_NAME);
+                String chosung = chosung(alias);
+                if (chosung != null) {
+                    addTerm(coinTerms, normalize(chosung), PREFIX_WORD);
+                }
+            }
+            int index = i;
+            coinTerms.forEach((term, k) -> entries.add(new Entry(term, index, k)));
+        }
+
+        entries.sort(Comparator.comparing(Entry::term).thenComparingInt(Entry::coinIndex));
+        String[] terms = new String[entries.size()];
+        int[] coinIndex = new int[entries.size()];
+        byte[] kind = new byte[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            terms[i] = entry.term();
+            coinIndex[i] = entry.coinIndex();
+            kind[i] = (byte) entry.kind();
+        }
+        return new CoinSearchIndex(version, coinArray, suggestions, symbols, names, terms, coinIndex, kind);
+    }
+
+    long getVersion() {
+        return version;
+    }
+
+    int size() {
+        return coins.length;
+    }
+
+    List<CryptocurrencyDto> search(String query, int limit) {
+        int[] matched = match(query, limit);
+        List<CryptocurrencyDto> result = new ArrayList<>(matched.length);
+        for (int i : matched) {
+            result.add(coins[i]);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    List<CoinSuggestionDto> suggest(String query, int limit) {
+        int[] matched = match(query, limit);
+        List<CoinSuggestionDto> result = new ArrayList<>(matched.length);
+        for (int i : matched) {
+            result.add(suggestions[i]);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /** 질의에 맞는 코인 위치를 (등급, 시총 순위) 순으로 최대 limit 개 */
+    private int[] match(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+
+        // 코인 위치가 곧 시총 순위 순서이므로 (등급 << 32 | 위치) 하나로 정렬한다
+        Map<Integer, Integer> best = new HashMap<>();
+        for (int i = lowerBound(q); i < terms.length && terms[i].startsWith(q); i++) {
+            int grade = terms[i].length() == q.length() ? kind[i] : prefixGrade(kind[i]);
+            best.merge(coinIndex[i], grade, Math::min);
+        }
+        if (best.size() < limit && q.length() >= 2) {
+            for (int i = 0; i < coins.length; i++) {
+                if (!best.containsKey(i) && (normalizedNames[i].contains(q) || normalizedSymbols[i].contains(q))) {
+                    best.put(i, SUBSTRING);
+                }
+            }
+        }
+
+        long[] ranked = new long[best.size()];
+        int n = 0;
+        for (Map.Entry<Integer, Integer> e : best.entrySet()) {
+            ranked[n++] = ((long) e.getValue() << 32) | e.getKey();
+        }
+        Arrays.sort(ranked);
+        int[] result = new int[Math.min(limit, ranked.length)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (int) ranked[i];
+        }
+        return result;
+    }
+
+    private int lowerBound(String q) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(q) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int prefixGrade(int exactGrade) {
+        return switch (exactGrade) {
+            case EXACT_SYMBOL -> PREFIX_SYMBOL;
+            case EXACT_NAME -> PREFIX_NAME;
+            default -> exactGrade;
+        };
+    }
+
+    private static void addTerm(Map<String, Integer> coinTerms, String term, int grade) {
+        if (!term.isEmpty()) {
+            coinTerms.merge(term, grade, Math::min);
+        }
+    }
+
+    /** 호환 문자를 펴고 소문자로 바꾼 뒤 공백을 없앤다 ("Bitcoin Cash" → "bitcoincash") */
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(value, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(folded).replaceAll("");
+    }
+
+    /** 한글 음절의 초성만 뽑는다. 한글이 없으면 null */
+    private static String chosung(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        boolean hangul = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '가' && c <= '힣') {
+                sb.append(CHOSUNG.charAt((c - '가') / 588));
+                hangul = true;
+            } else if (!Character.isWhitespace(c)) {
+                sb.append(c);
+            }
+        }
+        return hangul ? sb.toString() : null;
+    }
+
+    private record Entry(String term, int coinIndex, int kind) {
+    }
+}
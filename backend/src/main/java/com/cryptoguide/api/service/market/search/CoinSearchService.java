@@ -0,0 +1,89 @@
+package com.cryptoguide.api.service.market.search;
+
+import com.cryptoguide.api.dto.CoinSuggestionDto;
+import com.cryptoguide.api.dto.CryptocurrencyDto;
+import com.cryptoguide.api.service.market.snapshot.MarketSnapshot;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * 코인 검색·자동완성. 시세 스냅샷이 바뀔 때마다 CoinSearchIndex 를 새로 만들어 MarketView 에 함께 게시하고, 조회는 DB 없이 그 색인에서 답한다.
+ * 한글 별칭은 search.aliases-location 의 properties 파일(coinId=별칭,별칭)에서 읽는다.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CoinSearchService {
+
+    private final ResourceLoader resourceLoader;
+
+    @Value("${search.aliases-location:classpath:search/coin-aliases.properties}")
+    private String aliasesLocation;
+
+    @Value("${search.max-results:50}")
+    private int maxResults;
+
+    private volatile Map<String, List<String>> aliases = Map.of();
+
+    @PostConstruct
+    public void loadAliases() {
+        Resource resource = resourceLoader.getResource(aliasesLocation);
+        if (!resource.exists()) {
+            log.warn("Coin alias file not found: {}", aliasesLocation);
+            return;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            log.warn("Failed to read coin alias file: {}", aliasesLocation, e);
+            return;
+        }
+        Map<String, List<String>> loaded = new HashMap<>();
+        for (String coinId : properties.stringPropertyNames()) {
+            Set<String> names = new LinkedHashSet<>();
+            for (String alias : properties.getProperty(coinId).split(",")) {
+                if (!alias.isBlank()) {
+                    names.add(alias.trim());
+                }
+            }
+            loaded.put(coinId.trim(), List.copyOf(names));
+        }
+        aliases = loaded;
+        log.info("Loaded coin search aliases. coins={}", loaded.size());
+    }
+
+    /** 일치 등급·시총 순위 순 코인 (최대 search.max-results 개) */
+    public List<CryptocurrencyDto> search(CoinSearchIndex index, String query, int limit) {
+        return index.search(query, Math.min(limit, maxResults));
+    }
+
+    public List<CoinSuggestionDto> autocomplete(CoinSearchIndex index, String query, int limit) {
+        return index.suggest(query, Math.min(limit, maxResults));
+    }
+
+    /** snapshot 의 색인을 만든다. 게시는 스냅샷과 함께 MarketDataVersionPublisher 가 한다. */
+    public CoinSearchIndex build(MarketSnapshot snapshot) {
+        long startedAt = System.nanoTime();
+        CoinSearchIndex index = CoinSearchIndex.build(snapshot.getVersion(), snapshot.coins(), aliases);
+        log.debug("Built coin search index. version={}, coins={}, elapsedMs={}",
+                index.getVersion(), index.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        return index;
+    }
+}
@@ -0,0 +1,159 @@
+package com.cryptoguide.api.service.market.snapshot;
+
+import com.cryptoguide.api.dto.CryptocurrencyDto;
+import com.cryptoguide.api.dto.ThemeDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * 한 시세 데이터 버전의 코인 목록. 만든 뒤에는 바뀌지 않으며, 정렬은 만들 때 한 번만 해 두고 조회는 인덱스 배열을 잘라 답한다.
+ * 담긴 DTO 는 여러 요청이 함께 보므로 호출하는 쪽에서 고치지 않는다.
+ */
+public final class MarketSnapshot {
+
+    private final long version;
+    private final LocalDateTime builtAt;
+    /** 시총 순위 순 (순위 없는 코인은 뒤) */
+    private final CryptocurrencyDto[] coins;
+    /** 24h 변동률 내림차순 인덱스 (변동률 없는 코인 제외) */
+    private final int[] byChange24h;
+    /** 거래량 내림차순 인덱스 (거래량 없는 코인 제외) */
+    private final int[] byVolume;
+    /** 테마 slug → 대·중·소 중 하나로 속한 코인 인덱스 (시총 순위 순) */
+    private final Map<String, int[]> byTheme;
+    private final Map<String, Integer> byCoinId;
+
+    private MarketSnapshot(long version, LocalDateTime builtAt, CryptocurrencyDto[] coins, int[] byChange24h,
+                           int[] byVolume, Map<String, int[]> byTheme) {
+        this.version = version;
+        this.builtAt = builtAt;
+        this.coins = coins;
+        this.byChange24h = byChange24h;
+        this.byVolume = byVolume;
+        this.byTheme = byTheme;
+        Map<String, Integer> positions = new HashMap<>(coins.length * 2);
+        for (int i = 0; i < coins.length; i++) {
+            positions.put(coins[i].getCoinId(), i);
+        }
+        this.byCoinId = positions;
+    }
+
+    public static MarketSnapshot build(long version, List<CryptocurrencyDto> dtos) {
+        CryptocurrencyDto[] coins = dtos.stream()
+                .sorted(Comparator.comparing(CryptocurrencyDto::getMarketCapRank, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(CryptocurrencyDto::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toArray(CryptocurrencyDto[]::new);
+        return new MarketSnapshot(version, LocalDateTime.now(), coins,
+                descendingIndex(coins, CryptocurrencyDto::getPriceChangePercentage24h),
+                descendingIndex(coins, CryptocurrencyDto::getTotalVolume),
+                themeIndex(coins));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    public int size() {
+        return coins.length;
+    }
+
+    /** 시총 순위 순 전체 목록 (읽기 전용) */
+    public List<CryptocurrencyDto> coins() {
+        return Collections.unmodifiableList(Arrays.asList(coins));
+    }
+
+    public Optional<CryptocurrencyDto> find(String coinId) {
+        Integer position = byCoinId.get(coinId);
+        return position != null ? Optional.of(coins[position]) : Optional.empty();
+    }
+
+    public Page<CryptocurrencyDto> page(Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), coins.length);
+        int to = Math.min(from + pageable.getPageSize(), coins.length);
+        return new PageImpl<>(List.of(Arrays.copyOfRange(coins, from, to)), pageable, coins.length);
+    }
+
+    public Page<CryptocurrencyDto> pageByTheme(String themeSlug, Pageable pageable) {
+        int[] members = byTheme.getOrDefault(themeSlug, new int[0]);
+        int from = (int) Math.min(pageable.getOffset(), members.length);
+        int to = Math.min(from + pageable.getPageSize(), members.length);
+        List<CryptocurrencyDto> content = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            content.add(coins[members[i]]);
+        }
+        return new PageImpl<>(Collections.unmodifiableList(content), pageable, members.length);
+    }
+
+    public List<CryptocurrencyDto> topGainers(int limit) {
+        int n = Math.min(Math.max(limit, 0), byChange24h.length);
+        List<CryptocurrencyDto> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(coins[byChange24h[i]]);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public List<CryptocurrencyDto> topLosers(int limit) {
+        int n = Math.min(Math.max(limit, 0), byChange24h.length);
+        List<CryptocurrencyDto> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(coins[byChange24h[byChange24h.length - 1 - i]]);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public List<CryptocurrencyDto> topByVolume(int limit) {
+        int n = Math.min(Math.max(limit, 0), byVolume.length);
+        List<CryptocurrencyDto> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(coins[byVolume[i]]);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static Map<String, int[]> themeIndex(CryptocurrencyDto[] coins) {
+        Map<String, List<Integer>> members = new HashMap<>();
+        for (int i = 0; i < coins.length; i++) {
+            Set<String> slugs = new HashSet<>();
+            for (ThemeDto theme : new ThemeDto[]{coins[i].getThemeLarge(), coins[i].getThemeMedium(), coins[i].getThemeSmall()}) {
+                if (theme != null && theme.getSlug() != null && slugs.add(theme.getSlug())) {
+                    members.computeIfAbsent(theme.getSlug(), slug -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+        Map<String, int[]> index = new HashMap<>();
+        members.forEach((slug, list) -> index.put(slug, list.stream().mapToInt(Integer::intValue).toArray()));
+        return Map.copyOf(index);
+    }
+
+    /** 값이 있는 코인의 위치를 값 내림차순으로. 같은 값은 시총 순위 순이다. */
+    private static int[] descendingIndex(CryptocurrencyDto[] coins, Function<CryptocurrencyDto, BigDecimal> value) {
+        return IntStream.range(0, coins.length)
+                .filter(i -> value.apply(coins[i]) != null)
+                .boxed()
+                .sorted(Comparator.comparing((Integer i) -> value.apply(coins[i])).reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
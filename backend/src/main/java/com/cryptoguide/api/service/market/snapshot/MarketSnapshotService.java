@@ -0,0 +1,43 @@
+package com.cryptoguide.api.service.market.snapshot;
+
+import com.cryptoguide.api.dto.CryptocurrencyDto;
+import com.cryptoguide.api.repository.CryptocurrencyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 목록·상위 N 조회가 읽는 MarketSnapshot 을 DB 에서 만든다.
+ * 게시는 MarketDataVersionPublisher 가 버전·시장 개요·검색 색인과 함께 MarketView 하나로 하고,
+ * 그 전까지는 이전 스냅샷이 그대로 답한다.
+ */
+@Service
+@Slf4j
+public class MarketSnapshotService {
+
+    private final CryptocurrencyRepository cryptocurrencyRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public MarketSnapshotService(CryptocurrencyRepository cryptocurrencyRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.cryptocurrencyRepository = cryptocurrencyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /** DB 의 지금 코인 목록으로 version 스냅샷을 만든다. */
+    public MarketSnapshot build(long versionNumber) {
+        long startedAt = System.nanoTime();
+        List<CryptocurrencyDto> dtos = transactionTemplate.execute(status -> cryptocurrencyRepository.findAllListRows()
+                .stream()
+                .map(CryptocurrencyDto::fromListRow)
+                .toList());
+        MarketSnapshot snapshot = MarketSnapshot.build(versionNumber, dtos);
+        log.debug("Built market snapshot. version={}, coins={}, elapsedMs={}",
+                versionNumber, snapshot.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        return snapshot;
+    }
+}
@@ -0,0 +1,132 @@
+package com.cryptoguide.api.service.market.history;
+
+import com.cryptoguide.api.entity.PriceHistory.TimeInterval;
+import com.cryptoguide.api.service.market.history.model.PriceSeries;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LttbDownsamplerTest {
+
+    private static final long STEP = 60_000;
+
+    @Test
+    void keepsSeriesThatFitsMaxPoints() {
+        LttbDownsampler sink = new LttbDownsampler(5, 0, 5 * STEP);
+        double[] closes = {1, 3, 2, 5, 4};
+        feed(sink, closes);
+
+        PriceSeries series = sink.toSeries("bitcoin", TimeInterval.MINUTE_1);
+
+        assertArrayEquals(new long[]{0, STEP, 2 * STEP, 3 * STEP, 4 * STEP}, series.timestamps());
+        assertArrayEquals(closes, series.close());
+    }
+
+    @Test
+    void keepsFirstAndLastPointAndStaysWithinMaxPoints() {
+        int n = 1000;
+        double[] closes = new double[n];
+        for (int i = 0; i < n; i++) {
+            closes[i] = Math.sin(i / 10.0) * 100 + i;
+        }
+        LttbDownsampler sink = new LttbDownsampler(50, 0, n * STEP);
+        feed(sink, closes);
+
+        PriceSeries series = sink.toSeries("bitcoin", TimeInterval.MINUTE_1);
+
+        assertTrue(series.size() <= 50, "size " + series.size());
+        assertTrue(series.size() >= 48, "size " + series.size());
+        assertEquals(0, series.timestamps()[0]);
+        assertEquals(closes[0], series.close()[0]);
+        assertEquals((n - 1) * STEP, series.timestamps()[series.size() - 1]);
+        assertEquals(closes[n - 1], series.close()[series.size() - 1]);
+        for (int i = 1; i < series.size(); i++) {
+            assertTrue(series.timestamps()[i] > series.timestamps()[i - 1], "timestamps must increase");
+            int source = (int) (series.timestamps()[i] / STEP);
+            assertEquals(closes[source], series.close()[i], "selected points come from the input");
+        }
+    }
+
+    @Test
+    void selectsSpikeInFlatSeries() {
+        int n = 300;
+        double[] closes = new double[n];
+        Arrays.fill(closes, 10);
+        closes[137] = 500;
+        LttbDownsampler sink = new LttbDownsampler(10, 0, n * STEP);
+        feed(sink, closes);
+
+        PriceSeries series = sink.toSeries("bitcoin", TimeInterval.MINUTE_1);
+
+        assertTrue(Arrays.stream(series.timestamps()).anyMatch(ts -> ts == 137 * STEP), "spike kept");
+    }
+
+    @Test
+    void lastPointAloneInFinalBucketIsEmittedOnce() {
+        // 3 개 버킷(0~100, 100~200, 200~300) 중 마지막 버킷에는 마지막 점 하나만 있다
+        LttbDownsampler sink = new LttbDownsampler(5, 0, 300);
+        long[] ts = {0, 10, 20, 30, 110, 120, 250};
+        for (int i = 0; i < ts.length; i++) {
+            sink.add(ts[i], i, i, i, i, i, i);
+        }
+
+        PriceSeries series = sink.toSeries("bitcoin", TimeInterval.MINUTE_1);
+
+        assertEquals(0, series.timestamps()[0]);
+        assertEquals(250, series.timestamps()[series.size() - 1]);
+        assertTrue(series.timestamps()[series.size() - 2] < 250, "last point is not duplicated");
+        assertTrue(series.size() <= 5);
+    }
+
+    @Test
+    void bucketEdgeBelongsToLaterBucket() {
+        // maxPoints 4 → 버킷 2 개, 경계는 100. 경계 위의 점은 두 번째 버킷에 들어간다
+        LttbDownsampler sink = new LttbDownsampler(4, 0, 200);
+        long[] ts = {0, 50, 99, 100, 150, 199};
+        double[] closes = {0, 1, 9, 50, 2, 3};
+        for (int i = 0; i < ts.length; i++) {
+            sink.add(ts[i], closes[i], closes[i], closes[i], closes[i], 0, 0);
+        }
+
+        PriceSeries series = sink.toSeries("bitcoin", TimeInterval.MINUTE_1);
+
+        // 첫 점, 버킷 [0,100) 에서 하나, 버킷 [100,200) 에서 마지막 점을 뺀 하나, 마지막 점
+        assertEquals(4, series.size());
+        assertEquals(0, series.timestamps()[0]);
+        assertTrue(series.timestamps()[1] < 100);
+        assertEquals(100, series.timestamps()[2]);
+        assertEquals(199, series.timestamps()[3]);
+    }
+
+    @Test
+    void pointsOutsideRangeAreClampedToEdgeBuckets() {
+        LttbDownsampler sink = new LttbDownsampler(4, 100, 200);
+        long[] ts = {0, 50, 120, 180, 250, 300};
+        for (int i = 0; i < ts.length; i++) {
+            sink.add(ts[i], i, i, i, i, 0, 0);
+        }
+
+        PriceSeries series = sink.toSeries("bitcoin", TimeInterval.MINUTE_1);
+
+        assertEquals(0, series.timestamps()[0]);
+        assertEquals(300, series.timestamps()[series.size() - 1]);
+        assertTrue(series.size() <= 4);
+    }
+
+    @Test
+    void rejectsTooFewPoints() {
+        assertThrows(IllegalArgumentException.class, () -> new LttbDownsampler(2, 0, 100));
+    }
+
+    private static void feed(SeriesSink sink, double[] closes) {
+        for (int i = 0; i < closes.length; i++) {
+            double c = closes[i];
+            sink.add(i * STEP, c, c, c, c, c * 1000, 1);
+        }
+    }
+}
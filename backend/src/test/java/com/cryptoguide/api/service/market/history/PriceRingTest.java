@@ -0,0 +1,113 @@
+package com.cryptoguide.api.service.market.history;
+
+import com.cryptoguide.api.entity.PriceHistory.TimeInterval;
+import com.cryptoguide.api.service.market.history.model.PriceSeries;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriceRingTest {
+
+    @Test
+    void sliceIsHalfOpen() {
+        PriceRing ring = new PriceRing("bitcoin", TimeInterval.MINUTE_5, 8, 0);
+        for (long ts = 100; ts <= 500; ts += 100) {
+            ring.add(ts, ts, ts, ts, ts, 0, 0);
+        }
+
+        PriceSeries series = ring.slice(200, 400);
+
+        assertArrayEquals(new long[]{200, 300}, series.timestamps());
+        assertArrayEquals(new double[]{200, 300}, series.close());
+        assertEquals("bitcoin", series.coinId());
+        assertEquals(TimeInterval.MINUTE_5, series.interval());
+    }
+
+    @Test
+    void sameTimestampFoldsIntoOneCandle() {
+        PriceRing ring = new PriceRing("bitcoin", TimeInterval.HOUR_1, 4, 0);
+        ring.add(100, 10, 12, 9, 11, 1000, 5);
+        ring.add(100, 99, 15, 10, 14, 1400, 7);
+        ring.add(100, 99, 13, 8, 13, 1300, 6);
+
+        PriceSeries series = ring.slice(0, 1000);
+
+        assertEquals(1, series.size());
+        assertEquals(10, series.open()[0]);
+        assertEquals(15, series.high()[0]);
+        assertEquals(8, series.low()[0]);
+        assertEquals(13, series.close()[0]);
+        assertEquals(1300, series.marketCap()[0]);
+        assertEquals(6, series.volume()[0]);
+    }
+
+    @Test
+    void dropsPointsOlderThanLast() {
+        PriceRing ring = new PriceRing("bitcoin", TimeInterval.MINUTE_5, 4, 0);
+        ring.add(200, 2, 2, 2, 2, 0, 0);
+        ring.add(100, 1, 1, 1, 1, 0, 0);
+
+        assertArrayEquals(new long[]{200}, ring.slice(0, 1000).timestamps());
+    }
+
+    @Test
+    void evictionKeepsNewestAndMovesCompleteAfter() {
+        PriceRing ring = new PriceRing("bitcoin", TimeInterval.MINUTE_5, 3, 50);
+        assertTrue(ring.covers(51));
+        assertFalse(ring.covers(50));
+
+        for (long ts = 100; ts <= 500; ts += 100) {
+            ring.add(ts, ts, ts, ts, ts, 0, 0);
+        }
+
+        assertArrayEquals(new long[]{300, 400, 500}, ring.slice(0, 1000).timestamps());
+        // 200 까지 밀려났으므로 그 시각 이하부터의 구간은 더 이상 빠짐없다고 할 수 없다
+        assertFalse(ring.covers(200));
+        assertTrue(ring.covers(201));
+    }
+
+    @Test
+    void growsPastInitialCapacityThenEvictsAtMax() {
+        PriceRing ring = new PriceRing("bitcoin", TimeInterval.MINUTE_5, 40, 0);
+        for (long ts = 1; ts <= 30; ts++) {
+            ring.add(ts, ts, ts, ts, ts, 0, 0);
+        }
+        assertEquals(30, ring.slice(0, 1000).size());
+        assertTrue(ring.covers(1));
+
+        for (long ts = 31; ts <= 45; ts++) {
+            ring.add(ts, ts, ts, ts, ts, 0, 0);
+        }
+        PriceSeries series = ring.slice(0, 1000);
+        assertEquals(40, series.size());
+        assertEquals(6, series.timestamps()[0]);
+        assertEquals(45, series.close()[39]);
+        assertFalse(ring.covers(5));
+        assertTrue(ring.covers(6));
+    }
+
+    @Test
+    void growthKeepsOrderAfterWrapping() {
+        PriceRing ring = new PriceRing("bitcoin", TimeInterval.MINUTE_5, 64, 0);
+        for (long ts = 1; ts <= 17; ts++) {
+            ring.add(ts, ts, ts, ts, ts, 0, 0);
+        }
+        long[] expected = new long[17];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = i + 1;
+        }
+        assertArrayEquals(expected, ring.slice(0, 1000).timestamps());
+    }
+
+    @Test
+    void emptySliceWhenRangeHasNoPoints() {
+        PriceRing ring = new PriceRing("bitcoin", TimeInterval.MINUTE_5, 4, 0);
+        ring.add(100, 1, 1, 1, 1, 0, 0);
+
+        assertEquals(0, ring.slice(200, 300).size());
+        assertEquals(0, PriceRing.empty("bitcoin", TimeInterval.MINUTE_5).size());
+    }
+}
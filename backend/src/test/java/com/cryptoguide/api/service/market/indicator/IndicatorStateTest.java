@@ -0,0 +1,184 @@
+package com.cryptoguide.api.service.market.indicator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndicatorStateTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    void emptyStateHasNoValues() {
+        IndicatorState state = new IndicatorState();
+        assertNull(state.values());
+
+        state.add(0, Double.NaN);
+        assertNull(state.values());
+        assertFalse(state.isDirty());
+    }
+
+    @Test
+    void smaIsNaNUntilWindowIsFilled() {
+        IndicatorState state = new IndicatorState();
+        for (int i = 1; i < 20; i++) {
+            state.add(i, i);
+        }
+        assertTrue(Double.isNaN(state.values().sma()[0]));
+
+        state.add(20, 20);
+        IndicatorState.Values values = state.values();
+
+        assertEquals(20, values.candles());
+        assertEquals(10.5, values.sma()[0], EPSILON);
+        assertTrue(Double.isNaN(values.sma()[1]));
+        assertTrue(Double.isNaN(values.sma()[2]));
+    }
+
+    @Test
+    void emaSeedsWithFirstClose() {
+        double[] closes = series(30);
+        IndicatorState state = feed(closes);
+
+        double alpha = 2.0 / (12 + 1);
+        double ema = closes[0];
+        for (int i = 1; i < closes.length; i++) {
+            ema = alpha * closes[i] + (1 - alpha) * ema;
+        }
+
+        IndicatorState.Values values = state.values();
+        assertEquals(ema, values.ema()[0], EPSILON);
+        assertTrue(Double.isNaN(values.ema()[2]));
+    }
+
+    @Test
+    void rsiMatchesWilderReference() {
+        double[] closes = series(60);
+
+        assertTrue(Double.isNaN(feed(Arrays.copyOf(closes, 14)).values().rsi()));
+        for (int n = 15; n <= closes.length; n++) {
+            double[] prefix = Arrays.copyOf(closes, n);
+            assertEquals(referenceRsi(prefix), feed(prefix).values().rsi(), EPSILON, "closes=" + n);
+        }
+    }
+
+    @Test
+    void repeatedBucketReplacesPendingClose() {
+        IndicatorState state = new IndicatorState();
+        state.add(0, 10);
+        state.add(1, 20);
+        state.add(1, 30);
+
+        IndicatorState expected = new IndicatorState();
+        expected.add(0, 10);
+        expected.add(1, 30);
+
+        assertSameValues(expected.values(), state.values());
+        assertEquals(2, state.values().candles());
+    }
+
+    @Test
+    void earlierBucketIsIgnored() {
+        IndicatorState state = new IndicatorState();
+        state.add(0, 10);
+        state.add(2, 20);
+        state.add(1, 99);
+
+        IndicatorState expected = new IndicatorState();
+        expected.add(0, 10);
+        expected.add(2, 20);
+
+        assertSameValues(expected.values(), state.values());
+        assertEquals(2, state.values().asOf());
+        assertEquals(2, state.values().candles());
+    }
+
+    @Test
+    void maxDrawdownTracksPeak() {
+        IndicatorState state = feed(new double[]{100, 50, 75, 120, 90});
+
+        assertEquals(0.5, state.values().maxDrawdown(), EPSILON);
+    }
+
+    @Test
+    void restoredStateMatchesUninterrupted() {
+        double[] closes = series(450);
+        IndicatorState uninterrupted = new IndicatorState();
+        IndicatorState restored = null;
+        for (int i = 0; i < closes.length; i++) {
+            uninterrupted.add(i, closes[i]);
+            if (i == 230) {
+                assertTrue(uninterrupted.isDirty());
+                restored = IndicatorState.restore(uninterrupted.export());
+                assertFalse(uninterrupted.isDirty());
+                assertSameValues(uninterrupted.values(), restored.values());
+            } else if (restored != null) {
+                restored.add(i, closes[i]);
+            }
+        }
+
+        assertNotNull(restored);
+        IndicatorState.Values expected = uninterrupted.values();
+        assertEquals(closes.length, expected.candles());
+        assertFalse(Double.isNaN(expected.sma()[2]));
+        assertFalse(Double.isNaN(expected.volatility()));
+        assertSameValues(expected, restored.values());
+    }
+
+    /** 정수 버킷으로 종가를 차례로 넣은 상태 */
+    private static IndicatorState feed(double[] closes) {
+        IndicatorState state = new IndicatorState();
+        for (int i = 0; i < closes.length; i++) {
+            state.add(i, closes[i]);
+        }
+        return state;
+    }
+
+    /** 오르내림이 섞인 양수 종가 */
+    private static double[] series(int n) {
+        double[] closes = new double[n];
+        for (int i = 0; i < n; i++) {
+            closes[i] = 100 + 10 * Math.sin(i * 0.7) + 3 * Math.cos(i * 1.9) + i * 0.05;
+        }
+        return closes;
+    }
+
+    /** 첫 14개 변화량의 단순 평균으로 시작해 Wilder 평활을 적용한 RSI */
+    private static double referenceRsi(double[] closes) {
+        int period = IndicatorState.RSI_PERIOD;
+        double gain = 0;
+        double loss = 0;
+        for (int i = 1; i <= period; i++) {
+            double delta = closes[i] - closes[i - 1];
+            gain += Math.max(delta, 0);
+            loss += Math.max(-delta, 0);
+        }
+        gain /= period;
+        loss /= period;
+        for (int i = period + 1; i < closes.length; i++) {
+            double delta = closes[i] - closes[i - 1];
+            gain = (gain * (period - 1) + Math.max(delta, 0)) / period;
+            loss = (loss * (period - 1) + Math.max(-delta, 0)) / period;
+        }
+        return gain + loss == 0 ? 50 : 100 - 100 / (1 + gain / loss);
+    }
+
+    private static void assertSameValues(IndicatorState.Values expected, IndicatorState.Values actual) {
+        assertEquals(expected.asOf(), actual.asOf());
+        assertEquals(expected.candles(), actual.candles());
+        assertEquals(expected.trackedSince(), actual.trackedSince());
+        assertArrayEquals(expected.sma(), actual.sma(), EPSILON);
+        assertArrayEquals(expected.ema(), actual.ema(), EPSILON);
+        assertEquals(expected.rsi(), actual.rsi(), EPSILON);
+        assertEquals(expected.bollingerWidth(), actual.bollingerWidth(), EPSILON);
+        assertEquals(expected.volatility(), actual.volatility(), EPSILON);
+        assertEquals(expected.maxDrawdown(), actual.maxDrawdown(), EPSILON);
+    }
+}
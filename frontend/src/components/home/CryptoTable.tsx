@@ -13,6 +13,11 @@ type SortField = 'rank' | 'price' | 'change24h' | 'change7d' | 'marketCap' | 'vo
 type SortDirection = 'asc' | 'desc';
 
 const PAGE_SIZE = 50;
+// 표에 그리는 필드만 받는다
+const TABLE_FIELDS = [
+  'coinId', 'symbol', 'name', 'imageUrl', 'marketCapRank', 'currentPrice',
+  'priceChangePercentage24h', 'priceChangePercentage7d', 'marketCap', 'totalVolume',
+];
 
 export default function CryptoTable() {
   const [cryptos, setCryptos] = useState<Cryptocurrency[]>([]);
@@ -36,7 +41,7 @@ export default function CryptoTable() {
     try {
       setLoading(true);
       setError(null);
-      const response = await cryptoApi.getAll(page, PAGE_SIZE);
+      const response = await cryptoApi.getAll(page, PAGE_SIZE, TABLE_FIELDS);
       const data: PageResponse<Cryptocurrency> = response.data;
       setCryptos(data.content);
       setTotalPages(data.totalPages);
@@ -8,6 +8,8 @@ import { clsx } from 'clsx';
 import { cryptoApi, type Cryptocurrency } from '@/lib/api';
 import { formatPrice } from '@/lib/utils';
 
+const TRENDING_FIELDS = ['coinId', 'name', 'imageUrl', 'priceChangePercentage24h'];
+
 export default function TrendingCoins() {
   const [coins, setCoins] = useState<Cryptocurrency[]>([]);
   const [loading, setLoading] = useState(true);
@@ -19,7 +21,7 @@ export default function TrendingCoins() {
       try {
         setLoading(true);
         setError(null);
-        const response = await cryptoApi.getTopGainers(5);
+        const response = await cryptoApi.getTopGainers(5, TRENDING_FIELDS);
         if (!cancelled) setCoins(response.data);
       } catch (err) {
         if (!cancelled) { console.error('Failed to fetch trending coins:', err); setError('데이터 로드 실패'); }
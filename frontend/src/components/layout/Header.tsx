@@ -31,8 +31,8 @@ export default function Header() {
     if (!query.trim()) { setResults([]); setShowResults(false); return; }
     try {
       setLoading(true);
-      const response = await cryptoApi.search(query.trim());
-      setResults(response.data.slice(0, 7));
+      const response = await cryptoApi.search(query.trim(), 7);
+      setResults(response.data);
       setShowResults(true);
       setSelectedIndex(-1);
     } catch { setResults([]); }
@@ -67,6 +67,23 @@ export interface Cryptocurrency {
   themeMedium?: Theme | null;
   themeSmall?: Theme | null;
   lastUpdated: string;
+  /** 상세 조회에서만 채워진다 */
+  indicators?: Indicators | null;
+}
+
+/** 1시간 캔들 기준 기술 지표. 창을 채울 만큼 캔들이 없으면 null */
+export interface Indicators {
+  coinId: string;
+  interval: string;
+  asOf: string;
+  candles: number;
+  sma: Record<string, number | null>;
+  ema: Record<string, number | null>;
+  rsi: number | null;
+  bollingerWidth: number | null;
+  volatility: number | null;
+  maxDrawdown: number | null;
+  trackedSince: string;
 }
 
 export interface Theme {
@@ -95,6 +112,13 @@ export interface CryptoNews {
   createdAt: string;
 }
 
+export interface CoinSuggestion {
+  coinId: string;
+  symbol: string;
+  name: string;
+  imageUrl: string;
+}
+
 export interface MarketOverview {
   totalMarketCap: number;
   totalVolume24h: number;
@@ -104,6 +128,7 @@ export interface MarketOverview {
   upCount: number;
   downCount: number;
   totalCoins: number;
+  asOf: string;
 }
 
 export interface PriceHistory {
@@ -113,6 +138,33 @@ export interface PriceHistory {
   volume: number;
 }
 
+/** 열 형식 시세: 시각은 start(epoch ms, new Date(start) 로 그대로 쓴다) + step (또는 start + 누적 t), 값은 p(종가)/v(거래량)/m(시총) 배열 */
+export interface PriceSeriesColumnar {
+  coinId: string;
+  interval: string;
+  count: number;
+  start?: number;
+  step?: number;
+  t?: number[];
+  o?: (number | null)[];
+  h?: (number | null)[];
+  l?: (number | null)[];
+  p: (number | null)[];
+  v: (number | null)[];
+  m: (number | null)[];
+}
+
+export interface PriceComparison {
+  interval: string;
+  normalized: boolean;
+  timestamps: string[];
+  series: {
+    coinId: string;
+    basePrice: number | null;
+    values: (number | null)[];
+  }[];
+}
+
 export interface PageResponse<T> {
   content: T[];
   totalElements: number;
@@ -124,17 +176,23 @@ export interface PageResponse<T> {
 // API Functions
 export const cryptoApi = {
   // Cryptocurrencies
-  getAll: (page = 0, size = 100) =>
+  // fields 를 주면 그 필드만 받는다 (나머지는 응답에서 빠짐)
+  getAll: (page = 0, size = 100, fields?: string[]) =>
     api.get<PageResponse<Cryptocurrency>>("/v1/cryptocurrencies", {
-      params: { page, size },
+      params: { page, size, fields: fields?.join(",") },
     }),
 
   getById: (coinId: string) =>
     api.get<Cryptocurrency>(`/v1/cryptocurrencies/${coinId}`),
 
-  search: (query: string) =>
+  search: (query: string, limit = 20) =>
     api.get<Cryptocurrency[]>("/v1/cryptocurrencies/search", {
-      params: { query },
+      params: { query, limit },
+    }),
+
+  autocomplete: (query: string, limit = 10) =>
+    api.get<CoinSuggestion[]>("/v1/cryptocurrencies/autocomplete", {
+      params: { query, limit },
     }),
 
   getByTheme: (themeSlug: string, page = 0, size = 50) =>
@@ -143,9 +201,9 @@ export const cryptoApi = {
       { params: { page, size } },
     ),
 
-  getTopGainers: (limit = 10) =>
+  getTopGainers: (limit = 10, fields?: string[]) =>
     api.get<Cryptocurrency[]>("/v1/cryptocurrencies/top-gainers", {
-      params: { limit },
+      params: { limit, fields: fields?.join(",") },
     }),
 
   getTopLosers: (limit = 10) =>
@@ -161,9 +219,27 @@ export const cryptoApi = {
   getMarketOverview: () =>
     api.get<MarketOverview>("/v1/cryptocurrencies/market-overview"),
 
-  getPriceHistory: (coinId: string, interval = "HOUR_1", hours = 24) =>
+  getMarketOverviewHistory: (hours = 24) =>
+    api.get<MarketOverview[]>("/v1/cryptocurrencies/market-overview/history", {
+      params: { hours },
+    }),
+
+  getPriceHistory: (coinId: string, interval = "HOUR_1", hours = 24, maxPoints?: number) =>
     api.get<PriceHistory[]>(`/v1/cryptocurrencies/${coinId}/price-history`, {
-      params: { interval, hours },
+      params: { interval, hours, maxPoints },
+    }),
+
+  getIndicators: (coinId: string) =>
+    api.get<Indicators>(`/v1/cryptocurrencies/${coinId}/indicators`),
+
+  getPriceHistoryColumnar: (coinId: string, interval = "HOUR_1", hours = 24, maxPoints?: number) =>
+    api.get<PriceSeriesColumnar>(`/v1/cryptocurrencies/${coinId}/price-history`, {
+      params: { interval, hours, maxPoints, format: "columnar" },
+    }),
+
+  comparePriceHistory: (coinIds: string[], interval = "HOUR_1", hours = 24, normalize = false) =>
+    api.get<PriceComparison>("/v1/cryptocurrencies/price-history/compare", {
+      params: { coinIds: coinIds.join(","), interval, hours, normalize },
     }),
 };
 